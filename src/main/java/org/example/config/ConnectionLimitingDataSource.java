@@ -0,0 +1,130 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    // Hikari rejects connection timeouts below 250 ms
+    private static final long MIN_POOL_WAIT_MILLIS = 250;
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    // Moving average of the time callers spend waiting for a permit; concurrent updates may drop a sample
+    private volatile long averageWaitNanos;
+
+    public ConnectionLimitingDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Splits the pool's connection timeout between the permit wait and the pool wait, so a caller
+     * never waits longer than the configured timeout in total. Permits match the pool size, so a
+     * permit holder rarely waits on the pool and the pool keeps only a short slice of the budget.
+     */
+    public static ConnectionLimitingDataSource forPool(HikariDataSource pool) {
+        long budget = pool.getConnectionTimeout();
+        long poolWait = Math.min(budget, Math.max(MIN_POOL_WAIT_MILLIS, budget / 4));
+        pool.setConnectionTimeout(poolWait);
+        return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), budget - poolWait);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    public Duration averageWait() {
+        return Duration.ofNanos(averageWaitNanos);
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            recordWait(System.nanoTime() - start);
+            if (!acquired) {
+                throw new SQLTransientConnectionException(String.format(
+                        "No database connection permit within %d ms, %d caller(s) waiting",
+                        acquireTimeoutMillis, permits.getQueueLength()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        averageWaitNanos += (waitNanos - averageWaitNanos) / 8;
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "db.connection-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor connectionLimitingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Limiting concurrent database access of '{}' to {} connection(s)",
+                            beanName, hikari.getMaximumPoolSize());
+                    return ConnectionLimitingDataSource.forPool(hikari);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.dto.projection.IdempotencyRecord;
+import org.example.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Makes POSTs under /api safe to retry: the first response for an Idempotency-Key is stored
+ * and returned again for later requests carrying the same key, without running the handler.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper,
+                             @Value("${idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = Math.toIntExact(maxBodySize.toBytes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    String.format("%s must be 1 to %d characters", IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+            return;
+        }
+
+        // The body is held in memory for the fingerprint, so keyed requests get a size cap
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            rejectTooLarge(response);
+            return;
+        }
+        CachedBodyRequestWrapper cachedRequest = new CachedBodyRequestWrapper(request, maxBodyBytes);
+        if (cachedRequest.exceedsLimit()) {
+            rejectTooLarge(response);
+            return;
+        }
+        IdempotencyService.Claim claim = idempotencyService.begin(key, fingerprint(cachedRequest));
+        switch (claim.status()) {
+            case REPLAY -> replay(response, claim.stored());
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with this idempotency key is still being processed");
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This idempotency key was already used for a different request");
+            case STARTED -> execute(key, claim.token(), cachedRequest, response, chain);
+        }
+    }
+
+    private void execute(String key, UUID token, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyService.release(key, token);
+            throw e;
+        }
+        int status = wrapper.getStatus();
+        // Throttling and server errors are transient, so the key is freed for the retry
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            idempotencyService.release(key, token);
+        } else {
+            idempotencyService.complete(key, token, status, wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                String.format("Requests with an %s are limited to %d bytes", IDEMPOTENCY_KEY, maxBodyBytes));
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    // Method, path, query and body identify the request; the body comes from the cached copy,
+    // so the handler can still read it
+    static String fingerprint(CachedBodyRequestWrapper request) {
+        String target = request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bodyHash = MessageDigest.getInstance("SHA-256").digest(request.getBody());
+            digest.update(target.getBytes(StandardCharsets.UTF_8));
+            digest.update(bodyHash);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
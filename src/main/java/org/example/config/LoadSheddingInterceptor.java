@@ -0,0 +1,42 @@
+package org.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Rejects reads with 503 while callers queue for database connections longer than the threshold,
+ * leaving the connections to grading and submission writes.
+ */
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingInterceptor.class);
+
+    private final ConnectionLimitingDataSource dataSource;
+    private final Duration waitThreshold;
+
+    public LoadSheddingInterceptor(ConnectionLimitingDataSource dataSource, Duration waitThreshold) {
+        this.dataSource = dataSource;
+        this.waitThreshold = waitThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        // The average only moves when connections are taken, so it alone would keep shedding after the queue drains
+        if (dataSource.queueLength() > 0 && dataSource.averageWait().compareTo(waitThreshold) > 0) {
+            log.warn("Shedding {} {}: {} caller(s) waiting {} on average for a connection",
+                    request.getMethod(), request.getRequestURI(), dataSource.queueLength(), dataSource.averageWait());
+            throw new ServiceOverloadedException("Service is busy, retry later", 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exception.RateLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token bucket for one endpoint. Clients are told apart by the studentId parameter,
+ * falling back to the remote address when a request carries none.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    // Caps memory when many distinct clients show up at once; least recently seen buckets go first
+    private static final long MAX_TRACKED_CLIENTS = 100_000;
+
+    private final String endpoint;
+    private final long capacity;
+    private final long periodNanos;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(String endpoint, long capacity, Duration period) {
+        this.endpoint = endpoint;
+        this.capacity = capacity;
+        this.periodNanos = period.toNanos();
+        // A bucket left alone for a whole period has refilled completely and behaves exactly like
+        // a fresh one, so it can expire without changing any limit
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(period)
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.nanoTime();
+        String client = clientKey(request);
+        long waitNanos = buckets.get(client, key -> new TokenBucket(capacity, periodNanos, now)).tryConsume(now);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            log.warn("Rate limit of {} request(s) per {} exceeded on {} by {}",
+                    capacity, Duration.ofNanos(periodNanos), endpoint, client);
+            throw new RateLimitExceededException(
+                    String.format("Too many requests to %s, retry in %d s", endpoint, retryAfter), retryAfter);
+        }
+        return true;
+    }
+
+    long trackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String studentId = request.getParameter("studentId");
+        if (studentId != null && !studentId.isBlank()) {
+            return "student:" + studentId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final boolean limitConnections;
+
+    public ReadReplicaConfig(DataSourceProperties properties,
+                             Environment environment,
+                             @Value("${db.connection-limit.enabled:true}") boolean limitConnections) {
+        this.properties = properties;
+        this.environment = environment;
+        this.limitConnections = limitConnections;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Value("${db.replica.urls}") List<String> urls,
+            @Value("${db.replica.username:${spring.datasource.username}}") String username,
+            @Value("${db.replica.password:${spring.datasource.password}}") String password,
+            @Value("${db.replica.max-lag:PT5S}") Duration maxLag,
+            @Value("${db.replica.lag-check-interval:PT2S}") Duration checkInterval) {
+        HikariDataSource primary = pool("primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword());
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(pool("replica-" + i, urls.get(i), username, password));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, limitConnections, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // Connections are fetched on first statement, after the transaction has flagged itself read-only
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(replicaRoutingDataSource.getPrimary());
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    private static final String LAG_QUERY = """
+            select case
+                       when not pg_is_in_recovery() then 0
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final DataSource primary;
+    private final List<HikariDataSource> pools;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+
+    public ReplicaRoutingDataSource(HikariDataSource primaryPool, List<HikariDataSource> replicaPools,
+                                    boolean limitConnections, Duration maxLag, Duration checkInterval) {
+        this.primary = limitConnections ? ConnectionLimitingDataSource.forPool(primaryPool) : primaryPool;
+        this.pools = new ArrayList<>(replicaPools.size() + 1);
+        this.pools.add(primaryPool);
+        this.pools.addAll(replicaPools);
+        this.maxLag = maxLag;
+        this.replicas = new ArrayList<>(replicaPools.size());
+        for (HikariDataSource pool : replicaPools) {
+            DataSource target = limitConnections ? ConnectionLimitingDataSource.forPool(pool) : pool;
+            replicas.add(new Replica(pool.getPoolName(), target));
+        }
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkLag();
+        lagMonitor.scheduleWithFixedDelay(this::checkLag,
+                checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.target.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                Duration lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * 1000));
+                if (lag.compareTo(maxLag) > 0) {
+                    replica.markDown(String.format("replication lag %s exceeds %s", lag, maxLag));
+                } else {
+                    replica.markUp(lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        Replica replica = pickReplica();
+        if (replica == null) {
+            log.debug("No replica within {} of the primary, routing read to the primary", maxLag);
+            return source.open(primary);
+        }
+        Connection connection;
+        try {
+            connection = source.open(replica.target);
+        } catch (SQLFeatureNotSupportedException e) {
+            // Says nothing about the replica's health, e.g. Hikari refusing per-call credentials
+            throw e;
+        } catch (SQLException e) {
+            replica.markDown(e.getMessage());
+            return source.open(primary);
+        }
+        try {
+            connection.setReadOnly(true);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            // Hand the broken connection back to its pool before falling back
+            try {
+                connection.close();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            replica.markDown(e.getMessage());
+            return source.open(primary);
+        }
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        lagMonitor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource target) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource target;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        private void markUp(Duration lag) {
+            if (!healthy) {
+                log.info("Replica '{}' is serving reads, lag {}", name, lag);
+            }
+            healthy = true;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica '{}' removed from read routing: {}", name, reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.config;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens, refilled continuously at {@code capacity} per period.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(long capacity, long periodNanos, long now) {
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, periodNanos / capacity);
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes one token; returns 0 on success, otherwise the nanoseconds until the next token is available.
+     */
+    synchronized long tryConsume(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / nanosPerToken);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(WebConfig.class);
+
+    private final DataSource dataSource;
+    private final boolean rateLimitEnabled;
+    private final Duration rateLimitPeriod;
+    private final int quizTakeLimit;
+    private final int quizSubmitLimit;
+    private final int assignmentSubmitLimit;
+    private final boolean loadSheddingEnabled;
+    private final Duration loadSheddingWaitThreshold;
+
+    public WebConfig(DataSource dataSource,
+                     @Value("${submission.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                     @Value("${submission.rate-limit.period:PT1M}") Duration rateLimitPeriod,
+                     @Value("${submission.rate-limit.quiz-take:30}") int quizTakeLimit,
+                     @Value("${submission.rate-limit.quiz-submit:30}") int quizSubmitLimit,
+                     @Value("${submission.rate-limit.assignment-submit:10}") int assignmentSubmitLimit,
+                     @Value("${db.load-shedding.enabled:true}") boolean loadSheddingEnabled,
+                     @Value("${db.load-shedding.wait-threshold:PT0.2S}") Duration loadSheddingWaitThreshold) {
+        this.dataSource = dataSource;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.rateLimitPeriod = rateLimitPeriod;
+        this.quizTakeLimit = quizTakeLimit;
+        this.quizSubmitLimit = quizSubmitLimit;
+        this.assignmentSubmitLimit = assignmentSubmitLimit;
+        this.loadSheddingEnabled = loadSheddingEnabled;
+        this.loadSheddingWaitThreshold = loadSheddingWaitThreshold;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RateLimitInterceptor("quiz take", quizTakeLimit, rateLimitPeriod))
+                    .addPathPatterns("/api/quizzes/*/take");
+            registry.addInterceptor(new RateLimitInterceptor("quiz submit", quizSubmitLimit, rateLimitPeriod))
+                    .addPathPatterns("/api/quiz-submissions/submit");
+            registry.addInterceptor(new RateLimitInterceptor("assignment submit", assignmentSubmitLimit, rateLimitPeriod))
+                    .addPathPatterns("/api/submissions/submit");
+        }
+        ConnectionLimitingDataSource limited = connectionLimit();
+        if (loadSheddingEnabled && limited != null) {
+            registry.addInterceptor(new LoadSheddingInterceptor(limited, loadSheddingWaitThreshold))
+                    .addPathPatterns("/api/**");
+        } else if (loadSheddingEnabled) {
+            log.info("Load shedding needs db.connection-limit.enabled=true, reads will not be shed");
+        }
+    }
+
+    private ConnectionLimitingDataSource connectionLimit() {
+        try {
+            return dataSource.isWrapperFor(ConnectionLimitingDataSource.class)
+                    ? dataSource.unwrap(ConnectionLimitingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot inspect the application DataSource", e);
+        }
+    }
+}
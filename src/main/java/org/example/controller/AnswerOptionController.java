@@ -3,16 +3,15 @@ package org.example.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.AnswerOptionRequest;
 import org.example.dto.response.AnswerOptionResponse;
+import org.example.dto.response.CursorPage;
 import org.example.entity.AnswerOption;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.AnswerOptionMapper;
 import org.example.service.AnswerOptionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/answer-options")
 @RequiredArgsConstructor
@@ -32,34 +31,37 @@ public class AnswerOptionController {
     }
 
     @GetMapping("/{id}")
-    public AnswerOptionResponse fetchAnswerOptionById(@PathVariable Long id) {
+    public ResponseEntity<AnswerOptionResponse> fetchAnswerOptionById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("AnswerOption ID cannot be null");
         }
         AnswerOption answerOption = answerOptionService.fetchAnswerOptionById(id);
-        return answerOptionMapper.toResponse(answerOption);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(answerOption.getVersion()))
+                .body(answerOptionMapper.toResponse(answerOption));
     }
 
     @GetMapping
-    public List<AnswerOptionResponse> fetchAllAnswerOptions() {
-        if (answerOptionService.fetchAllAnswerOptions() == null) {
-            throw new InvalidRequestException("AnswerOption list cannot be null");
-        }
-        return answerOptionService.fetchAllAnswerOptions().stream()
-                .map(answerOptionMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<AnswerOptionResponse> fetchAllAnswerOptions(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return answerOptionService.fetchAnswerOptionPage(after, limit).map(answerOptionMapper::toResponse);
     }
 
     @PutMapping("/{id}")
-    public AnswerOptionResponse updateExistingAnswerOption(
+    public ResponseEntity<AnswerOptionResponse> updateExistingAnswerOption(
             @PathVariable Long id,
-            @RequestBody AnswerOptionRequest answerOptionRequest
+            @RequestBody AnswerOptionRequest answerOptionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || answerOptionRequest == null) {
             throw new InvalidRequestException("AnswerOption ID or AnswerOptionRequest cannot be null");
         }
-        AnswerOption answerOption = answerOptionService.updateExistingAnswerOption(id, answerOptionRequest);
-        return answerOptionMapper.toResponse(answerOption);
+        AnswerOption answerOption = answerOptionService.updateExistingAnswerOption(id, answerOptionRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(answerOption.getVersion()))
+                .body(answerOptionMapper.toResponse(answerOption));
     }
 
     @DeleteMapping("/{id}")
@@ -3,16 +3,15 @@ package org.example.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.AssignmentRequest;
 import org.example.dto.response.AssignmentResponse;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Assignment;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.AssignmentMapper;
 import org.example.service.AssignmentService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/assignments")
 @RequiredArgsConstructor
@@ -31,32 +30,37 @@ public class AssignmentController {
     }
 
     @GetMapping
-    public List<AssignmentResponse> getAllAssignments() {
-        return assignmentService.getAll().
-                stream()
-                .map(assignmentMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<AssignmentResponse> getAllAssignments(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return assignmentService.getPage(after, limit).map(assignmentMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public AssignmentResponse getAssignmentById(@PathVariable Long id) {
+    public ResponseEntity<AssignmentResponse> getAssignmentById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Assignment id cannot be null");
         }
         Assignment assignment = assignmentService.getAssignmentById(id);
-        return assignmentMapper.toResponse(assignment);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(assignment.getVersion()))
+                .body(assignmentMapper.toResponse(assignment));
     }
 
     @PutMapping("/{id}")
-    public AssignmentResponse updateAssignment(
+    public ResponseEntity<AssignmentResponse> updateAssignment(
             @PathVariable Long id,
-            @RequestBody AssignmentRequest assignmentRequest
+            @RequestBody AssignmentRequest assignmentRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || assignmentRequest == null) {
             throw new InvalidRequestException("Assignment id or request cannot be null");
         }
-        Assignment assignment = assignmentService.updateAssignment(id, assignmentRequest);
-        return assignmentMapper.toResponse(assignment);
+        Assignment assignment = assignmentService.updateAssignment(id, assignmentRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(assignment.getVersion()))
+                .body(assignmentMapper.toResponse(assignment));
     }
 
     @DeleteMapping("/{id}")
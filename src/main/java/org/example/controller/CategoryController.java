@@ -3,16 +3,15 @@ package org.example.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.CategoryRequest;
 import org.example.dto.response.CategoryResponse;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Category;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.CategoryMapper;
 import org.example.service.CategoryService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
@@ -33,32 +32,37 @@ public class CategoryController {
     }
 
     @GetMapping("/{id}")
-    public CategoryResponse getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Id is null");
         }
         Category categoryById = categoryService.getCategoryById(id);
-        return categoryMapper.toResponse(categoryById);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(categoryById.getVersion()))
+                .body(categoryMapper.toResponse(categoryById));
     }
 
     @GetMapping
-    public List<CategoryResponse> getAllCAtegories() {
-        return categoryService.getAll()
-                .stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<CategoryResponse> getAllCAtegories(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return categoryService.getPage(after, limit).map(categoryMapper::toResponse);
     }
 
     @PutMapping("/{id}")
-    public CategoryResponse updateCategory(
+    public ResponseEntity<CategoryResponse> updateCategory(
             @PathVariable Long id,
-            @RequestBody CategoryRequest categoryRequest
+            @RequestBody CategoryRequest categoryRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null) {
             throw new InvalidRequestException("Id is null");
         }
-        Category updated = categoryService.updateCategory(id, categoryRequest);
-        return categoryMapper.toResponse(updated);
+        Category updated = categoryService.updateCategory(id, categoryRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(categoryMapper.toResponse(updated));
     }
 
     @DeleteMapping("/{id}")
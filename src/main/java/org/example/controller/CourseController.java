@@ -1,27 +1,59 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.GradebookColumn;
 import org.example.dto.request.CourseRequest;
+import org.example.dto.request.CourseSearchRequest;
 import org.example.dto.response.CourseResponse;
+import org.example.dto.response.CourseSearchResponse;
+import org.example.dto.response.CourseTreeResponse;
+import org.example.dto.response.CursorPage;
+import org.example.dto.response.LeaderboardEntryResponse;
+import org.example.dto.response.RecommendedCourseResponse;
+import org.example.dto.response.TaggedCoursesResponse;
 import org.example.dto.response.UserResponse;
+import org.example.entity.Category;
 import org.example.entity.Course;
 import org.example.entity.User;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.CourseMapper;
+import org.example.mapper.CourseTreeMapper;
+import org.example.mapper.LeaderboardMapper;
 import org.example.mapper.UserMapper;
+import org.example.service.CourseSearchService;
 import org.example.service.CourseService;
+import org.example.service.CourseTreeService;
+import org.example.service.GradebookService;
+import org.example.service.LeaderboardService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/courses")
 @RequiredArgsConstructor
 public class CourseController {
     private final CourseService courseService;
+    private final CourseTreeService courseTreeService;
+    private final CourseSearchService courseSearchService;
+    private final GradebookService gradebookService;
+    private final LeaderboardService leaderboardService;
     private final CourseMapper courseMapper;
+    private final CourseTreeMapper courseTreeMapper;
+    private final LeaderboardMapper leaderboardMapper;
     private final UserMapper userMapper;
 
     @PostMapping
@@ -37,20 +69,126 @@ public class CourseController {
     }
 
     @GetMapping("/{id}")
-    public CourseResponse getCourseById(@PathVariable Long id) {
+    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long id, WebRequest request) {
         if (id == null) {
             throw new InvalidRequestException("Course ID cannot be null");
         }
         Course course = courseService.getCourseById(id);
-        return courseMapper.toResponse(course);
+        User teacher = course.getTeacher();
+        Category category = course.getCategory();
+        String eTag = courseETag(course);
+        Instant lastModified = Stream.of(course.getUpdatedAt(), teacher.getUpdatedAt(),
+                        category == null ? null : category.getUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        if (request.checkNotModified(eTag, lastModified.toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(courseMapper.toResponse(course));
     }
 
-    @GetMapping
-    public List<CourseResponse> getAllCourses() {
-        return courseService.getAll()
-                .stream()
+    @GetMapping("/{id}/tree")
+    public CourseTreeResponse getCourseTree(@PathVariable Long id) {
+        if (id == null) {
+            throw new InvalidRequestException("Course ID cannot be null");
+        }
+        return courseTreeMapper.toResponse(courseTreeService.getCourseTree(id));
+    }
+
+    @GetMapping("/{id}/recommendations")
+    public List<RecommendedCourseResponse> getRecommendations(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (id == null) {
+            throw new InvalidRequestException("Course ID cannot be null");
+        }
+        return courseService.getRecommendations(id, limit).stream()
                 .map(courseMapper::toResponse)
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public List<LeaderboardEntryResponse> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return leaderboardService.getCourseTop(id, limit).stream()
+                .map(leaderboardMapper::toResponse)
+                .toList();
+    }
+
+    @GetMapping("/{id}/leaderboard/{studentId}")
+    public LeaderboardEntryResponse getLeaderboardRank(@PathVariable Long id, @PathVariable Long studentId) {
+        return leaderboardMapper.toResponse(leaderboardService.getCourseRank(id, studentId));
+    }
+
+    @GetMapping("/{id}/gradebook")
+    public ResponseEntity<StreamingResponseBody> getGradebook(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "json") String format
+    ) {
+        if (id == null) {
+            throw new InvalidRequestException("Course ID cannot be null");
+        }
+        // Resolved before the body starts streaming so a missing course is still a 404
+        List<GradebookColumn> columns = gradebookService.getColumns(id);
+        return switch (format.toLowerCase()) {
+            case "json" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> gradebookService.writeJson(id, columns, out));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("course-" + id + "-gradebook.csv")
+                            .build()
+                            .toString())
+                    .body(out -> gradebookService.writeCsv(id, columns, out));
+            default -> throw new InvalidRequestException("Unsupported gradebook format: " + format);
+        };
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<CourseResponse>> getAllCourses(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        String eTag = ETags.of(courseService.getPageVersion(after, limit));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(courseService.getPage(after, limit).map(courseMapper::toResponse));
+    }
+
+    @GetMapping("/search")
+    public CourseSearchResponse searchCourses(
+            CourseSearchRequest searchRequest,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return courseMapper.toResponse(courseSearchService.search(searchRequest, after, limit));
+    }
+
+    @GetMapping("/by-tags")
+    public TaggedCoursesResponse getCoursesByTags(
+            @RequestParam(name = "with", required = false) List<Long> withTags,
+            @RequestParam(name = "without", required = false) List<Long> withoutTags,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return courseMapper.toResponse(courseService.getPageByTags(
+                withTags == null ? List.of() : withTags,
+                withoutTags == null ? List.of() : withoutTags,
+                after, limit));
     }
 
     @GetMapping("/user/{userId}")
@@ -82,15 +220,34 @@ public class CourseController {
     }
 
     @PutMapping("/{id}")
-    public CourseResponse updateCourse(
+    public ResponseEntity<CourseResponse> updateCourse(
             @PathVariable Long id,
-            @RequestBody CourseRequest courseRequest
+            @RequestBody CourseRequest courseRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        if (id == null || courseRequest == null) {
+            throw new InvalidRequestException("ID and CourseRequest cannot be null");
+        }
+        Long expectedVersion = ETags.version(ifMatch, courseETag(courseService.getCourseById(id)));
+        Course updated = courseService.updateCourse(id, courseRequest, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(courseETag(updated))
+                .body(courseMapper.toResponse(updated));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchCourse(
+            @PathVariable Long id,
+            @RequestBody CourseRequest courseRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || courseRequest == null) {
             throw new InvalidRequestException("ID and CourseRequest cannot be null");
         }
-        Course updated = courseService.updateCourse(id, courseRequest);
-        return courseMapper.toResponse(updated);
+        // Teacher and category cannot be patched, so the new tag only differs in the course's own version
+        Course current = courseService.getCourseById(id);
+        long version = courseService.patchCourse(id, courseRequest, ETags.version(ifMatch, courseETag(current)));
+        return ResponseEntity.noContent().eTag(courseETag(version, current)).build();
     }
 
     @DeleteMapping("/{id}")
@@ -101,4 +258,14 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String courseETag(Course course) {
+        return courseETag(course.getVersion(), course);
+    }
+
+    private static String courseETag(Long version, Course course) {
+        Category category = course.getCategory();
+        return ETags.versioned(version, course.getTeacher().getVersion(),
+                category == null ? null : category.getVersion());
+    }
 }
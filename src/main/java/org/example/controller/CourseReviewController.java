@@ -2,17 +2,17 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.CourseReviewRequest;
+import org.example.dto.response.CourseRatingSummaryResponse;
 import org.example.dto.response.CourseReviewResponse;
+import org.example.dto.response.CursorPage;
 import org.example.entity.CourseReview;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.CourseReviewMapper;
 import org.example.service.CourseReviewService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/course-reviews")
 @RequiredArgsConstructor
@@ -34,21 +34,31 @@ public class CourseReviewController {
     }
 
     @GetMapping("/{id}")
-    public CourseReviewResponse getCourseReviewById(@PathVariable Long id) {
+    public ResponseEntity<CourseReviewResponse> getCourseReviewById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Course ID is required");
         }
         CourseReview reviewById = courseReviewService.getCourseReviewById(id);
-        return courseReviewMapper.toResponse(reviewById);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(reviewById.getVersion()))
+                .body(courseReviewMapper.toResponse(reviewById));
     }
 
 
     @GetMapping
-    public List<CourseReviewResponse> getAllReviews() {
-        return courseReviewService.getAll()
-                .stream()
-                .map(courseReviewMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<CourseReviewResponse> getAllReviews(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return courseReviewService.getPage(after, limit).map(courseReviewMapper::toResponse);
+    }
+
+    @GetMapping("/summary/{courseId}")
+    public CourseRatingSummaryResponse getRatingSummary(@PathVariable Long courseId) {
+        if (courseId == null) {
+            throw new InvalidRequestException("Course ID is required");
+        }
+        return courseReviewMapper.toResponse(courseReviewService.getRatingSummary(courseId));
     }
 
     @PostMapping("/{courseId}/{studentId}")
@@ -65,15 +75,18 @@ public class CourseReviewController {
     }
 
     @PutMapping("/{id}")
-    public CourseReviewResponse updateCourseReview(
+    public ResponseEntity<CourseReviewResponse> updateCourseReview(
             @PathVariable Long id,
-            @RequestBody CourseReviewRequest courseReviewRequest
+            @RequestBody CourseReviewRequest courseReviewRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null) {
             throw new InvalidRequestException("Course ID is required");
         }
-        CourseReview review = courseReviewService.updateCourseReview(id, courseReviewRequest);
-        return courseReviewMapper.toResponse(review);
+        CourseReview review = courseReviewService.updateCourseReview(id, courseReviewRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(review.getVersion()))
+                .body(courseReviewMapper.toResponse(review));
     }
 
     @DeleteMapping("/{id}")
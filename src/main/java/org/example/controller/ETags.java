@@ -0,0 +1,77 @@
+package org.example.controller;
+
+import org.example.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Strong entity tags.
+ * Single resources use version-led tags, "7" or "7-" plus a hash of the versions embedded in the representation,
+ * so If-Match yields the resource's own version column once the whole tag has matched; collections use an opaque hash.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        return quote(md5(parts));
+    }
+
+    static String versioned(Long version, Object... dependencies) {
+        return dependencies.length == 0 ? quote(String.valueOf(version)) : quote(version + "-" + md5(dependencies));
+    }
+
+    static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Version expected by If-Match for resources tagged with their bare version.
+     */
+    static Long version(String ifMatch) {
+        String value = unquote(ifMatch);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version of this resource: " + ifMatch);
+        }
+    }
+
+    /**
+     * Version expected by If-Match for resources whose tag also covers dependencies.
+     * The whole tag has to match, so a change to a dependency fails the precondition as well.
+     */
+    static Long version(String ifMatch, String currentTag) {
+        String value = unquote(ifMatch);
+        if (value == null) {
+            return null;
+        }
+        if (!ifMatch.trim().equals(currentTag)) {
+            throw new PreconditionFailedException("If-Match does not match the current version of this resource: " + ifMatch);
+        }
+        int dash = value.indexOf('-');
+        return Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+    }
+
+    // Null for an absent header or "*", which only asks for the resource to exist
+    private static String unquote(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must carry a single strong entity tag: " + ifMatch);
+        }
+        return tag.substring(1, tag.length() - 1);
+    }
+
+    private static String md5(Object[] parts) {
+        return DigestUtils.md5DigestAsHex(Arrays.toString(parts).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,17 +1,26 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.nested.BulkEnrollmentResult;
+import org.example.dto.request.BulkEnrollmentRequest;
+import org.example.dto.response.BulkEnrollmentResponse;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.EnrollmentResponse;
 import org.example.entity.Enrollment;
-import org.example.exception.ExistEntityException;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.EnrollmentMapper;
 import org.example.service.EnrollmentService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/enrollments")
@@ -25,11 +34,23 @@ public class EnrollmentController {
             @RequestParam Long userId,
             @RequestParam Long courseId
     ) {
-        if (enrollmentService.isUserAlreadyEnrolled(userId, courseId)) {
-            throw new ExistEntityException("User is already enrolled in this course");
-        }
-        Enrollment enrollment = enrollmentService.enrollUserToCourse(userId, courseId);
-        return enrollmentMapper.toResponse(enrollment);
+        return enrollmentMapper.toResponse(enrollmentService.enrollUserToCourse(userId, courseId));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkEnrollmentResponse bulkEnroll(
+            @RequestParam Long courseId,
+            @RequestBody BulkEnrollmentRequest request
+    ) {
+        return toBulkResponse(courseId, enrollmentService.bulkEnroll(courseId, request.getUserIds()));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkEnrollmentResponse bulkEnrollCsv(
+            @RequestParam Long courseId,
+            InputStream body
+    ) throws IOException {
+        return toBulkResponse(courseId, enrollmentService.bulkEnroll(courseId, readUserIds(body)));
     }
 
     @PostMapping("/unenroll")
@@ -37,19 +58,16 @@ public class EnrollmentController {
             @RequestParam Long userId,
             @RequestParam Long courseId
     ) {
-        if (!enrollmentService.isUserAlreadyEnrolled(userId, courseId)) {
-            throw new ExistEntityException("User is not enrolled in this course");
-        }
         enrollmentService.unenrollUserFromCourse(userId, courseId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
-    public List<EnrollmentResponse> getAll() {
-        return enrollmentService.getAll()
-                .stream()
-                .map(enrollmentMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<EnrollmentResponse> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return enrollmentService.getPage(after, limit).map(enrollmentMapper::toResponse);
     }
 
     @GetMapping("/{id}")
@@ -60,4 +78,40 @@ public class EnrollmentController {
         Enrollment enrollment = enrollmentService.getEnrollmentById(id);
         return enrollmentMapper.toResponse(enrollment);
     }
+
+    private BulkEnrollmentResponse toBulkResponse(Long courseId, List<BulkEnrollmentResult> results) {
+        BulkEnrollmentResponse response = new BulkEnrollmentResponse();
+        response.setCourseId(courseId);
+        response.setResults(results);
+        int enrolled = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkEnrollmentResult.Status.ENROLLED)
+                .count();
+        response.setEnrolled(enrolled);
+        response.setSkipped(results.size() - enrolled);
+        return response;
+    }
+
+    private List<Long> readUserIds(InputStream body) throws IOException {
+        List<Long> userIds = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        boolean firstLine = true;
+        while ((line = reader.readLine()) != null) {
+            for (String token : line.split("[,;\\s]+")) {
+                if (token.isBlank()) {
+                    continue;
+                }
+                try {
+                    userIds.add(Long.parseLong(token.trim()));
+                } catch (NumberFormatException e) {
+                    // The first line may be a header such as "userId"
+                    if (!firstLine) {
+                        throw new InvalidRequestException("Invalid user id in CSV: " + token);
+                    }
+                }
+            }
+            firstLine = false;
+        }
+        return userIds;
+    }
 }
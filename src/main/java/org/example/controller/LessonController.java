@@ -2,17 +2,16 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.LessonRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.LessonResponse;
 import org.example.entity.Lesson;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.LessonMapper;
 import org.example.service.LessonService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/lessons")
 @RequiredArgsConstructor
@@ -32,32 +31,37 @@ public class LessonController {
     }
 
     @GetMapping
-    public List<LessonResponse> getAllLessons() {
-        return lessonService.getAllLessons()
-                .stream()
-                .map(lessonMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<LessonResponse> getAllLessons(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return lessonService.getLessonPage(after, limit).map(lessonMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public LessonResponse getLessonById(@PathVariable Long id) {
+    public ResponseEntity<LessonResponse> getLessonById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("ID cannot be null");
         }
         Lesson lesson = lessonService.getLessonById(id);
-        return lessonMapper.toResponse(lesson);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(lesson.getVersion()))
+                .body(lessonMapper.toResponse(lesson));
     }
 
     @PutMapping("/{id}")
-    public LessonResponse updateLesson(
+    public ResponseEntity<LessonResponse> updateLesson(
             @PathVariable Long id,
-            @RequestBody LessonRequest lessonRequest
+            @RequestBody LessonRequest lessonRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || lessonRequest == null) {
             throw new InvalidRequestException("ID or LessonRequest cannot be null");
         }
-        Lesson updatedLesson = lessonService.updateLesson(id, lessonRequest);
-        return lessonMapper.toResponse(updatedLesson);
+        Lesson updatedLesson = lessonService.updateLesson(id, lessonRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updatedLesson.getVersion()))
+                .body(lessonMapper.toResponse(updatedLesson));
     }
 
     @DeleteMapping("/{id}")
@@ -2,17 +2,16 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.ModuleRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.ModuleResponse;
 import org.example.entity.Module;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.ModuleMapper;
 import org.example.service.ModuleService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/modules")
 @RequiredArgsConstructor
@@ -32,32 +31,37 @@ public class ModuleController {
     }
 
     @GetMapping
-    public List<ModuleResponse> getAllModules() {
-        return moduleService.getAllModules()
-                .stream()
-                .map(moduleMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ModuleResponse> getAllModules(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return moduleService.getModulePage(after, limit).map(moduleMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public ModuleResponse getModuleById(@PathVariable Long id) {
+    public ResponseEntity<ModuleResponse> getModuleById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Module id cannot be null");
         }
         Module module = moduleService.getModuleById(id);
-        return moduleMapper.toResponse(module);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(module.getVersion()))
+                .body(moduleMapper.toResponse(module));
     }
 
     @PutMapping("/{id}")
-    public ModuleResponse updateModule(
+    public ResponseEntity<ModuleResponse> updateModule(
             @PathVariable Long id,
-            @RequestBody ModuleRequest moduleRequest
+            @RequestBody ModuleRequest moduleRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || moduleRequest == null) {
             throw new InvalidRequestException("Module id or request cannot be null");
         }
-        Module updatedModule = moduleService.updateModule(id, moduleRequest);
-        return moduleMapper.toResponse(updatedModule);
+        Module updatedModule = moduleService.updateModule(id, moduleRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updatedModule.getVersion()))
+                .body(moduleMapper.toResponse(updatedModule));
     }
 
     @DeleteMapping("/{id}")
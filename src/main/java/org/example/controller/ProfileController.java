@@ -2,10 +2,13 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.ProfileRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.ProfileResponse;
 import org.example.entity.Profile;
 import org.example.mapper.ProfileMapper;
 import org.example.service.ProfileService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -27,27 +30,40 @@ public class ProfileController {
         return profileMapper.toResponse(profile);
     }
 
+    @GetMapping
+    public CursorPage<ProfileResponse> getAllProfiles(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return profileService.getPage(after, limit).map(profileMapper::toResponse);
+    }
+
     @GetMapping("/{id}")
-    public ProfileResponse getProfileById(@PathVariable Long id) {
+    public ResponseEntity<ProfileResponse> getProfileById(@PathVariable Long id) {
         if (!profileService.profileExists(id)) {
             throw new RuntimeException("Profile not found");
         }
         Profile profile = profileService.getProfileById(id);
 
-        return profileMapper.toResponse(profile);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(profile.getVersion()))
+                .body(profileMapper.toResponse(profile));
     }
 
     @PutMapping("/{id}")
-    public ProfileResponse updateProfile(
+    public ResponseEntity<ProfileResponse> updateProfile(
             @PathVariable Long id,
-            @RequestBody ProfileRequest profileRequest
+            @RequestBody ProfileRequest profileRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (!profileService.profileExists(id)) {
             throw new RuntimeException("Profile not found");
         }
         Profile entity = profileMapper.toEntity(profileRequest);
-        Profile updated = profileService.updateProfile(id, entity);
+        Profile updated = profileService.updateProfile(id, entity, ETags.version(ifMatch));
 
-        return profileMapper.toResponse(updated);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(profileMapper.toResponse(updated));
     }
 }
@@ -3,6 +3,7 @@ package org.example.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.AnswerOptionRequest;
 import org.example.dto.request.QuestionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.QuestionResponse;
 import org.example.entity.AnswerOption;
 import org.example.entity.Question;
@@ -10,12 +11,10 @@ import org.example.exception.InvalidRequestException;
 import org.example.mapper.QuestionMapper;
 import org.example.service.AnswerOptionService;
 import org.example.service.QuestionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/questions")
 @RequiredArgsConstructor
@@ -50,33 +49,38 @@ public class QuestionController {
     }
 
     @GetMapping
-    public List<QuestionResponse> getAllQuestions() {
-        return questionService.getAll()
-                .stream()
-                .map(questionMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<QuestionResponse> getAllQuestions(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return questionService.getPage(after, limit).map(questionMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public QuestionResponse getQuestionById(@PathVariable Long id) {
+    public ResponseEntity<QuestionResponse> getQuestionById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Id cannot be null");
         }
         Question question = questionService.getQuestionById(id);
 
-        return questionMapper.toResponse(question);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(question.getVersion()))
+                .body(questionMapper.toResponse(question));
     }
 
     @PutMapping("/{id}")
-    public QuestionResponse updateQuestion(
+    public ResponseEntity<QuestionResponse> updateQuestion(
             @PathVariable Long id,
-            @RequestBody QuestionRequest questionRequest
+            @RequestBody QuestionRequest questionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null) {
             throw new InvalidRequestException("Id cannot be null");
         }
-        Question updated = questionService.updateQuestion(id, questionRequest);
-        return questionMapper.toResponse(updated);
+        Question updated = questionService.updateQuestion(id, questionRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(questionMapper.toResponse(updated));
     }
 
     @DeleteMapping("/{id}")
@@ -2,28 +2,37 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.QuizRequest;
+import org.example.dto.request.TakeQuizRequest;
+import org.example.dto.response.CursorPage;
+import org.example.dto.response.LeaderboardEntryResponse;
 import org.example.dto.response.QuizResponse;
-import org.example.dto.response.QuizSubmissionResponse;
+import org.example.dto.response.SubmissionReceiptResponse;
 import org.example.entity.Quiz;
-import org.example.entity.QuizSubmission;
 import org.example.exception.InvalidRequestException;
+import org.example.mapper.LeaderboardMapper;
 import org.example.mapper.QuizMapper;
 import org.example.mapper.QuizSubmissionMapper;
+import org.example.service.LeaderboardService;
 import org.example.service.QuizService;
+import org.example.service.QuizSubmissionQueue;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/quizzes")
 @RequiredArgsConstructor
 public class QuizController {
     private final QuizService quizService;
+    private final LeaderboardService leaderboardService;
     private final QuizMapper quizMapper;
     private final QuizSubmissionMapper quizSubmissionMapper;
+    private final LeaderboardMapper leaderboardMapper;
 
     @PostMapping
     public QuizResponse createQuiz(@RequestBody QuizRequest quizRequest) {
@@ -38,42 +47,70 @@ public class QuizController {
     }
 
     @PostMapping("/{quizId}/take")
-    public QuizSubmissionResponse takeQuiz(
+    public ResponseEntity<SubmissionReceiptResponse> takeQuiz(
             @PathVariable Long quizId,
             @RequestParam Long studentId,
-            @RequestBody Map<Long, Long> answers
+            @RequestBody TakeQuizRequest request
     ) {
-        if (answers.isEmpty()) {
+        if (request.getAnswers() == null || request.getAnswers().isEmpty()) {
             throw new InvalidRequestException("Answers cannot be empty.");
         }
-        QuizSubmission submission = quizService.takeQuiz(studentId, quizId, answers);
-        return quizSubmissionMapper.toResponse(submission);
+        QuizSubmissionQueue.Receipt receipt = quizService.queueAttempt(studentId, quizId, request.getAnswers());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/quiz-submissions/receipts/" + receipt.id()))
+                .body(quizSubmissionMapper.toReceiptResponse(receipt));
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public List<LeaderboardEntryResponse> getLeaderboard(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return leaderboardService.getQuizTop(id, limit).stream()
+                .map(leaderboardMapper::toResponse)
+                .toList();
+    }
+
+    @GetMapping("/{id}/leaderboard/{studentId}")
+    public LeaderboardEntryResponse getLeaderboardRank(@PathVariable Long id, @PathVariable Long studentId) {
+        return leaderboardMapper.toResponse(leaderboardService.getQuizRank(id, studentId));
     }
 
     @GetMapping
-    public List<QuizResponse> getAllQuizzes() {
-        return quizService.getAll()
-                .stream()
-                .map(quizMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<QuizResponse> getAllQuizzes(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return quizService.getPage(after, limit).map(quizMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public QuizResponse getQuizById(@PathVariable Long id) {
+    public ResponseEntity<QuizResponse> getQuizById(@PathVariable Long id, WebRequest request) {
         if (id == null) {
             throw new InvalidRequestException("Quiz ID cannot be null.");
         }
+        String eTag = ETags.quote(quizService.getQuizVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         Quiz quiz = quizService.getQuizById(id);
-        return quizMapper.toResponse(quiz);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(quizMapper.toResponse(quiz));
     }
 
     @PutMapping("/{id}")
-    public QuizResponse updateQuiz(
+    public ResponseEntity<QuizResponse> updateQuiz(
             @PathVariable Long id,
-            @RequestBody QuizRequest quizRequest
+            @RequestBody QuizRequest quizRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Quiz updated = quizService.updateQuiz(id, quizRequest);
-        return quizMapper.toResponse(updated);
+        Long expectedVersion = ETags.version(ifMatch, ETags.quote(quizService.getQuizVersion(id)));
+        Quiz updated = quizService.updateQuiz(id, quizRequest, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.quote(quizService.getQuizVersion(id)))
+                .body(quizMapper.toResponse(updated));
     }
 
     @DeleteMapping("/{id}")
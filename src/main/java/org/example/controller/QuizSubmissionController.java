@@ -2,14 +2,25 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.QuizSubmissionRequest;
+import org.example.dto.request.SubmissionExportFilter;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.QuizSubmissionResponse;
+import org.example.dto.response.SubmissionReceiptResponse;
 import org.example.entity.QuizSubmission;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.QuizSubmissionMapper;
+import org.example.service.QuizSubmissionQueue;
 import org.example.service.QuizSubmissionService;
+import org.example.service.SubmissionExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,11 +29,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class QuizSubmissionController {
     private final QuizSubmissionService quizSubmissionService;
+    private final SubmissionExportService submissionExportService;
     private final QuizSubmissionMapper quizSubmissionMapper;
 
 
     @PostMapping("/submit")
-    public QuizSubmissionResponse submitQuiz(
+    public ResponseEntity<SubmissionReceiptResponse> submitQuiz(
             @RequestParam Long quizId,
             @RequestParam Long studentId,
             @RequestParam Integer score
@@ -30,8 +42,15 @@ public class QuizSubmissionController {
         if (quizId == null || studentId == null) {
             throw new InvalidRequestException("Quiz ID and Student ID are required");
         }
-        QuizSubmission submission = quizSubmissionService.submitQuiz(quizId, studentId, score);
-        return quizSubmissionMapper.toResponse(submission);
+        QuizSubmissionQueue.Receipt receipt = quizSubmissionService.queueSubmission(quizId, studentId, score);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/quiz-submissions/receipts/" + receipt.id()))
+                .body(quizSubmissionMapper.toReceiptResponse(receipt));
+    }
+
+    @GetMapping("/receipts/{receiptId}")
+    public SubmissionReceiptResponse getReceipt(@PathVariable String receiptId) {
+        return quizSubmissionMapper.toReceiptResponse(quizSubmissionService.getReceipt(receiptId));
     }
 
     @PostMapping
@@ -47,21 +66,42 @@ public class QuizSubmissionController {
     }
 
     @GetMapping
-    public List<QuizSubmissionResponse> getAllQuizSubmissions() {
-        return quizSubmissionService.getAll()
-                .stream()
-                .map(quizSubmissionMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<QuizSubmissionResponse> getAllQuizSubmissions(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return quizSubmissionService.getPage(after, limit).map(quizSubmissionMapper::toResponse);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportQuizSubmissions(
+            SubmissionExportFilter filter,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        SubmissionExportService.Format exportFormat = SubmissionExportService.Format.parse(format);
+        submissionExportService.validate(filter);
+        MediaType mediaType = exportFormat == SubmissionExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("quiz-submissions." + exportFormat.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(out -> submissionExportService.exportQuizSubmissions(filter, exportFormat, out));
     }
 
     @GetMapping("/{id}")
-    public QuizSubmissionResponse getQuizSubmissionById(@PathVariable Long id) {
+    public ResponseEntity<QuizSubmissionResponse> getQuizSubmissionById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Quiz submission ID is required");
         }
         QuizSubmission submissionById = quizSubmissionService.getQuizSubmissionById(id);
 
-        return quizSubmissionMapper.toResponse(submissionById);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(submissionById.getVersion()))
+                .body(quizSubmissionMapper.toResponse(submissionById));
     }
 
 
@@ -105,15 +145,31 @@ public class QuizSubmissionController {
     }
 
     @PutMapping("/{id}")
-    public QuizSubmissionResponse updateQuizSubmission(
+    public ResponseEntity<QuizSubmissionResponse> updateQuizSubmission(
             @PathVariable Long id,
-            @RequestBody QuizSubmissionRequest quizSubmissionRequest
+            @RequestBody QuizSubmissionRequest quizSubmissionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null || quizSubmissionRequest == null) {
             throw new InvalidRequestException("Quiz submission ID and data are required");
         }
-        QuizSubmission updated = quizSubmissionService.updateQuizSubmission(id, quizSubmissionRequest);
-        return quizSubmissionMapper.toResponse(updated);
+        QuizSubmission updated = quizSubmissionService.updateQuizSubmission(id, quizSubmissionRequest, ETags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(quizSubmissionMapper.toResponse(updated));
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchQuizSubmissionScore(
+            @PathVariable Long id,
+            @RequestBody QuizSubmissionRequest quizSubmissionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        if (quizSubmissionRequest == null) {
+            throw new InvalidRequestException("Quiz submission request is required");
+        }
+        long version = quizSubmissionService.patchQuizSubmissionScore(id, quizSubmissionRequest, ETags.version(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.versioned(version)).build();
     }
 
     @DeleteMapping("/{id}")
@@ -1,16 +1,25 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.SubmissionRow;
 import org.example.dto.request.SubmissionContentRequest;
+import org.example.dto.request.SubmissionExportFilter;
 import org.example.dto.request.SubmissionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.SubmissionResponse;
 import org.example.entity.Submission;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.SubmissionMapper;
+import org.example.service.SubmissionExportService;
 import org.example.service.SubmissionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +28,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SubmissionController {
     private final SubmissionService submissionService;
+    private final SubmissionExportService submissionExportService;
     private final SubmissionMapper submissionMapper;
 
     @PostMapping
@@ -49,7 +59,7 @@ public class SubmissionController {
         if (studentId == null) {
             throw new InvalidRequestException("Student ID is required");
         }
-        Submission submission = submissionService.submitAssignment(
+        SubmissionRow submission = submissionService.submitAssignment(
                 assignmentId, studentId, contentRequest.getContent()
         );
         return submissionMapper.toResponse(submission);
@@ -80,35 +90,72 @@ public class SubmissionController {
     }
 
     @GetMapping
-    public List<SubmissionResponse> getAllSubmissions() {
-        return submissionService.getAll()
-                .stream()
-                .map(submissionMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<SubmissionResponse> getAllSubmissions(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return submissionService.getPage(after, limit).map(submissionMapper::toResponse);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            SubmissionExportFilter filter,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        SubmissionExportService.Format exportFormat = SubmissionExportService.Format.parse(format);
+        submissionExportService.validate(filter);
+        MediaType mediaType = exportFormat == SubmissionExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("submissions." + exportFormat.name().toLowerCase())
+                        .build()
+                        .toString())
+                .body(out -> submissionExportService.exportSubmissions(filter, exportFormat, out));
     }
 
     @GetMapping("/{id}")
-    public SubmissionResponse getSubmissionById(@PathVariable Long id) {
+    public ResponseEntity<SubmissionResponse> getSubmissionById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Submission ID is required");
         }
         Submission submission = submissionService.getSubmissionById(id);
 
-        return submissionMapper.toResponse(submission);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(submission.getVersion()))
+                .body(submissionMapper.toResponse(submission));
     }
 
 
     @PutMapping("/{id}")
-    public SubmissionResponse updateSubmission(
+    public ResponseEntity<SubmissionResponse> updateSubmission(
             @PathVariable Long id,
-            @RequestBody SubmissionRequest submissionRequest
+            @RequestBody SubmissionRequest submissionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (submissionRequest == null) {
             throw new InvalidRequestException("Submission is required");
         }
-        Submission updated = submissionService.updateSubmission(id, submissionRequest);
+        Submission updated = submissionService.updateSubmission(id, submissionRequest, ETags.version(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(submissionMapper.toResponse(updated));
+    }
 
-        return submissionMapper.toResponse(updated);
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchSubmission(
+            @PathVariable Long id,
+            @RequestBody SubmissionRequest submissionRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        if (submissionRequest == null) {
+            throw new InvalidRequestException("Submission is required");
+        }
+        long version = submissionService.patchSubmission(id, submissionRequest, ETags.version(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.versioned(version)).build();
     }
 
     @DeleteMapping("/{id}")
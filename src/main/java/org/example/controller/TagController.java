@@ -2,17 +2,16 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.TagRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.TagResponse;
 import org.example.entity.Tag;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.TagMapper;
 import org.example.service.TagService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/tags")
 @RequiredArgsConstructor
@@ -32,35 +31,39 @@ public class TagController {
     }
 
     @GetMapping
-    public List<TagResponse> getAllTags() {
-        return tagService
-                .getAll()
-                .stream()
-                .map(tagMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<TagResponse> getAllTags(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return tagService.getPage(after, limit).map(tagMapper::toResponse);
     }
 
     @GetMapping("/{id}")
-    public TagResponse getTagById(@PathVariable Long id) {
+    public ResponseEntity<TagResponse> getTagById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("Tag id cannot be null");
         }
         Tag tag = tagService.getTagById(id);
 
-        return tagMapper.toResponse(tag);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(tag.getVersion()))
+                .body(tagMapper.toResponse(tag));
     }
 
     @PutMapping("/{id}")
-    public TagResponse updateTag(
+    public ResponseEntity<TagResponse> updateTag(
             @PathVariable Long id,
-            @RequestBody TagRequest tagRequest
+            @RequestBody TagRequest tagRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null) {
             throw new InvalidRequestException("Tag id cannot be null");
         }
-        Tag updateTag = tagService.updateTag(id, tagRequest);
+        Tag updateTag = tagService.updateTag(id, tagRequest, ETags.version(ifMatch));
 
-        return tagMapper.toResponse(updateTag);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updateTag.getVersion()))
+                .body(tagMapper.toResponse(updateTag));
     }
 
     @DeleteMapping("/{id}")
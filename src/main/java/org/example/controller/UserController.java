@@ -2,17 +2,16 @@ package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.UserRequest;
+import org.example.dto.response.CursorPage;
 import org.example.dto.response.UserResponse;
 import org.example.entity.User;
 import org.example.exception.InvalidRequestException;
 import org.example.mapper.UserMapper;
 import org.example.service.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -33,34 +32,38 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserResponse> getAllUsers() {
-        return userService
-                .getAll()
-                .stream()
-                .map(userMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return userService.getPage(after, limit).map(userMapper::toResponse);
     }
 
     @PutMapping("/{id}")
-    public UserResponse updateUser(
+    public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
-            @RequestBody UserRequest userRequest
+            @RequestBody UserRequest userRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         if (id == null) {
             throw new InvalidRequestException("User id is null");
         }
-        User updated = userService.updateUser(id, userRequest);
+        User updated = userService.updateUser(id, userRequest, ETags.version(ifMatch));
 
-        return userMapper.toResponse(updated);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(updated.getVersion()))
+                .body(userMapper.toResponse(updated));
     }
 
     @GetMapping("/{id}")
-    public UserResponse getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
         if (id == null) {
             throw new InvalidRequestException("User id is null");
         }
         User user = userService.getUserById(id);
-        return userMapper.toResponse(user);
+        return ResponseEntity.ok()
+                .eTag(ETags.versioned(user.getVersion()))
+                .body(userMapper.toResponse(user));
     }
 
     @DeleteMapping("/{id}")
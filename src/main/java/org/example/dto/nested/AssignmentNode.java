@@ -0,0 +1,13 @@
+package org.example.dto.nested;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AssignmentNode {
+    private Long id;
+    private String title;
+    private LocalDate dueDate;
+    private Integer maxScore;
+}
@@ -0,0 +1,18 @@
+package org.example.dto.nested;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResult {
+    private Long userId;
+    private Status status;
+    private Long enrollmentId;
+
+    public enum Status {
+        ENROLLED, ALREADY_ENROLLED, DUPLICATE_IN_REQUEST, USER_NOT_FOUND
+    }
+}
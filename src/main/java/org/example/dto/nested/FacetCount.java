@@ -0,0 +1,10 @@
+package org.example.dto.nested;
+
+import lombok.Data;
+
+@Data
+public class FacetCount {
+    private Long id;
+    private String name;
+    private long count;
+}
@@ -0,0 +1,13 @@
+package org.example.dto.nested;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class LessonNode {
+    private Long id;
+    private String title;
+    private List<AssignmentNode> assignments = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package org.example.dto.nested;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ModuleNode {
+    private Long id;
+    private String title;
+    private Integer orderIndex;
+    private List<LessonNode> lessons = new ArrayList<>();
+    private List<QuizNode> quizzes = new ArrayList<>();
+}
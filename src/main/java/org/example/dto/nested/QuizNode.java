@@ -0,0 +1,10 @@
+package org.example.dto.nested;
+
+import lombok.Data;
+
+@Data
+public class QuizNode {
+    private Long id;
+    private String title;
+    private Integer timeLimit;
+}
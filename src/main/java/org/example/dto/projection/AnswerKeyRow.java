@@ -0,0 +1,8 @@
+package org.example.dto.projection;
+
+public record AnswerKeyRow(
+        Long questionId,
+        Long optionId,
+        Boolean correct
+) {
+}
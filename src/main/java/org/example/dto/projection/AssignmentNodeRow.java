@@ -0,0 +1,12 @@
+package org.example.dto.projection;
+
+import java.time.LocalDate;
+
+public record AssignmentNodeRow(
+        Long id,
+        Long lessonId,
+        String title,
+        LocalDate dueDate,
+        Integer maxScore
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.dto.projection;
+
+import java.time.LocalDate;
+
+public record AssignmentRow(
+        Long id,
+        String title,
+        String description,
+        LocalDate dueDate,
+        Integer maxScore,
+        Long lessonId,
+        String lessonTitle
+) {
+}
@@ -0,0 +1,12 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record BestAttemptRow(
+        Long quizId,
+        Long courseId,
+        Long studentId,
+        int score,
+        LocalDateTime takenAt
+) {
+}
@@ -0,0 +1,15 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record CourseReviewRow(
+        Long id,
+        Integer rating,
+        String comment,
+        LocalDateTime createdAt,
+        Long courseId,
+        String courseTitle,
+        Long studentId,
+        String studentName
+) {
+}
@@ -0,0 +1,16 @@
+package org.example.dto.projection;
+
+import java.time.LocalDate;
+
+public record CourseRow(
+        Long id,
+        String title,
+        String description,
+        Long teacherId,
+        String teacherName,
+        Long categoryId,
+        String categoryName,
+        LocalDate startDate,
+        Integer duration
+) {
+}
@@ -0,0 +1,7 @@
+package org.example.dto.projection;
+
+public record CourseSearchHit(
+        CourseRow course,
+        float rank
+) {
+}
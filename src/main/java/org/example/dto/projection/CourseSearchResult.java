@@ -0,0 +1,11 @@
+package org.example.dto.projection;
+
+import java.util.List;
+
+public record CourseSearchResult(
+        List<CourseSearchHit> hits,
+        String nextCursor,
+        List<FacetRow> categories,
+        List<FacetRow> tags
+) {
+}
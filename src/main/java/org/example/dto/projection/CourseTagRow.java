@@ -0,0 +1,7 @@
+package org.example.dto.projection;
+
+public record CourseTagRow(
+        Long courseId,
+        Long tagId
+) {
+}
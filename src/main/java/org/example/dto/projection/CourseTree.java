@@ -0,0 +1,14 @@
+package org.example.dto.projection;
+
+import org.example.entity.Course;
+
+import java.util.List;
+
+public record CourseTree(
+        Course course,
+        List<ModuleNodeRow> modules,
+        List<LessonNodeRow> lessons,
+        List<QuizNodeRow> quizzes,
+        List<AssignmentNodeRow> assignments
+) {
+}
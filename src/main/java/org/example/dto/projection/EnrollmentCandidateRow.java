@@ -0,0 +1,7 @@
+package org.example.dto.projection;
+
+public record EnrollmentCandidateRow(
+        Long userId,
+        Long enrollmentId
+) {
+}
@@ -0,0 +1,16 @@
+package org.example.dto.projection;
+
+import org.example.entity.Enrollment;
+
+import java.time.LocalDateTime;
+
+public record EnrollmentRow(
+        Long id,
+        Long userId,
+        String userName,
+        Long courseId,
+        String courseTitle,
+        LocalDateTime enrollDate,
+        Enrollment.EnrollmentStatus status
+) {
+}
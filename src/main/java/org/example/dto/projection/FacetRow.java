@@ -0,0 +1,8 @@
+package org.example.dto.projection;
+
+public record FacetRow(
+        Long id,
+        String name,
+        long count
+) {
+}
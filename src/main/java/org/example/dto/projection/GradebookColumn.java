@@ -0,0 +1,12 @@
+package org.example.dto.projection;
+
+public record GradebookColumn(
+        Kind kind,
+        Long id,
+        String title,
+        Integer maxScore
+) {
+    public enum Kind {
+        ASSIGNMENT, QUIZ
+    }
+}
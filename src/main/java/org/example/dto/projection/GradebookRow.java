@@ -0,0 +1,10 @@
+package org.example.dto.projection;
+
+import java.util.List;
+
+public record GradebookRow(
+        Long studentId,
+        String studentName,
+        List<Integer> scores
+) {
+}
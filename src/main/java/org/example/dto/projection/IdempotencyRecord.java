@@ -0,0 +1,13 @@
+package org.example.dto.projection;
+
+public record IdempotencyRecord(
+        String fingerprint,
+        Integer status,
+        String contentType,
+        String location,
+        byte[] body
+) {
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
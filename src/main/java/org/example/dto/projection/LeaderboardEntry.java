@@ -0,0 +1,11 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record LeaderboardEntry(
+        int rank,
+        Long studentId,
+        int score,
+        LocalDateTime takenAt
+) {
+}
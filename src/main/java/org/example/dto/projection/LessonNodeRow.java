@@ -0,0 +1,8 @@
+package org.example.dto.projection;
+
+public record LessonNodeRow(
+        Long id,
+        Long moduleId,
+        String title
+) {
+}
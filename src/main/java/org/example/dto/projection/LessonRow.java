@@ -0,0 +1,10 @@
+package org.example.dto.projection;
+
+public record LessonRow(
+        Long id,
+        String title,
+        String content,
+        Long moduleId,
+        String moduleTitle
+) {
+}
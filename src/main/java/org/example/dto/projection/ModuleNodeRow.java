@@ -0,0 +1,8 @@
+package org.example.dto.projection;
+
+public record ModuleNodeRow(
+        Long id,
+        String title,
+        Integer orderIndex
+) {
+}
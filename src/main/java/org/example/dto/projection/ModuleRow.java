@@ -0,0 +1,10 @@
+package org.example.dto.projection;
+
+public record ModuleRow(
+        Long id,
+        String title,
+        Integer orderIndex,
+        Long courseId,
+        String courseTitle
+) {
+}
@@ -0,0 +1,11 @@
+package org.example.dto.projection;
+
+public record ProfileRow(
+        Long id,
+        String bio,
+        String avatarUrl,
+        String contactInfo,
+        Long userId,
+        String userName
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.dto.projection;
+
+public record QuizNodeRow(
+        Long id,
+        Long moduleId,
+        String title,
+        Integer timeLimit
+) {
+}
@@ -0,0 +1,15 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record QuizSubmissionExportRow(
+        Long id,
+        Long courseId,
+        Long quizId,
+        String quizTitle,
+        Long studentId,
+        String studentName,
+        Integer score,
+        LocalDateTime takenAt
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record QuizSubmissionRow(
+        Long id,
+        Integer score,
+        LocalDateTime takenAt,
+        Long quizId,
+        String quizTitle,
+        Long studentId,
+        String studentName
+) {
+}
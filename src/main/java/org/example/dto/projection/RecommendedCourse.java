@@ -0,0 +1,7 @@
+package org.example.dto.projection;
+
+public record RecommendedCourse(
+        CourseRow course,
+        int sharedStudents
+) {
+}
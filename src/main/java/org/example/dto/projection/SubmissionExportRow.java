@@ -0,0 +1,17 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record SubmissionExportRow(
+        Long id,
+        Long courseId,
+        Long assignmentId,
+        String assignmentTitle,
+        Long studentId,
+        String studentName,
+        String content,
+        Integer score,
+        String feedback,
+        LocalDateTime submittedAt
+) {
+}
@@ -0,0 +1,16 @@
+package org.example.dto.projection;
+
+import java.time.LocalDateTime;
+
+public record SubmissionRow(
+        Long id,
+        String content,
+        LocalDateTime submittedAt,
+        Integer score,
+        String feedback,
+        Long assignmentId,
+        String assignmentTitle,
+        Long studentId,
+        String studentName
+) {
+}
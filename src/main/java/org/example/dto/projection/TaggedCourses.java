@@ -0,0 +1,12 @@
+package org.example.dto.projection;
+
+import org.example.dto.response.CursorPage;
+
+import java.util.List;
+
+public record TaggedCourses(
+        CursorPage<CourseRow> page,
+        int total,
+        List<FacetRow> tags
+) {
+}
@@ -0,0 +1,7 @@
+package org.example.dto.projection;
+
+public record UserCourseRow(
+        Long userId,
+        Long courseId
+) {
+}
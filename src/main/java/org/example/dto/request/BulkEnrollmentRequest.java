@@ -0,0 +1,10 @@
+package org.example.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkEnrollmentRequest {
+    private List<Long> userIds;
+}
@@ -0,0 +1,22 @@
+package org.example.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Question id to the selected option ids, sent as the bare JSON object.
+ * A single-choice answer may be a plain option id instead of a one-element array.
+ */
+@Getter
+public class TakeQuizRequest {
+    private final Map<Long, Set<Long>> answers;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public TakeQuizRequest(@JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) Map<Long, Set<Long>> answers) {
+        this.answers = answers;
+    }
+}
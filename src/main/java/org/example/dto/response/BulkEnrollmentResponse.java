@@ -0,0 +1,14 @@
+package org.example.dto.response;
+
+import lombok.Data;
+import org.example.dto.nested.BulkEnrollmentResult;
+
+import java.util.List;
+
+@Data
+public class BulkEnrollmentResponse {
+    private Long courseId;
+    private int enrolled;
+    private int skipped;
+    private List<BulkEnrollmentResult> results;
+}
@@ -0,0 +1,13 @@
+package org.example.dto.response;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class CourseRatingSummaryResponse {
+    private Long courseId;
+    private long reviewCount;
+    private Double averageRating;
+    private Map<Integer, Long> histogram;
+}
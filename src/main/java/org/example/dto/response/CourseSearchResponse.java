@@ -0,0 +1,14 @@
+package org.example.dto.response;
+
+import lombok.Data;
+import org.example.dto.nested.FacetCount;
+
+import java.util.List;
+
+@Data
+public class CourseSearchResponse {
+    private List<CourseResponse> items;
+    private String nextCursor;
+    private List<FacetCount> categories;
+    private List<FacetCount> tags;
+}
@@ -0,0 +1,22 @@
+package org.example.dto.response;
+
+import lombok.Data;
+import org.example.dto.nested.CategoryInfo;
+import org.example.dto.nested.ModuleNode;
+import org.example.dto.nested.UserInfo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CourseTreeResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private UserInfo teacher;
+    private CategoryInfo category;
+    private LocalDate startDate;
+    private Integer duration;
+    private List<ModuleNode> modules = new ArrayList<>();
+}
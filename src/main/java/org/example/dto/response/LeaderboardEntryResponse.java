@@ -0,0 +1,13 @@
+package org.example.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LeaderboardEntryResponse {
+    private int rank;
+    private Long studentId;
+    private int score;
+    private LocalDateTime takenAt;
+}
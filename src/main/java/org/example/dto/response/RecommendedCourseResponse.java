@@ -0,0 +1,9 @@
+package org.example.dto.response;
+
+import lombok.Data;
+
+@Data
+public class RecommendedCourseResponse {
+    private CourseResponse course;
+    private int sharedStudents;
+}
@@ -0,0 +1,11 @@
+package org.example.dto.response;
+
+import lombok.Data;
+
+@Data
+public class SubmissionReceiptResponse {
+    private String receiptId;
+    private String status;
+    private Long submissionId;
+    private String message;
+}
@@ -0,0 +1,37 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+// Maintained by CourseRatingSummaryRepository's delta statements, never written through the entity
+@Entity
+@Table(name = "course_rating_summaries")
+@Data
+@Immutable
+public class CourseRatingSummary {
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+}
@@ -2,7 +2,9 @@ package org.example.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
@@ -10,9 +12,18 @@ import java.time.LocalDateTime;
 @Data
 public class QuizSubmission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_submissions_seq")
+    @SequenceGenerator(name = "quiz_submissions_seq", sequenceName = "quiz_submissions_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     @Column(name = "score", nullable = false)
     private Integer score;
 
@@ -29,6 +40,8 @@ public class QuizSubmission {
 
     @PrePersist
     protected void onCreate() {
-        takenAt = LocalDateTime.now();
+        if (takenAt == null) {
+            takenAt = LocalDateTime.now();
+        }
     }
 }
@@ -1,6 +1,7 @@
 package org.example.mapper;
 
 import org.example.dto.nested.LessonInfo;
+import org.example.dto.projection.AssignmentRow;
 import org.example.dto.request.AssignmentRequest;
 import org.example.dto.response.AssignmentResponse;
 import org.example.entity.Assignment;
@@ -19,6 +20,10 @@ public interface AssignmentMapper {
     @Mapping(target = "lesson", source = "lesson", qualifiedByName = "lessonToLessonInfo")
     AssignmentResponse toResponse(Assignment assignment);
 
+    @Mapping(target = "lesson.id", source = "lessonId")
+    @Mapping(target = "lesson.title", source = "lessonTitle")
+    AssignmentResponse toResponse(AssignmentRow row);
+
     @Named("lessonToLessonInfo")
     default LessonInfo lessonToLessonInfo(Lesson lesson) {
         if (lesson == null) {
@@ -1,9 +1,19 @@
 package org.example.mapper;
 
 import org.example.dto.nested.CategoryInfo;
+import org.example.dto.nested.FacetCount;
 import org.example.dto.nested.UserInfo;
+import org.example.dto.projection.CourseRow;
+import org.example.dto.projection.CourseSearchHit;
+import org.example.dto.projection.CourseSearchResult;
+import org.example.dto.projection.FacetRow;
+import org.example.dto.projection.RecommendedCourse;
+import org.example.dto.projection.TaggedCourses;
 import org.example.dto.request.CourseRequest;
 import org.example.dto.response.CourseResponse;
+import org.example.dto.response.CourseSearchResponse;
+import org.example.dto.response.RecommendedCourseResponse;
+import org.example.dto.response.TaggedCoursesResponse;
 import org.example.entity.Category;
 import org.example.entity.Course;
 import org.example.entity.User;
@@ -23,6 +33,47 @@ public interface CourseMapper {
     @Mapping(target = "category", source = "category", qualifiedByName = "categoryToCategoryInfo")
     CourseResponse toResponse(Course course);
 
+    @Mapping(target = "teacher.id", source = "teacherId")
+    @Mapping(target = "teacher.name", source = "teacherName")
+    @Mapping(target = "category", source = "row", qualifiedByName = "courseRowToCategoryInfo")
+    CourseResponse toResponse(CourseRow row);
+
+    FacetCount toFacet(FacetRow row);
+
+    default RecommendedCourseResponse toResponse(RecommendedCourse recommended) {
+        if (recommended == null) {
+            return null;
+        }
+        RecommendedCourseResponse response = new RecommendedCourseResponse();
+        response.setCourse(toResponse(recommended.course()));
+        response.setSharedStudents(recommended.sharedStudents());
+        return response;
+    }
+
+    default CourseSearchResponse toResponse(CourseSearchResult result) {
+        if (result == null) {
+            return null;
+        }
+        CourseSearchResponse response = new CourseSearchResponse();
+        response.setItems(result.hits().stream().map(CourseSearchHit::course).map(this::toResponse).toList());
+        response.setNextCursor(result.nextCursor());
+        response.setCategories(result.categories().stream().map(this::toFacet).toList());
+        response.setTags(result.tags().stream().map(this::toFacet).toList());
+        return response;
+    }
+
+    default TaggedCoursesResponse toResponse(TaggedCourses result) {
+        if (result == null) {
+            return null;
+        }
+        TaggedCoursesResponse response = new TaggedCoursesResponse();
+        response.setItems(result.page().getItems().stream().map(this::toResponse).toList());
+        response.setNextCursor(result.page().getNextCursor());
+        response.setTotal(result.total());
+        response.setTags(result.tags().stream().map(this::toFacet).toList());
+        return response;
+    }
+
     @Named("userToTeacherInfo")
     default UserInfo userToTeacherInfo(User user) {
         if (user == null) {
@@ -64,4 +115,15 @@ public interface CourseMapper {
         category.setId(categoryId);
         return category;
     }
+
+    @Named("courseRowToCategoryInfo")
+    default CategoryInfo courseRowToCategoryInfo(CourseRow row) {
+        if (row == null || row.categoryId() == null) {
+            return null;
+        }
+        CategoryInfo categoryInfo = new CategoryInfo();
+        categoryInfo.setId(row.categoryId());
+        categoryInfo.setName(row.categoryName());
+        return categoryInfo;
+    }
 }
@@ -1,9 +1,12 @@
 package org.example.mapper;
 
 import org.example.dto.nested.CourseInfo;
+import org.example.dto.projection.CourseReviewRow;
 import org.example.dto.request.CourseReviewRequest;
+import org.example.dto.response.CourseRatingSummaryResponse;
 import org.example.dto.response.CourseReviewResponse;
 import org.example.entity.Course;
+import org.example.entity.CourseRatingSummary;
 import org.example.entity.CourseReview;
 import org.example.entity.User;
 import org.mapstruct.Mapper;
@@ -11,6 +14,9 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = {CourseMapper.class, UserMapper.class})
 public interface CourseReviewMapper {
 
@@ -22,6 +28,32 @@ public interface CourseReviewMapper {
     @Mapping(target = "student", source = "student", qualifiedByName = "userToUserInfo")
     CourseReviewResponse toResponse(CourseReview courseReview);
 
+    @Mapping(target = "course.id", source = "courseId")
+    @Mapping(target = "course.title", source = "courseTitle")
+    @Mapping(target = "student.id", source = "studentId")
+    @Mapping(target = "student.name", source = "studentName")
+    CourseReviewResponse toResponse(CourseReviewRow row);
+
+    default CourseRatingSummaryResponse toResponse(CourseRatingSummary summary) {
+        if (summary == null) {
+            return null;
+        }
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getStars1());
+        histogram.put(2, summary.getStars2());
+        histogram.put(3, summary.getStars3());
+        histogram.put(4, summary.getStars4());
+        histogram.put(5, summary.getStars5());
+        CourseRatingSummaryResponse response = new CourseRatingSummaryResponse();
+        response.setCourseId(summary.getCourseId());
+        response.setReviewCount(summary.getReviewCount());
+        response.setAverageRating(summary.getReviewCount() == 0
+                ? null
+                : (double) summary.getRatingSum() / summary.getReviewCount());
+        response.setHistogram(histogram);
+        return response;
+    }
+
     @Named("courseToCourseInfo")
     default CourseInfo courseToCourseInfo(Course course) {
         if (course == null) {
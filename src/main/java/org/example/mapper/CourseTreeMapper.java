@@ -0,0 +1,61 @@
+package org.example.mapper;
+
+import org.example.dto.nested.AssignmentNode;
+import org.example.dto.nested.LessonNode;
+import org.example.dto.nested.ModuleNode;
+import org.example.dto.nested.QuizNode;
+import org.example.dto.projection.AssignmentNodeRow;
+import org.example.dto.projection.CourseTree;
+import org.example.dto.projection.LessonNodeRow;
+import org.example.dto.projection.ModuleNodeRow;
+import org.example.dto.projection.QuizNodeRow;
+import org.example.dto.response.CourseTreeResponse;
+import org.example.entity.Course;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, uses = {CourseMapper.class})
+public interface CourseTreeMapper {
+
+    @Mapping(target = "teacher", source = "teacher", qualifiedByName = "userToTeacherInfo")
+    @Mapping(target = "category", source = "category", qualifiedByName = "categoryToCategoryInfo")
+    @Mapping(target = "modules", ignore = true)
+    CourseTreeResponse toResponse(Course course);
+
+    ModuleNode toNode(ModuleNodeRow row);
+
+    LessonNode toNode(LessonNodeRow row);
+
+    QuizNode toNode(QuizNodeRow row);
+
+    AssignmentNode toNode(AssignmentNodeRow row);
+
+    // Rows of each level arrive in display order; children are attached to their parent by id
+    default CourseTreeResponse toResponse(CourseTree tree) {
+        if (tree == null) {
+            return null;
+        }
+        CourseTreeResponse response = toResponse(tree.course());
+        Map<Long, ModuleNode> modules = new LinkedHashMap<>();
+        tree.modules().forEach(row -> modules.put(row.id(), toNode(row)));
+        Map<Long, LessonNode> lessons = new HashMap<>();
+        for (LessonNodeRow row : tree.lessons()) {
+            LessonNode lesson = toNode(row);
+            lessons.put(row.id(), lesson);
+            modules.get(row.moduleId()).getLessons().add(lesson);
+        }
+        for (QuizNodeRow row : tree.quizzes()) {
+            modules.get(row.moduleId()).getQuizzes().add(toNode(row));
+        }
+        for (AssignmentNodeRow row : tree.assignments()) {
+            lessons.get(row.lessonId()).getAssignments().add(toNode(row));
+        }
+        response.getModules().addAll(modules.values());
+        return response;
+    }
+}
@@ -2,6 +2,7 @@ package org.example.mapper;
 
 import org.example.dto.nested.CourseInfo;
 import org.example.dto.nested.UserInfo;
+import org.example.dto.projection.EnrollmentRow;
 import org.example.dto.response.EnrollmentResponse;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
@@ -18,6 +19,12 @@ public interface EnrollmentMapper {
     @Mapping(target = "course", source = "course", qualifiedByName = "courseToCourseInfo")
     EnrollmentResponse toResponse(Enrollment enrollment);
 
+    @Mapping(target = "user.id", source = "userId")
+    @Mapping(target = "user.name", source = "userName")
+    @Mapping(target = "course.id", source = "courseId")
+    @Mapping(target = "course.title", source = "courseTitle")
+    EnrollmentResponse toResponse(EnrollmentRow row);
+
     @Named("userToStudentInfo")
     default UserInfo userToStudentInfo(User user) {
         if (user == null) {
@@ -0,0 +1,11 @@
+package org.example.mapper;
+
+import org.example.dto.projection.LeaderboardEntry;
+import org.example.dto.response.LeaderboardEntryResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface LeaderboardMapper {
+    LeaderboardEntryResponse toResponse(LeaderboardEntry entry);
+}
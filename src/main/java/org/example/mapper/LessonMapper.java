@@ -1,6 +1,7 @@
 package org.example.mapper;
 
 import org.example.dto.nested.ModuleInfo;
+import org.example.dto.projection.LessonRow;
 import org.example.dto.request.LessonRequest;
 import org.example.dto.response.LessonResponse;
 import org.example.entity.Lesson;
@@ -19,6 +20,10 @@ public interface LessonMapper {
     @Mapping(target = "module", source = "module", qualifiedByName = "moduleToModuleInfo")
     LessonResponse toResponse(Lesson lesson);
 
+    @Mapping(target = "module.id", source = "moduleId")
+    @Mapping(target = "module.title", source = "moduleTitle")
+    LessonResponse toResponse(LessonRow row);
+
     @Named("moduleToModuleInfo")
     default ModuleInfo moduleToModuleInfo(Module module) {
         if (module == null) {
@@ -1,6 +1,7 @@
 package org.example.mapper;
 
 import org.example.dto.nested.CourseInfo;
+import org.example.dto.projection.ModuleRow;
 import org.example.dto.request.ModuleRequest;
 import org.example.dto.response.ModuleResponse;
 import org.example.entity.Course;
@@ -19,6 +20,10 @@ public interface ModuleMapper {
     @Mapping(target = "course", source = "course", qualifiedByName = "courseToCourseInfo")
     ModuleResponse toResponse(Module module);
 
+    @Mapping(target = "course.id", source = "courseId")
+    @Mapping(target = "course.title", source = "courseTitle")
+    ModuleResponse toResponse(ModuleRow row);
+
     @Named("courseToCourseInfo")
     default CourseInfo courseToCourseInfo(Course course) {
         if (course == null) {
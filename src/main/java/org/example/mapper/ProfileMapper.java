@@ -1,6 +1,7 @@
 package org.example.mapper;
 
 import org.example.dto.nested.UserInfo;
+import org.example.dto.projection.ProfileRow;
 import org.example.dto.request.ProfileRequest;
 import org.example.dto.response.ProfileResponse;
 import org.example.entity.Profile;
@@ -19,6 +20,10 @@ public interface ProfileMapper {
     @Mapping(target = "user", source = "user", qualifiedByName = "profileUserToUserInfo")
     ProfileResponse toResponse(Profile profile);
 
+    @Mapping(target = "user.id", source = "userId")
+    @Mapping(target = "user.name", source = "userName")
+    ProfileResponse toResponse(ProfileRow row);
+
     @Named("profileUserToUserInfo")
     default UserInfo profileUserToUserInfo(User user) {
         if (user == null) {
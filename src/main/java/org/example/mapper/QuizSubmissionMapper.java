@@ -1,10 +1,13 @@
 package org.example.mapper;
 
 import org.example.dto.nested.QuizInfo;
+import org.example.dto.projection.QuizSubmissionRow;
 import org.example.dto.request.QuizSubmissionRequest;
 import org.example.dto.response.QuizSubmissionResponse;
+import org.example.dto.response.SubmissionReceiptResponse;
 import org.example.entity.Quiz;
 import org.example.entity.QuizSubmission;
+import org.example.service.QuizSubmissionQueue;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -21,6 +24,15 @@ public interface QuizSubmissionMapper {
     @Mapping(target = "student", source = "student", qualifiedByName = "userToUserInfo")
     QuizSubmissionResponse toResponse(QuizSubmission quizSubmission);
 
+    @Mapping(target = "receiptId", source = "id")
+    SubmissionReceiptResponse toReceiptResponse(QuizSubmissionQueue.Receipt receipt);
+
+    @Mapping(target = "quiz.id", source = "quizId")
+    @Mapping(target = "quiz.title", source = "quizTitle")
+    @Mapping(target = "student.id", source = "studentId")
+    @Mapping(target = "student.name", source = "studentName")
+    QuizSubmissionResponse toResponse(QuizSubmissionRow row);
+
     @Named("quizToQuizInfo")
     default QuizInfo quizToQuizInfo(Quiz quiz) {
         if (quiz == null) {
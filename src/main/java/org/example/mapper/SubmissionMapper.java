@@ -1,6 +1,7 @@
 package org.example.mapper;
 
 import org.example.dto.nested.AssignmentInfo;
+import org.example.dto.projection.SubmissionRow;
 import org.example.dto.request.SubmissionRequest;
 import org.example.dto.response.SubmissionResponse;
 import org.example.entity.Assignment;
@@ -21,6 +22,12 @@ public interface SubmissionMapper {
     @Mapping(target = "student", source = "student", qualifiedByName = "userToUserInfo")
     SubmissionResponse toResponse(Submission submission);
 
+    @Mapping(target = "assignment.id", source = "assignmentId")
+    @Mapping(target = "assignment.title", source = "assignmentTitle")
+    @Mapping(target = "student.id", source = "studentId")
+    @Mapping(target = "student.name", source = "studentName")
+    SubmissionResponse toResponse(SubmissionRow row);
+
     @Named("assignmentToAssignmentInfo")
     default AssignmentInfo assignmentToAssignmentInfo(Assignment assignment) {
         if (assignment == null) {
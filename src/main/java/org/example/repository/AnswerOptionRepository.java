@@ -3,5 +3,5 @@ package org.example.repository;
 import org.example.entity.AnswerOption;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface AnswerOptionRepository extends JpaRepository<AnswerOption, Long> {
+public interface AnswerOptionRepository extends JpaRepository<AnswerOption, Long>, KeysetRepository<AnswerOption> {
 }
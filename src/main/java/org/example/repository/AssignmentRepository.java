@@ -1,7 +1,35 @@
 package org.example.repository;
 
+import org.example.dto.projection.AssignmentNodeRow;
+import org.example.dto.projection.AssignmentRow;
 import org.example.entity.Assignment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AssignmentRepository extends JpaRepository<Assignment, Long>, KeysetRepository<Assignment> {
+    @Query("""
+            select new org.example.dto.projection.AssignmentRow(a.id, a.title, a.description, a.dueDate, a.maxScore, l.id, l.title)
+            from Assignment a join a.lesson l
+            where a.id > :afterId
+            order by a.id
+            """)
+    List<AssignmentRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"lesson"})
+    Optional<Assignment> findDetailedById(Long id);
+
+    @Query("""
+            select new org.example.dto.projection.AssignmentNodeRow(a.id, a.lesson.id, a.title, a.dueDate, a.maxScore)
+            from Assignment a
+            where a.lesson.id in :lessonIds
+            order by a.id
+            """)
+    List<AssignmentNodeRow> findNodesByLessonIdIn(@Param("lessonIds") Collection<Long> lessonIds);
 }
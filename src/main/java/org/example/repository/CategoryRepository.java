@@ -1,7 +1,16 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Category;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+import java.util.List;
+
+public interface CategoryRepository extends JpaRepository<Category, Long>, KeysetRepository<Category> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
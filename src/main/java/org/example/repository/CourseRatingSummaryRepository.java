@@ -0,0 +1,62 @@
+package org.example.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.entity.CourseRatingSummary;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface CourseRatingSummaryRepository extends JpaRepository<CourseRatingSummary, Long> {
+
+    // Adds delta (+1 or -1) reviews of the given rating; the row is locked only for this statement's transaction.
+    // The native space hint keeps Hibernate from evicting every second-level cache region on native DML.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_rating_summaries"))
+    @Query(value = """
+            insert into course_rating_summaries
+                (course_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+            values (:courseId, :delta, :delta * :rating,
+                    case when :rating = 1 then :delta else 0 end,
+                    case when :rating = 2 then :delta else 0 end,
+                    case when :rating = 3 then :delta else 0 end,
+                    case when :rating = 4 then :delta else 0 end,
+                    case when :rating = 5 then :delta else 0 end)
+            on conflict (course_id) do update
+            set review_count = course_rating_summaries.review_count + excluded.review_count,
+                rating_sum = course_rating_summaries.rating_sum + excluded.rating_sum,
+                stars_1 = course_rating_summaries.stars_1 + excluded.stars_1,
+                stars_2 = course_rating_summaries.stars_2 + excluded.stars_2,
+                stars_3 = course_rating_summaries.stars_3 + excluded.stars_3,
+                stars_4 = course_rating_summaries.stars_4 + excluded.stars_4,
+                stars_5 = course_rating_summaries.stars_5 + excluded.stars_5
+            """, nativeQuery = true)
+    int applyReview(@Param("courseId") Long courseId, @Param("rating") int rating, @Param("delta") int delta);
+
+    // Takes back every review of a student in one statement, for deletes that cascade past CourseReviewService
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_rating_summaries"))
+    @Query(value = """
+            update course_rating_summaries s
+            set review_count = s.review_count - d.review_count,
+                rating_sum = s.rating_sum - d.rating_sum,
+                stars_1 = s.stars_1 - d.stars_1,
+                stars_2 = s.stars_2 - d.stars_2,
+                stars_3 = s.stars_3 - d.stars_3,
+                stars_4 = s.stars_4 - d.stars_4,
+                stars_5 = s.stars_5 - d.stars_5
+            from (select r.course_id, count(*) as review_count, sum(r.rating) as rating_sum,
+                         count(*) filter (where r.rating = 1) as stars_1,
+                         count(*) filter (where r.rating = 2) as stars_2,
+                         count(*) filter (where r.rating = 3) as stars_3,
+                         count(*) filter (where r.rating = 4) as stars_4,
+                         count(*) filter (where r.rating = 5) as stars_5
+                  from course_reviews r
+                  where r.student_id = :studentId
+                  group by r.course_id) d
+            where s.course_id = d.course_id
+            """, nativeQuery = true)
+    int removeReviewsOfStudent(@Param("studentId") Long studentId);
+}
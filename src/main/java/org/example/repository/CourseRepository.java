@@ -1,7 +1,77 @@
 package org.example.repository;
 
+import org.example.dto.projection.CourseRow;
+import org.example.dto.projection.CourseTagRow;
 import org.example.entity.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseRepository extends JpaRepository<Course, Long>, KeysetRepository<Course> {
+    @Query("""
+            select new org.example.dto.projection.CourseRow(c.id, c.title, c.description, t.id, t.name, cat.id, cat.name, c.startDate, c.duration)
+            from Course c join c.teacher t left join c.category cat
+            where c.id > :afterId
+            order by c.id
+            """)
+    List<CourseRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new org.example.dto.projection.CourseRow(c.id, c.title, c.description, t.id, t.name, cat.id, cat.name, c.startDate, c.duration)
+            from Course c join c.teacher t left join c.category cat
+            where c.id in :ids
+            order by c.id
+            """)
+    List<CourseRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.id from Course c")
+    List<Long> findAllIds();
+
+    @Query("select new org.example.dto.projection.CourseTagRow(c.id, t.id) from Course c join c.tags t")
+    List<CourseTagRow> findTagPairs();
+
+    // Fingerprint of the rows findPageAfter would return, covering every table a CourseRow reads from
+    @Query(value = """
+            select md5(coalesce(string_agg(p.id || ':' || p.version || ':' || p.teacher_version || ':' || p.category_version,
+                                           ',' order by p.id), ''))
+            from (select c.id, c.version, t.version as teacher_version, coalesce(cat.version, -1) as category_version
+                  from courses c
+                           join users t on t.id = c.teacher_id
+                           left join categories cat on cat.id = c.category_id
+                  where c.id > :afterId
+                  order by c.id
+                  limit :limit) p
+            """, nativeQuery = true)
+    String findPageVersion(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = {"teacher", "category"})
+    Optional<Course> findDetailedById(Long id);
+
+    @Modifying
+    @Query("""
+            update Course c
+            set c.title = coalesce(:title, c.title),
+                c.description = coalesce(:description, c.description),
+                c.startDate = coalesce(:startDate, c.startDate),
+                c.duration = coalesce(:duration, c.duration),
+                c.version = c.version + 1,
+                c.updatedAt = :updatedAt
+            where c.id = :id and c.version = :version
+            """)
+    int patchIfVersion(@Param("id") Long id,
+                       @Param("version") Long version,
+                       @Param("title") String title,
+                       @Param("description") String description,
+                       @Param("startDate") LocalDate startDate,
+                       @Param("duration") Integer duration,
+                       @Param("updatedAt") Instant updatedAt);
 }
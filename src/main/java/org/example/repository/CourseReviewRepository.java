@@ -1,7 +1,25 @@
 package org.example.repository;
 
+import org.example.dto.projection.CourseReviewRow;
 import org.example.entity.CourseReview;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CourseReviewRepository extends JpaRepository<CourseReview, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseReviewRepository extends JpaRepository<CourseReview, Long>, KeysetRepository<CourseReview> {
+    @Query("""
+            select new org.example.dto.projection.CourseReviewRow(r.id, r.rating, r.comment, r.createdAt, c.id, c.title, s.id, s.name)
+            from CourseReview r join r.course c join r.student s
+            where r.id > :afterId
+            order by r.id
+            """)
+    List<CourseReviewRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"course", "student"})
+    Optional<CourseReview> findDetailedById(Long id);
 }
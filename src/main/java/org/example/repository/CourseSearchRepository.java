@@ -0,0 +1,114 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.CourseRow;
+import org.example.dto.projection.CourseSearchHit;
+import org.example.dto.projection.CourseSearchResult;
+import org.example.dto.projection.FacetRow;
+import org.example.dto.request.CourseSearchRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CourseSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // One statement returns the requested page and both facets, told apart by the kind column.
+    // base holds the text and date matches. Categories are single-valued, so they are counted without
+    // the category filter and still show what picking another category would give. Selected tags
+    // combine with AND, so tags are counted over the full match: each count is what adding that tag yields.
+    public CourseSearchResult search(CourseSearchRequest request, Float afterRank, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        boolean hasQuery = request.getQ() != null && !request.getQ().isBlank();
+        boolean hasTags = request.getTagIds() != null && !request.getTagIds().isEmpty();
+        boolean hasCategory = request.getCategoryId() != null;
+
+        StringBuilder sql = new StringBuilder("with base as (\n")
+                .append("    select c.id, c.title, c.description, c.start_date, c.duration, c.category_id, c.teacher_id, ")
+                .append(hasQuery ? "ts_rank_cd(c.search_vector, query.q)" : "cast(0 as real)").append(" as rank\n")
+                .append("    from courses c").append(hasQuery ? ", websearch_to_tsquery('english', :q) as query(q)" : "").append("\n")
+                .append("    where true\n");
+        if (hasQuery) {
+            sql.append("      and c.search_vector @@ query.q\n");
+            params.addValue("q", request.getQ());
+        }
+        if (request.getStartFrom() != null) {
+            sql.append("      and c.start_date >= :startFrom\n");
+            params.addValue("startFrom", request.getStartFrom());
+        }
+        if (request.getStartTo() != null) {
+            sql.append("      and c.start_date <= :startTo\n");
+            params.addValue("startTo", request.getStartTo());
+        }
+        sql.append("), tagged as (\n    select b.* from base b\n");
+        if (hasTags) {
+            List<Long> tagIds = request.getTagIds().stream().distinct().toList();
+            sql.append("    where (select count(*) from course_tag ct where ct.course_id = b.id and ct.tag_id in (:tagIds)) = :tagCount\n");
+            params.addValue("tagIds", tagIds);
+            params.addValue("tagCount", tagIds.size());
+        }
+        sql.append("), matched as (\n    select t.* from tagged t\n");
+        if (hasCategory) {
+            sql.append("    where t.category_id = :categoryId\n");
+            params.addValue("categoryId", request.getCategoryId());
+        }
+        sql.append("), page as (\n    select m.* from matched m\n");
+        if (afterId != null) {
+            sql.append("    where m.rank < cast(:afterRank as real) or (m.rank = cast(:afterRank as real) and m.id > :afterId)\n");
+            params.addValue("afterRank", afterRank);
+            params.addValue("afterId", afterId);
+        }
+        sql.append("""
+                    order by m.rank desc, m.id
+                    limit :limit
+                )
+                select 'COURSE' as kind, p.id, p.title, p.description, p.start_date, p.duration, p.rank,
+                       cat.id as category_id, cat.name as category_name, u.id as teacher_id, u.name as teacher_name,
+                       cast(null as bigint) as facet_count
+                from page p
+                         join users u on u.id = p.teacher_id
+                         left join categories cat on cat.id = p.category_id
+                union all
+                select 'CATEGORY', cat.id, cat.name, null, null, null, null, null, null, null, null, count(*)
+                from tagged t
+                         join categories cat on cat.id = t.category_id
+                group by cat.id, cat.name
+                union all
+                select 'TAG', tg.id, tg.name, null, null, null, null, null, null, null, null, count(*)
+                from matched m
+                         join course_tag ct on ct.course_id = m.id
+                         join tags tg on tg.id = ct.tag_id
+                group by tg.id, tg.name
+                order by kind, rank desc nulls last, facet_count desc nulls last, id
+                """);
+
+        List<CourseSearchHit> hits = new ArrayList<>();
+        List<FacetRow> categories = new ArrayList<>();
+        List<FacetRow> tags = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            switch (rs.getString("kind")) {
+                case "COURSE" -> hits.add(new CourseSearchHit(new CourseRow(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        rs.getLong("teacher_id"),
+                        rs.getString("teacher_name"),
+                        rs.getObject("category_id", Long.class),
+                        rs.getString("category_name"),
+                        rs.getObject("start_date", LocalDate.class),
+                        rs.getObject("duration", Integer.class)
+                ), rs.getFloat("rank")));
+                case "CATEGORY" -> categories.add(new FacetRow(rs.getLong("id"), rs.getString("title"), rs.getLong("facet_count")));
+                default -> tags.add(new FacetRow(rs.getLong("id"), rs.getString("title"), rs.getLong("facet_count")));
+            }
+        });
+        return new CourseSearchResult(hits, null, categories, tags);
+    }
+}
@@ -1,17 +1,64 @@
 package org.example.repository;
 
+import org.example.dto.projection.EnrollmentCandidateRow;
+import org.example.dto.projection.EnrollmentRow;
+import org.example.dto.projection.UserCourseRow;
 import org.example.entity.Enrollment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, KeysetRepository<Enrollment> {
     boolean existsByUserIdAndCourseId(Long userId, Long courseId);
-    Optional<Enrollment> findByUserIdAndCourseId(Long userId, Long courseId);
+
+    @EntityGraph(attributePaths = {"course", "course.teacher", "course.category"})
     List<Enrollment> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = {"user"})
     List<Enrollment> findByCourseId(Long courseId);
 
+    @Query("""
+            select new org.example.dto.projection.EnrollmentRow(e.id, u.id, u.name, c.id, c.title, e.enrollDate, e.status)
+            from Enrollment e join e.user u join e.course c
+            where e.id > :afterId
+            order by e.id
+            """)
+    List<EnrollmentRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"user", "course"})
+    Optional<Enrollment> findDetailedById(Long id);
+
+    @Query("""
+            select new org.example.dto.projection.EnrollmentCandidateRow(u.id, e.id)
+            from User u left join Enrollment e on e.user.id = u.id and e.course.id = :courseId
+            where u.id in :userIds
+            """)
+    List<EnrollmentCandidateRow> findCandidates(@Param("courseId") Long courseId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+            select new org.example.dto.projection.UserCourseRow(e.user.id, e.course.id)
+            from Enrollment e
+            where e.user.id in :userIds and e.course.id <> :courseId
+            """)
+    List<UserCourseRow> findOtherCourses(@Param("userIds") Collection<Long> userIds, @Param("courseId") Long courseId);
+
+    @Query("""
+            select new org.example.dto.projection.UserCourseRow(e.user.id, e.course.id)
+            from Enrollment e
+            order by e.user.id
+            """)
+    List<UserCourseRow> findAllUserCourses();
 
+    @Query(value = "select cast(pg_current_snapshot() as text)", nativeQuery = true)
+    String findCurrentSnapshot();
 
+    // Assigns the calling transaction its id if it has none yet
+    @Query(value = "select cast(pg_current_xact_id() as text)", nativeQuery = true)
+    String findCurrentTransactionId();
 }
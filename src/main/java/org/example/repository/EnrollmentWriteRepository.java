@@ -0,0 +1,90 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.EnrollmentRow;
+import org.example.entity.Enrollment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Single-statement writes that lean on the (user_id, course_id) unique constraint instead of check-then-act
+@Repository
+@RequiredArgsConstructor
+public class EnrollmentWriteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Enrolls the user unless already enrolled.
+     * Empty when the user or the course does not exist, or when the enrollment is already there.
+     */
+    public Optional<EnrollmentRow> insertIfAbsent(Long userId, Long courseId, LocalDateTime enrollDate) {
+        return jdbcTemplate.query("""
+                with inserted as (
+                    insert into enrollments (user_id, course_id, enroll_date, status)
+                    select u.id, c.id, ?, ?
+                    from users u, courses c
+                    where u.id = ? and c.id = ?
+                    on conflict (user_id, course_id) do nothing
+                    returning id, user_id, course_id, enroll_date, status
+                )
+                select i.id, i.user_id, u.name as user_name, i.course_id, c.title as course_title, i.enroll_date, i.status
+                from inserted i
+                         join users u on u.id = i.user_id
+                         join courses c on c.id = i.course_id
+                """, (rs, rowNum) -> new EnrollmentRow(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("user_name"),
+                rs.getLong("course_id"),
+                rs.getString("course_title"),
+                rs.getObject("enroll_date", LocalDateTime.class),
+                Enrollment.EnrollmentStatus.valueOf(rs.getString("status"))
+        ), enrollDate, Enrollment.EnrollmentStatus.ACTIVE.name(), userId, courseId).stream().findFirst();
+    }
+
+    /**
+     * Enrolls every existing, not yet enrolled user among the given ids in one statement.
+     * Returns the new enrollment ids by user id; users that are missing or already enrolled are left out.
+     */
+    public Map<Long, Long> insertAllIfAbsent(Long courseId, Collection<Long> userIds, LocalDateTime enrollDate) {
+        Map<Long, Long> created = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            // Rows go in user id order, so concurrent bulk enrollments take the key locks in the same order
+            PreparedStatement statement = connection.prepareStatement("""
+                    insert into enrollments (user_id, course_id, enroll_date, status)
+                    select u.id, ?, ?, ?
+                    from users u
+                    where u.id = any (?)
+                    order by u.id
+                    on conflict (user_id, course_id) do nothing
+                    returning id, user_id
+                    """);
+            statement.setLong(1, courseId);
+            statement.setObject(2, enrollDate);
+            statement.setString(3, Enrollment.EnrollmentStatus.ACTIVE.name());
+            statement.setArray(4, connection.createArrayOf("bigint", userIds.toArray()));
+            return statement;
+        }, rs -> {
+            created.put(rs.getLong("user_id"), rs.getLong("id"));
+        });
+        return created;
+    }
+
+    /**
+     * Removes the enrollment and returns its id, empty when the user was not enrolled.
+     */
+    public Optional<Long> delete(Long userId, Long courseId) {
+        return jdbcTemplate.queryForList("""
+                delete from enrollments
+                where user_id = ? and course_id = ?
+                returning id
+                """, Long.class, userId, courseId).stream().findFirst();
+    }
+}
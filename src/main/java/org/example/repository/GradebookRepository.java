@@ -0,0 +1,104 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.GradebookColumn;
+import org.example.dto.projection.GradebookRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class GradebookRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String COLUMNS_SQL = """
+            select 'ASSIGNMENT' as kind, a.id, a.title, a.max_score, m.order_index, m.id as module_id, 0 as kind_order
+            from assignments a
+                     join lessons l on l.id = a.lesson_id
+                     join modules m on m.id = l.module_id
+            where m.course_id = ?
+            union all
+            select 'QUIZ', q.id, q.title, null, m.order_index, m.id, 1
+            from quizzes q
+                     join modules m on m.id = q.module_id
+            where m.course_id = ?
+            order by order_index nulls last, module_id, kind_order, id
+            """;
+
+    // One row per enrolled student with the best score for every column, in the order the columns were passed.
+    // The columns come in as arrays rather than being re-derived here, so rows always line up with the header
+    // even if an assignment or quiz is added while the gradebook streams.
+    private static final String ROWS_SQL = """
+            with cols as (
+                select c.kind, c.item_id, c.pos
+                from unnest(?::varchar[], ?::bigint[]) with ordinality as c(kind, item_id, pos)
+            ),
+            students as (
+                select distinct e.user_id
+                from enrollments e
+                where e.course_id = ? and e.status <> 'DROPPED'
+            ),
+            scores as (
+                select s.student_id, c.pos, max(s.score) as score
+                from submissions s
+                         join cols c on c.kind = 'ASSIGNMENT' and c.item_id = s.assignment_id
+                where s.student_id in (select user_id from students)
+                group by s.student_id, c.pos
+                union all
+                select qs.student_id, c.pos, max(qs.score)
+                from quiz_submissions qs
+                         join cols c on c.kind = 'QUIZ' and c.item_id = qs.quiz_id
+                where qs.student_id in (select user_id from students)
+                group by qs.student_id, c.pos
+            )
+            select u.id, u.name,
+                   coalesce(array_agg(sc.score order by c.pos) filter (where c.pos is not null), '{}') as scores
+            from students st
+                     join users u on u.id = st.user_id
+                     left join cols c on true
+                     left join scores sc on sc.student_id = st.user_id and sc.pos = c.pos
+            group by u.id, u.name
+            order by u.name, u.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<GradebookColumn> findColumns(Long courseId) {
+        return jdbcTemplate.query(COLUMNS_SQL, (rs, rowNum) -> new GradebookColumn(
+                GradebookColumn.Kind.valueOf(rs.getString("kind")),
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getObject("max_score", Integer.class)
+        ), courseId, courseId);
+    }
+
+    // Rows are pulled through a server-side cursor (fetch size inside the caller's transaction) and handed
+    // to the consumer one at a time, so the matrix is never held in memory
+    public void streamRows(Long courseId, List<GradebookColumn> columns, Consumer<GradebookRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ROWS_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setArray(1, connection.createArrayOf("varchar",
+                    columns.stream().map(column -> column.kind().name()).toArray()));
+            statement.setArray(2, connection.createArrayOf("bigint",
+                    columns.stream().map(GradebookColumn::id).toArray()));
+            statement.setLong(3, courseId);
+            return statement;
+        }, rs -> {
+            Array scores = rs.getArray("scores");
+            consumer.accept(new GradebookRow(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    Arrays.asList((Integer[]) scores.getArray())
+            ));
+            scores.free();
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.IdempotencyRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the key for a new request. An existing row is taken over only once it has expired,
+     * or when it is still unfinished after the lease, i.e. the request that claimed it died.
+     * The token identifies this claim, so a request whose claim was taken over cannot touch the row.
+     */
+    public boolean claim(String key, UUID token, String fingerprint, Instant expiresAt, Duration lease) {
+        return jdbcTemplate.update("""
+                insert into idempotency_keys (idempotency_key, claim_token, fingerprint, expires_at)
+                values (?, ?, ?, ?)
+                on conflict (idempotency_key) do update
+                    set claim_token = excluded.claim_token,
+                        fingerprint = excluded.fingerprint,
+                        response_status = null,
+                        response_content_type = null,
+                        response_location = null,
+                        response_body = null,
+                        created_at = now(),
+                        expires_at = excluded.expires_at
+                    where idempotency_keys.expires_at < now()
+                       or (idempotency_keys.response_status is null
+                           and idempotency_keys.created_at < now() - make_interval(secs => ?))
+                """, key, token, fingerprint, Timestamp.from(expiresAt), lease.toSeconds()) == 1;
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        return jdbcTemplate.query("""
+                select fingerprint, response_status, response_content_type, response_location, response_body
+                from idempotency_keys
+                where idempotency_key = ?
+                """, (rs, rowNum) -> new IdempotencyRecord(
+                rs.getString("fingerprint"),
+                rs.getObject("response_status", Integer.class),
+                rs.getString("response_content_type"),
+                rs.getString("response_location"),
+                rs.getBytes("response_body")
+        ), key).stream().findFirst();
+    }
+
+    public boolean complete(String key, UUID token, int status, String contentType, String location, byte[] body) {
+        return jdbcTemplate.update("""
+                update idempotency_keys
+                set response_status = ?, response_content_type = ?, response_location = ?, response_body = ?
+                where idempotency_key = ? and claim_token = ?
+                """, status, contentType, location, body, key, token) == 1;
+    }
+
+    public boolean release(String key, UUID token) {
+        return jdbcTemplate.update("""
+                delete from idempotency_keys
+                where idempotency_key = ? and claim_token = ? and response_status is null
+                """, key, token) == 1;
+    }
+
+    // Bounded batches keep each delete short and its locks few
+    public int deleteExpired(int batchSize) {
+        return jdbcTemplate.update("""
+                delete from idempotency_keys
+                where idempotency_key in (select idempotency_key
+                                          from idempotency_keys
+                                          where expires_at < now()
+                                          limit ?
+                                          for update skip locked)
+                """, batchSize);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+@NoRepositoryBean
+public interface KeysetRepository<T> extends Repository<T, Long> {
+    List<T> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
@@ -0,0 +1,58 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.BestAttemptRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardRepository {
+
+    // Best attempt of every student on every quiz: highest score, earliest attempt among equal scores
+    private static final String BEST_ATTEMPTS_SQL = """
+            select distinct on (qs.quiz_id, qs.student_id)
+                   qs.quiz_id, m.course_id, qs.student_id, qs.score, qs.taken_at
+            from quiz_submissions qs
+                     join quizzes q on q.id = qs.quiz_id
+                     left join modules m on m.id = q.module_id
+            %s
+            order by qs.quiz_id, qs.student_id, qs.score desc, qs.taken_at, qs.id
+            """;
+
+    private static final RowMapper<BestAttemptRow> BEST_ATTEMPT = (rs, rowNum) -> new BestAttemptRow(
+            rs.getLong("quiz_id"),
+            rs.getObject("course_id", Long.class),
+            rs.getLong("student_id"),
+            rs.getInt("score"),
+            rs.getTimestamp("taken_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<BestAttemptRow> findBestAttempts() {
+        return jdbcTemplate.query(BEST_ATTEMPTS_SQL.formatted(""), BEST_ATTEMPT);
+    }
+
+    public Optional<BestAttemptRow> findBestAttempt(Long quizId, Long studentId) {
+        return jdbcTemplate.query(BEST_ATTEMPTS_SQL.formatted("where qs.quiz_id = ? and qs.student_id = ?"),
+                BEST_ATTEMPT, quizId, studentId).stream().findFirst();
+    }
+
+    public Optional<Long> findCourseIdByQuizId(Long quizId) {
+        return jdbcTemplate.queryForList("""
+                select m.course_id
+                from quizzes q
+                         join modules m on m.id = q.module_id
+                where q.id = ?
+                """, Long.class, quizId).stream().findFirst();
+    }
+
+    public List<Long> findQuizIdsByModuleId(Long moduleId) {
+        return jdbcTemplate.queryForList("select id from quizzes where module_id = ?", Long.class, moduleId);
+    }
+}
@@ -1,7 +1,35 @@
 package org.example.repository;
 
+import org.example.dto.projection.LessonNodeRow;
+import org.example.dto.projection.LessonRow;
 import org.example.entity.Lesson;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface LessonRepository extends JpaRepository<Lesson, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LessonRepository extends JpaRepository<Lesson, Long>, KeysetRepository<Lesson> {
+    @Query("""
+            select new org.example.dto.projection.LessonRow(l.id, l.title, l.content, m.id, m.title)
+            from Lesson l join l.module m
+            where l.id > :afterId
+            order by l.id
+            """)
+    List<LessonRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"module"})
+    Optional<Lesson> findDetailedById(Long id);
+
+    @Query("""
+            select new org.example.dto.projection.LessonNodeRow(l.id, l.module.id, l.title)
+            from Lesson l
+            where l.module.id in :moduleIds
+            order by l.id
+            """)
+    List<LessonNodeRow> findNodesByModuleIdIn(@Param("moduleIds") Collection<Long> moduleIds);
 }
@@ -1,7 +1,34 @@
 package org.example.repository;
 
+import org.example.dto.projection.ModuleNodeRow;
+import org.example.dto.projection.ModuleRow;
 import org.example.entity.Module;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ModuleRepository extends JpaRepository<Module, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface ModuleRepository extends JpaRepository<Module, Long>, KeysetRepository<Module> {
+    @Query("""
+            select new org.example.dto.projection.ModuleRow(m.id, m.title, m.orderIndex, c.id, c.title)
+            from Module m join m.course c
+            where m.id > :afterId
+            order by m.id
+            """)
+    List<ModuleRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"course"})
+    Optional<Module> findDetailedById(Long id);
+
+    @Query("""
+            select new org.example.dto.projection.ModuleNodeRow(m.id, m.title, m.orderIndex)
+            from Module m
+            where m.course.id = :courseId
+            order by m.orderIndex nulls last, m.id
+            """)
+    List<ModuleNodeRow> findNodesByCourseId(@Param("courseId") Long courseId);
 }
@@ -1,8 +1,27 @@
 package org.example.repository;
 
+import org.example.dto.projection.ProfileRow;
 import org.example.entity.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProfileRepository extends JpaRepository<Profile, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface ProfileRepository extends JpaRepository<Profile, Long>, KeysetRepository<Profile> {
     boolean existsByUserId(Long userId);
+
+    @Query("""
+            select new org.example.dto.projection.ProfileRow(p.id, p.bio, p.avatarUrl, p.contactInfo, u.id, u.name)
+            from Profile p join p.user u
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<ProfileRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"user"})
+    Optional<Profile> findDetailedById(Long id);
 }
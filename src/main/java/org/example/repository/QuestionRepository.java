@@ -1,10 +1,41 @@
 package org.example.repository;
 
+import org.example.dto.projection.AnswerKeyRow;
 import org.example.entity.Question;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface QuestionRepository extends JpaRepository<Question, Long> {
+public interface QuestionRepository extends JpaRepository<Question, Long>, KeysetRepository<Question> {
     List<Question> findAllByQuiz_Id(Long quizId);
+
+    @Override
+    @EntityGraph(attributePaths = {"quiz"})
+    List<Question> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"quiz", "options"})
+    Optional<Question> findDetailedById(Long id);
+
+    @EntityGraph(attributePaths = {"options"})
+    List<Question> findWithOptionsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"options"})
+    List<Question> findWithOptionsByQuizIdIn(Collection<Long> quizIds);
+
+    @Query("select q.quiz.id from Question q where q.id = :id")
+    Optional<Long> findQuizIdById(@Param("id") Long id);
+
+    @Query("""
+            select new org.example.dto.projection.AnswerKeyRow(q.id, o.id, o.isCorrect)
+            from Question q left join q.options o
+            where q.quiz.id = :quizId
+            order by q.id, o.id
+            """)
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
 }
@@ -1,12 +1,54 @@
 package org.example.repository;
 
+import org.example.dto.projection.QuizNodeRow;
 import org.example.entity.Quiz;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-public interface QuizRepository extends JpaRepository<Quiz, Long> {
+public interface QuizRepository extends JpaRepository<Quiz, Long>, KeysetRepository<Quiz> {
     List<Quiz> findByModule_CourseId(Long courseId);
     List<Quiz> findByModuleId(Long moduleId);
 
+    @Override
+    @EntityGraph(attributePaths = {"module"})
+    List<Quiz> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"module", "questions"})
+    Optional<Quiz> findDetailedById(Long id);
+
+    @EntityGraph(attributePaths = {"questions"})
+    List<Quiz> findWithQuestionsByIdIn(Collection<Long> ids);
+
+    // Quiz version plus a fingerprint of its module and every question and option rendered with it; null if the quiz is absent
+    @Query(value = """
+            select q.version || '-' || md5(coalesce(m.version::text, '') || ';' || coalesce((
+                select string_agg(qs.id || ':' || qs.version || ':' || coalesce(o.id || ':' || o.version, ''),
+                                  ',' order by qs.id, o.id)
+                from questions qs
+                         left join answer_options o on o.question_id = qs.id
+                where qs.quiz_id = q.id), ''))
+            from quizzes q
+                     left join modules m on m.id = q.module_id
+            where q.id = :quizId
+            """, nativeQuery = true)
+    String findContentVersion(@Param("quizId") Long quizId);
+
+    @Query("select q.id from Quiz q where q.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new org.example.dto.projection.QuizNodeRow(q.id, q.module.id, q.title, q.timeLimit)
+            from Quiz q
+            where q.module.id in :moduleIds
+            order by q.id
+            """)
+    List<QuizNodeRow> findNodesByModuleIdIn(@Param("moduleIds") Collection<Long> moduleIds);
 }
@@ -1,13 +1,46 @@
 package org.example.repository;
 
+import org.example.dto.projection.QuizSubmissionRow;
 import org.example.entity.QuizSubmission;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
-public interface QuizSubmissionRepository extends JpaRepository<QuizSubmission, Long> {
+public interface QuizSubmissionRepository extends JpaRepository<QuizSubmission, Long>, KeysetRepository<QuizSubmission> {
+    @EntityGraph(attributePaths = {"quiz", "student"})
     List<QuizSubmission> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = {"quiz", "student"})
     List<QuizSubmission> findByQuizIdIn(List<Long> quizIds);
 
+    @Query("""
+            select new org.example.dto.projection.QuizSubmissionRow(qs.id, qs.score, qs.takenAt, q.id, q.title, u.id, u.name)
+            from QuizSubmission qs join qs.quiz q join qs.student u
+            where qs.id > :afterId
+            order by qs.id
+            """)
+    List<QuizSubmissionRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"quiz", "student"})
+    Optional<QuizSubmission> findDetailedById(Long id);
 
+    @Modifying
+    @Query("""
+            update QuizSubmission qs
+            set qs.score = :score,
+                qs.version = qs.version + 1,
+                qs.updatedAt = :updatedAt
+            where qs.id = :id and qs.version = :version
+            """)
+    int patchScoreIfVersion(@Param("id") Long id,
+                            @Param("version") Long version,
+                            @Param("score") Integer score,
+                            @Param("updatedAt") Instant updatedAt);
 }
@@ -0,0 +1,111 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.QuizSubmissionExportRow;
+import org.example.dto.projection.SubmissionExportRow;
+import org.example.dto.request.SubmissionExportFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Plain JDBC on purpose: rows go straight from a server-side cursor to the caller, with no persistence context
+// accumulating entities. PostgreSQL only honours the fetch size inside a transaction, so callers must open one.
+@Repository
+@RequiredArgsConstructor
+public class SubmissionExportRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void streamSubmissions(SubmissionExportFilter filter, Consumer<SubmissionExportRow> consumer) {
+        StringBuilder sql = new StringBuilder("""
+                select s.id, m.course_id, s.assignment_id, a.title as assignment_title, s.student_id, u.name as student_name,
+                       s.content, s.score, s.feedback, s.submitted_at
+                from submissions s
+                         join assignments a on a.id = s.assignment_id
+                         join lessons l on l.id = a.lesson_id
+                         join modules m on m.id = l.module_id
+                         join users u on u.id = s.student_id
+                where true
+                """);
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, filter, "s.student_id", "s.submitted_at");
+        sql.append("order by s.id");
+        stream(sql.toString(), args, rs -> consumer.accept(new SubmissionExportRow(
+                rs.getLong("id"),
+                rs.getLong("course_id"),
+                rs.getLong("assignment_id"),
+                rs.getString("assignment_title"),
+                rs.getLong("student_id"),
+                rs.getString("student_name"),
+                rs.getString("content"),
+                rs.getObject("score", Integer.class),
+                rs.getString("feedback"),
+                rs.getObject("submitted_at", LocalDateTime.class)
+        )));
+    }
+
+    public void streamQuizSubmissions(SubmissionExportFilter filter, Consumer<QuizSubmissionExportRow> consumer) {
+        StringBuilder sql = new StringBuilder("""
+                select qs.id, m.course_id, qs.quiz_id, q.title as quiz_title, qs.student_id, u.name as student_name,
+                       qs.score, qs.taken_at
+                from quiz_submissions qs
+                         join quizzes q on q.id = qs.quiz_id
+                         left join modules m on m.id = q.module_id
+                         join users u on u.id = qs.student_id
+                where true
+                """);
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, filter, "qs.student_id", "qs.taken_at");
+        sql.append("order by qs.id");
+        stream(sql.toString(), args, rs -> consumer.accept(new QuizSubmissionExportRow(
+                rs.getLong("id"),
+                rs.getObject("course_id", Long.class),
+                rs.getLong("quiz_id"),
+                rs.getString("quiz_title"),
+                rs.getLong("student_id"),
+                rs.getString("student_name"),
+                rs.getObject("score", Integer.class),
+                rs.getObject("taken_at", LocalDateTime.class)
+        )));
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, SubmissionExportFilter filter,
+                                     String studentColumn, String timeColumn) {
+        if (filter.getCourseId() != null) {
+            sql.append("and m.course_id = ?\n");
+            args.add(filter.getCourseId());
+        }
+        if (filter.getStudentId() != null) {
+            sql.append("and ").append(studentColumn).append(" = ?\n");
+            args.add(filter.getStudentId());
+        }
+        if (filter.getFrom() != null) {
+            sql.append("and ").append(timeColumn).append(" >= ?\n");
+            args.add(filter.getFrom().atStartOfDay());
+        }
+        if (filter.getTo() != null) {
+            sql.append("and ").append(timeColumn).append(" < ?\n");
+            args.add(filter.getTo().plusDays(1).atStartOfDay());
+        }
+    }
+
+    private void stream(String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, handler);
+    }
+}
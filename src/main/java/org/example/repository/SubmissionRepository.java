@@ -1,13 +1,50 @@
 package org.example.repository;
 
+import org.example.dto.projection.SubmissionRow;
 import org.example.entity.Submission;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
-public interface SubmissionRepository extends JpaRepository<Submission, Long> {
-    boolean existsByStudentIdAndAssignmentId(Long studentId, Long assignmentId);
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, KeysetRepository<Submission> {
+    @EntityGraph(attributePaths = {"assignment", "student"})
     List<Submission> findByAssignmentId(Long assignmentId);
+
+    @EntityGraph(attributePaths = {"assignment", "student"})
     List<Submission> findByStudentId(Long studentId);
 
+    @Query("""
+            select new org.example.dto.projection.SubmissionRow(s.id, s.content, s.submittedAt, s.score, s.feedback, a.id, a.title, u.id, u.name)
+            from Submission s join s.assignment a join s.student u
+            where s.id > :afterId
+            order by s.id
+            """)
+    List<SubmissionRow> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"assignment", "student"})
+    Optional<Submission> findDetailedById(Long id);
+
+    @Modifying
+    @Query("""
+            update Submission s
+            set s.content = coalesce(:content, s.content),
+                s.score = coalesce(:score, s.score),
+                s.feedback = coalesce(:feedback, s.feedback),
+                s.version = s.version + 1,
+                s.updatedAt = :updatedAt
+            where s.id = :id and s.version = :version
+            """)
+    int patchIfVersion(@Param("id") Long id,
+                       @Param("version") Long version,
+                       @Param("content") String content,
+                       @Param("score") Integer score,
+                       @Param("feedback") String feedback,
+                       @Param("updatedAt") Instant updatedAt);
 }
@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.SubmissionRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Single-statement writes that lean on the (student_id, assignment_id) unique constraint instead of check-then-act
+@Repository
+@RequiredArgsConstructor
+public class SubmissionWriteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the submission unless the student already submitted the assignment.
+     * Empty when the assignment or the student does not exist, or on a repeated submission.
+     */
+    public Optional<SubmissionRow> insertIfAbsent(Long assignmentId, Long studentId, String content, LocalDateTime submittedAt) {
+        return jdbcTemplate.query("""
+                with inserted as (
+                    insert into submissions (content, submitted_at, assignment_id, student_id)
+                    select ?, ?, a.id, u.id
+                    from assignments a, users u
+                    where a.id = ? and u.id = ?
+                    on conflict (student_id, assignment_id) do nothing
+                    returning id, content, submitted_at, score, feedback, assignment_id, student_id
+                )
+                select i.id, i.content, i.submitted_at, i.score, i.feedback,
+                       i.assignment_id, a.title as assignment_title, i.student_id, u.name as student_name
+                from inserted i
+                         join assignments a on a.id = i.assignment_id
+                         join users u on u.id = i.student_id
+                """, (rs, rowNum) -> new SubmissionRow(
+                rs.getLong("id"),
+                rs.getString("content"),
+                rs.getObject("submitted_at", LocalDateTime.class),
+                rs.getObject("score", Integer.class),
+                rs.getString("feedback"),
+                rs.getLong("assignment_id"),
+                rs.getString("assignment_title"),
+                rs.getLong("student_id"),
+                rs.getString("student_name")
+        ), content, submittedAt, assignmentId, studentId).stream().findFirst();
+    }
+}
@@ -1,7 +1,16 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.entity.Tag;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface TagRepository extends JpaRepository<Tag, Long> {
+import java.util.List;
+
+public interface TagRepository extends JpaRepository<Tag, Long>, KeysetRepository<Tag> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Tag> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,148 @@
+package org.example.service;
+
+import org.example.dto.projection.AnswerKeyRow;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public final class AnswerKey {
+
+    public static final AnswerKey EMPTY = compile(List.of());
+
+    // Question i owns optionIds[optionStart[i]..optionStart[i + 1]) and the correct-option
+    // bitset correctWords[wordStart[i]..wordStart[i + 1]), bit k standing for its k-th option
+    private final long[] questionIds;
+    private final int[] optionStart;
+    private final long[] optionIds;
+    private final int[] wordStart;
+    private final long[] correctWords;
+    private final int[] correctCounts;
+    private final int maxWords;
+
+    private AnswerKey(long[] questionIds, int[] optionStart, long[] optionIds,
+                      int[] wordStart, long[] correctWords, int[] correctCounts, int maxWords) {
+        this.questionIds = questionIds;
+        this.optionStart = optionStart;
+        this.optionIds = optionIds;
+        this.wordStart = wordStart;
+        this.correctWords = correctWords;
+        this.correctCounts = correctCounts;
+        this.maxWords = maxWords;
+    }
+
+    public static AnswerKey compile(List<AnswerKeyRow> rows) {
+        // Rows arrive ordered by question id, then option id; a question without options has a null option id
+        int size = rows.size();
+        long[] questionIds = new long[size];
+        int[] optionStart = new int[size + 1];
+        long[] optionIds = new long[size];
+        int[] wordStart = new int[size + 1];
+        long[] correctWords = new long[size];
+        int[] correctCounts = new int[size];
+        int questions = 0;
+        int options = 0;
+        int words = 0;
+        int maxWords = 0;
+        int i = 0;
+        while (i < size) {
+            long questionId = rows.get(i).questionId();
+            questionIds[questions] = questionId;
+            optionStart[questions] = options;
+            wordStart[questions] = words;
+            int bit = 0;
+            for (; i < size && rows.get(i).questionId() == questionId; i++) {
+                AnswerKeyRow row = rows.get(i);
+                if (row.optionId() == null) {
+                    continue;
+                }
+                optionIds[options++] = row.optionId();
+                if (Boolean.TRUE.equals(row.correct())) {
+                    correctWords[words + (bit >>> 6)] |= 1L << bit;
+                    correctCounts[questions]++;
+                }
+                bit++;
+            }
+            int questionWords = (bit + 63) >>> 6;
+            words += questionWords;
+            maxWords = Math.max(maxWords, questionWords);
+            questions++;
+        }
+        optionStart[questions] = options;
+        wordStart[questions] = words;
+        return new AnswerKey(
+                Arrays.copyOf(questionIds, questions),
+                Arrays.copyOf(optionStart, questions + 1),
+                Arrays.copyOf(optionIds, options),
+                Arrays.copyOf(wordStart, questions + 1),
+                Arrays.copyOf(correctWords, words),
+                Arrays.copyOf(correctCounts, questions),
+                maxWords
+        );
+    }
+
+    public int questionCount() {
+        return questionIds.length;
+    }
+
+    public boolean isEmpty() {
+        return questionIds.length == 0;
+    }
+
+    public double grade(Map<Long, ? extends Collection<Long>> answers, GradingMode mode) {
+        long[] selected = new long[maxWords];
+        double score = 0;
+        for (Map.Entry<Long, ? extends Collection<Long>> answer : answers.entrySet()) {
+            if (answer.getKey() == null || answer.getValue() == null || answer.getValue().isEmpty()) {
+                continue;
+            }
+            int question = Arrays.binarySearch(questionIds, answer.getKey());
+            if (question < 0) {
+                continue;
+            }
+            int from = optionStart[question];
+            int to = optionStart[question + 1];
+            Arrays.fill(selected, 0, wordStart[question + 1] - wordStart[question], 0L);
+            int foreign = 0;
+            for (Long optionId : answer.getValue()) {
+                int index = optionId == null ? -1 : Arrays.binarySearch(optionIds, from, to, optionId);
+                if (index < 0) {
+                    foreign++;
+                } else {
+                    int bit = index - from;
+                    selected[bit >>> 6] |= 1L << bit;
+                }
+            }
+            score += scoreQuestion(question, selected, foreign, mode);
+        }
+        return score;
+    }
+
+    // Scores are stored as whole points, so partial credit is floored and never rounds up to full marks;
+    // the epsilon absorbs floating error in sums such as three thirds
+    public int points(Map<Long, ? extends Collection<Long>> answers, GradingMode mode) {
+        return (int) Math.floor(grade(answers, mode) + 1e-9);
+    }
+
+    private double scoreQuestion(int question, long[] selected, int foreign, GradingMode mode) {
+        int correctCount = correctCounts[question];
+        if (correctCount == 0) {
+            return 0;
+        }
+        int hits = 0;
+        int misses = foreign;
+        boolean exact = foreign == 0;
+        int base = wordStart[question];
+        for (int word = 0; base + word < wordStart[question + 1]; word++) {
+            long correct = correctWords[base + word];
+            hits += Long.bitCount(selected[word] & correct);
+            misses += Long.bitCount(selected[word] & ~correct);
+            exact &= selected[word] == correct;
+        }
+        if (mode == GradingMode.PARTIAL_CREDIT) {
+            return Math.max(0, hits - misses) / (double) correctCount;
+        }
+        return exact ? 1 : 0;
+    }
+}
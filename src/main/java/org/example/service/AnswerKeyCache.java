@@ -0,0 +1,83 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.repository.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class AnswerKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerKeyCache.class);
+
+    private final QuestionRepository questionRepository;
+    private final Map<Long, Slot> keys = new ConcurrentHashMap<>();
+
+    public AnswerKey get(Long quizId) {
+        Slot slot = keys.get(quizId);
+        if (slot != null && slot.key() != null) {
+            return slot.key();
+        }
+        // Compiled outside the map so the query never runs under a bin lock
+        long stamp = slot == null ? 0 : slot.stamp();
+        AnswerKey key = compile(quizId);
+        if (key == null) {
+            return AnswerKey.EMPTY;
+        }
+        // Cached only if this quiz was not evicted since the stamp was read; compute makes the check and
+        // the insert one step, and a key that lost the race is served without being cached
+        Slot stored = keys.compute(quizId, (id, current) -> {
+            long currentStamp = current == null ? 0 : current.stamp();
+            if (currentStamp != stamp || (current != null && current.key() != null)) {
+                return current;
+            }
+            return new Slot(stamp, key);
+        });
+        return stored != null && stored.stamp() == stamp && stored.key() != null ? stored.key() : key;
+    }
+
+    public void evict(Long quizId) {
+        if (quizId == null) {
+            return;
+        }
+        remove(quizId);
+        // A reader may recompile the old key before the caller's transaction commits, so drop it again afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(quizId);
+                }
+            });
+        }
+    }
+
+    // Leaves an empty slot with the next stamp rather than removing the entry, so a compile that started
+    // before the eviction can still tell it happened
+    private void remove(Long quizId) {
+        Slot previous = keys.get(quizId);
+        keys.compute(quizId, (id, current) -> new Slot(current == null ? 1 : current.stamp() + 1, null));
+        if (previous != null && previous.key() != null) {
+            log.debug("Evicted answer key for Quiz ID={}", quizId);
+        }
+    }
+
+    private AnswerKey compile(Long quizId) {
+        AnswerKey key = AnswerKey.compile(questionRepository.findAnswerKeyRows(quizId));
+        if (key.isEmpty()) {
+            return null;
+        }
+        log.debug("Compiled answer key for Quiz ID={}: {} question(s)", quizId, key.questionCount());
+        return key;
+    }
+
+    private record Slot(long stamp, AnswerKey key) {
+    }
+}
@@ -2,6 +2,7 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.AnswerOptionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.AnswerOption;
 import org.example.entity.Question;
 import org.example.exception.EntityNotFoundException;
@@ -10,6 +11,7 @@ import org.example.repository.QuestionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,6 +22,7 @@ public class AnswerOptionService {
 
     private final AnswerOptionRepository answerOptionRepository;
     private final QuestionRepository questionRepository;
+    private final AnswerKeyCache answerKeyCache;
 
     public AnswerOption fetchAnswerOptionById(Long id) {
         AnswerOption option = answerOptionRepository.findById(id)
@@ -40,18 +43,22 @@ public class AnswerOptionService {
 
         answerOption.setQuestion(question);
         AnswerOption saved = answerOptionRepository.save(answerOption);
+        answerKeyCache.evict(question.getQuiz().getId());
 
         log.info("Created AnswerOption: ID={}, Text='{}', QuestionID={}",
                 saved.getId(), saved.getText(), questionId);
         return saved;
     }
 
-    public AnswerOption updateExistingAnswerOption(Long id, AnswerOptionRequest request) {
+    @Transactional
+    public AnswerOption updateExistingAnswerOption(Long id, AnswerOptionRequest request, Long expectedVersion) {
         AnswerOption answerOption = answerOptionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("AnswerOption not found: ID=%d", id)
                 ));
+        EntityVersions.require("AnswerOption", id, answerOption.getVersion(), expectedVersion);
 
+        Long previousQuestionId = answerOption.getQuestion().getId();
         boolean updated = false;
 
         if (request.getText() != null && !request.getText().equals(answerOption.getText())) {
@@ -79,6 +86,10 @@ public class AnswerOptionService {
         AnswerOption saved = answerOptionRepository.save(answerOption);
 
         if (updated) {
+            evictAnswerKey(previousQuestionId);
+            if (!previousQuestionId.equals(saved.getQuestion().getId())) {
+                evictAnswerKey(saved.getQuestion().getId());
+            }
             log.info("Successfully updated AnswerOption: ID={}", id);
         } else {
             log.debug("No changes detected for AnswerOption: ID={}", id);
@@ -87,10 +98,12 @@ public class AnswerOptionService {
         return saved;
     }
 
-    public List<AnswerOption> fetchAllAnswerOptions() {
-        List<AnswerOption> options = answerOptionRepository.findAll();
-        log.debug("Fetched {} AnswerOptions", options.size());
-        return options;
+    public CursorPage<AnswerOption> fetchAnswerOptionPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<AnswerOption> rows = answerOptionRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<AnswerOption> page = PageCursors.page(rows, size, AnswerOption::getId);
+        log.debug("Fetched {} AnswerOptions after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
     public void removeAnswerOption(Long id) {
@@ -100,7 +113,12 @@ public class AnswerOptionService {
                 ));
 
         answerOptionRepository.delete(answerOption);
+        evictAnswerKey(answerOption.getQuestion().getId());
         log.info("Deleted AnswerOption: ID={}, Text='{}', QuestionID={}",
                 id, answerOption.getText(), answerOption.getQuestion().getId());
     }
+
+    private void evictAnswerKey(Long questionId) {
+        questionRepository.findQuizIdById(questionId).ifPresent(answerKeyCache::evict);
+    }
 }
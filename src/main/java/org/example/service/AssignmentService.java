@@ -1,7 +1,9 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.AssignmentRow;
 import org.example.dto.request.AssignmentRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Assignment;
 import org.example.entity.Lesson;
 import org.example.exception.EntityNotFoundException;
@@ -10,6 +12,7 @@ import org.example.repository.LessonRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,14 +25,18 @@ public class AssignmentService {
     private final AssignmentRepository assignmentRepository;
     private final LessonRepository lessonRepository;
 
-    public List<Assignment> getAll() {
-        List<Assignment> assignments = assignmentRepository.findAll();
-        log.debug("Fetched {} assignment(s)", assignments.size());
-        return assignments;
+    @Transactional(readOnly = true)
+    public CursorPage<AssignmentRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<AssignmentRow> rows = assignmentRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<AssignmentRow> page = PageCursors.page(rows, size, AssignmentRow::id);
+        log.debug("Fetched {} assignment(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Assignment getAssignmentById(Long id) {
-        Assignment assignment = assignmentRepository.findById(id)
+        Assignment assignment = assignmentRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Assignment not found: ID=%d", id)
                 ));
@@ -53,11 +60,13 @@ public class AssignmentService {
         return saved;
     }
 
-    public Assignment updateAssignment(Long id, AssignmentRequest request) {
+    @Transactional
+    public Assignment updateAssignment(Long id, AssignmentRequest request, Long expectedVersion) {
         Assignment assignment = assignmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Assignment not found: ID=%d", id)
                 ));
+        EntityVersions.require("Assignment", id, assignment.getVersion(), expectedVersion);
 
         boolean updated = false;
 
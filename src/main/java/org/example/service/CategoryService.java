@@ -2,6 +2,7 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.CategoryRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Category;
 import org.example.exception.EntityNotFoundException;
 import org.example.exception.ExistEntityException;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,12 +23,16 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
-    public List<Category> getAll() {
-        List<Category> categories = categoryRepository.findAll();
-        log.debug("Fetched {} category(ies)", categories.size());
-        return categories;
+    @Transactional(readOnly = true)
+    public CursorPage<Category> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<Category> rows = categoryRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<Category> page = PageCursors.page(rows, size, Category::getId);
+        log.debug("Fetched {} category(ies) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Category getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -49,11 +55,13 @@ public class CategoryService {
         }
     }
 
-    public Category updateCategory(Long id, CategoryRequest request) {
+    @Transactional
+    public Category updateCategory(Long id, CategoryRequest request, Long expectedVersion) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Category not found: ID=%d", id)
                 ));
+        EntityVersions.require("Category", id, category.getVersion(), expectedVersion);
 
         if (request.getName() != null && !request.getName().equals(category.getName())) {
             category.setName(request.getName());
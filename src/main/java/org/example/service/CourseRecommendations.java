@@ -0,0 +1,278 @@
+package org.example.service;
+
+import org.example.dto.projection.UserCourseRow;
+import org.example.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sparse course x course co-enrollment matrix: cell (a, b) is the number of students enrolled in both courses.
+ * Enrollment changes are applied as deltas once committed; a periodic full rebuild corrects any drift.
+ */
+@Component
+public class CourseRecommendations implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseRecommendations.class);
+
+    private static final Comparator<Recommendation> BY_SHARED_STUDENTS =
+            Comparator.comparingInt(Recommendation::sharedStudents).reversed().thenComparing(Recommendation::courseId);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration rebuildInterval;
+
+    private volatile Map<Long, Map<Long, Integer>> matrix = new ConcurrentHashMap<>();
+    // Deltas committed while a rebuild runs, replayed onto the rebuilt matrix unless its snapshot already saw them;
+    // null when no rebuild runs
+    private List<Delta> pending;
+    private ScheduledExecutorService rebuilder;
+    private volatile boolean running;
+
+    public CourseRecommendations(EnrollmentRepository enrollmentRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${course.recommendations.rebuild-interval:PT1H}") Duration rebuildInterval) {
+        this.enrollmentRepository = enrollmentRepository;
+        // The snapshot id and the enrollments must be read from one snapshot
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setReadOnly(true);
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public List<Recommendation> top(Long courseId, int limit) {
+        Map<Long, Integer> row = matrix.get(courseId);
+        if (row == null) {
+            return List.of();
+        }
+        PriorityQueue<Recommendation> best = new PriorityQueue<>(limit + 1, BY_SHARED_STUDENTS.reversed());
+        row.forEach((otherId, shared) -> {
+            if (shared > 0) {
+                best.add(new Recommendation(otherId, shared));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+        List<Recommendation> result = new ArrayList<>(best);
+        result.sort(BY_SHARED_STUDENTS);
+        return result;
+    }
+
+    /**
+     * Records students joining a course; must be called inside the enrolling transaction.
+     */
+    public void enrolled(Long courseId, Collection<Long> userIds) {
+        record(courseId, userIds, 1);
+    }
+
+    /**
+     * Records students leaving a course; must be called inside the unenrolling transaction.
+     */
+    public void unenrolled(Long courseId, Collection<Long> userIds) {
+        record(courseId, userIds, -1);
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            if (pending != null) {
+                log.debug("Course recommendation rebuild already running, skipping");
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            Loaded loaded = transactionTemplate.execute(status -> {
+                TxSnapshot snapshot = TxSnapshot.parse(enrollmentRepository.findCurrentSnapshot());
+                return new Loaded(snapshot, coursesByStudent(enrollmentRepository.findAllUserCourses()));
+            });
+            List<long[]> students = loaded.students();
+            Map<Long, Map<Long, Integer>> built = students.parallelStream()
+                    .collect(HashMap::new, CourseRecommendations::addStudent, CourseRecommendations::merge);
+
+            Map<Long, Map<Long, Integer>> rebuilt = new ConcurrentHashMap<>(built.size());
+            built.forEach((courseId, row) -> rebuilt.put(courseId, new ConcurrentHashMap<>(row)));
+            synchronized (this) {
+                for (Delta delta : pending) {
+                    if (!loaded.snapshot().sees(delta.transactionId())) {
+                        delta.applyTo(rebuilt);
+                    }
+                }
+                matrix = rebuilt;
+            }
+            log.info("Rebuilt course recommendations from {} student(s): {} course(s) in {} ms",
+                    students.size(), rebuilt.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-recommendations-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        rebuilder.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Course recommendation rebuild failed", e);
+        }
+    }
+
+    private void record(Long courseId, Collection<Long> userIds, int sign) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> shared = new HashMap<>();
+        for (UserCourseRow row : enrollmentRepository.findOtherCourses(userIds, courseId)) {
+            shared.merge(row.courseId(), sign, Integer::sum);
+        }
+        if (shared.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(new Delta(courseId, shared, null));
+            return;
+        }
+        // Lets a concurrent rebuild tell whether its snapshot already counted this change
+        Delta delta = new Delta(courseId, shared, Long.parseLong(enrollmentRepository.findCurrentTransactionId()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+        });
+    }
+
+    private synchronized void apply(Delta delta) {
+        delta.applyTo(matrix);
+        if (pending != null) {
+            pending.add(delta);
+        }
+    }
+
+    // Rows arrive ordered by student, so each run of equal user ids is one student's course list
+    private static List<long[]> coursesByStudent(List<UserCourseRow> rows) {
+        List<long[]> students = new ArrayList<>();
+        long[] courses = new long[16];
+        int size = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            courses[size++] = rows.get(i).courseId();
+            if (i + 1 == rows.size() || !rows.get(i + 1).userId().equals(rows.get(i).userId())) {
+                if (size > 1) {
+                    students.add(Arrays.copyOf(courses, size));
+                }
+                size = 0;
+            } else if (size == courses.length) {
+                courses = Arrays.copyOf(courses, size * 2);
+            }
+        }
+        return students;
+    }
+
+    private static void addStudent(Map<Long, Map<Long, Integer>> matrix, long[] courses) {
+        for (long a : courses) {
+            Map<Long, Integer> row = matrix.computeIfAbsent(a, courseId -> new HashMap<>());
+            for (long b : courses) {
+                if (a != b) {
+                    row.merge(b, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static void merge(Map<Long, Map<Long, Integer>> into, Map<Long, Map<Long, Integer>> from) {
+        from.forEach((courseId, row) -> {
+            Map<Long, Integer> target = into.putIfAbsent(courseId, row);
+            if (target != null) {
+                row.forEach((otherId, shared) -> target.merge(otherId, shared, Integer::sum));
+            }
+        });
+    }
+
+    public record Recommendation(Long courseId, int sharedStudents) {
+    }
+
+    private record Loaded(TxSnapshot snapshot, List<long[]> students) {
+    }
+
+    // PostgreSQL snapshot "xmin:xmax:xip1,xip2,...": ids below xmin are committed, ids from xmax on had not started,
+    // and the listed ids were still running when the snapshot was taken
+    record TxSnapshot(long xmin, long xmax, Set<Long> running) {
+        static TxSnapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            Set<Long> running = new HashSet<>();
+            if (parts.length > 2 && !parts[2].isEmpty()) {
+                for (String xid : parts[2].split(",")) {
+                    running.add(Long.parseLong(xid));
+                }
+            }
+            return new TxSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), running);
+        }
+
+        // A change from an unknown transaction is always replayed
+        boolean sees(Long transactionId) {
+            if (transactionId == null) {
+                return false;
+            }
+            return transactionId < xmin || (transactionId < xmax && !running.contains(transactionId));
+        }
+    }
+
+    private record Delta(Long courseId, Map<Long, Integer> shared, Long transactionId) {
+        void applyTo(Map<Long, Map<Long, Integer>> matrix) {
+            shared.forEach((otherId, change) -> {
+                bump(matrix, courseId, otherId, change);
+                bump(matrix, otherId, courseId, change);
+            });
+        }
+
+        private static void bump(Map<Long, Map<Long, Integer>> matrix, Long a, Long b, int change) {
+            matrix.computeIfAbsent(a, courseId -> new ConcurrentHashMap<>())
+                    .merge(b, change, (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+    }
+}
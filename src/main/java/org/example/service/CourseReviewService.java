@@ -1,17 +1,23 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.CourseReviewRow;
 import org.example.dto.request.CourseReviewRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Course;
+import org.example.entity.CourseRatingSummary;
 import org.example.entity.CourseReview;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.InvalidRequestException;
+import org.example.repository.CourseRatingSummaryRepository;
 import org.example.repository.CourseRepository;
 import org.example.repository.CourseReviewRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -24,15 +30,20 @@ public class CourseReviewService {
     private final CourseReviewRepository courseReviewRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
-
-    public List<CourseReview> getAll() {
-        List<CourseReview> reviews = courseReviewRepository.findAll();
-        log.debug("Fetched {} course review(s)", reviews.size());
-        return reviews;
+    private final CourseRatingSummaryRepository courseRatingSummaryRepository;
+
+    @Transactional(readOnly = true)
+    public CursorPage<CourseReviewRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<CourseReviewRow> rows = courseReviewRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<CourseReviewRow> page = PageCursors.page(rows, size, CourseReviewRow::id);
+        log.debug("Fetched {} course review(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public CourseReview getCourseReviewById(Long id) {
-        CourseReview review = courseReviewRepository.findById(id)
+        CourseReview review = courseReviewRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("CourseReview not found: ID=%d", id)
                 ));
@@ -40,6 +51,21 @@ public class CourseReviewService {
         return review;
     }
 
+    @Transactional(readOnly = true)
+    public CourseRatingSummary getRatingSummary(Long courseId) {
+        CourseRatingSummary summary = courseRatingSummaryRepository.findById(courseId).orElse(null);
+        if (summary == null) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new EntityNotFoundException(String.format("Course not found: ID=%d", courseId));
+            }
+            summary = new CourseRatingSummary();
+            summary.setCourseId(courseId);
+        }
+        log.debug("Fetched rating summary for Course ID={}: {} review(s)", courseId, summary.getReviewCount());
+        return summary;
+    }
+
+    @Transactional
     public CourseReview createCourseReview(CourseReview courseReview) {
         Long courseId = courseReview.getCourse().getId();
         Long studentId = courseReview.getStudent().getId();
@@ -47,11 +73,13 @@ public class CourseReviewService {
         return createCourseReviewByCourseAndStudent(courseReview, courseId, studentId);
     }
 
+    @Transactional
     public CourseReview createCourseReview(Long courseId, Long studentId, CourseReview courseReviewDetails) {
         return createCourseReviewByCourseAndStudent(courseReviewDetails, courseId, studentId);
     }
 
     private CourseReview createCourseReviewByCourseAndStudent(CourseReview courseReview, Long courseId, Long studentId) {
+        requireValidRating(courseReview.getRating());
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Course not found: ID=%d", courseId)
@@ -66,21 +94,27 @@ public class CourseReviewService {
         courseReview.setStudent(student);
 
         CourseReview saved = courseReviewRepository.save(courseReview);
+        courseRatingSummaryRepository.applyReview(courseId, saved.getRating(), 1);
 
         log.info("Created CourseReview: ID={}, Rating={}, CourseID={}, StudentID={}",
                 saved.getId(), saved.getRating(), courseId, studentId);
         return saved;
     }
 
-    public CourseReview updateCourseReview(Long id, CourseReviewRequest request) {
+    @Transactional
+    public CourseReview updateCourseReview(Long id, CourseReviewRequest request, Long expectedVersion) {
         CourseReview review = courseReviewRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("CourseReview not found: ID=%d", id)
                 ));
+        EntityVersions.require("CourseReview", id, review.getVersion(), expectedVersion);
+        Long oldCourseId = review.getCourse().getId();
+        Integer oldRating = review.getRating();
 
         boolean updated = false;
 
         if (request.getRating() != null && !request.getRating().equals(review.getRating())) {
+            requireValidRating(request.getRating());
             review.setRating(request.getRating());
             log.debug("Updated rating for CourseReview ID={}: {}", id, request.getRating());
             updated = true;
@@ -118,10 +152,12 @@ public class CourseReviewService {
         }
 
         CourseReview saved = courseReviewRepository.save(review);
+        moveRating(oldCourseId, oldRating, saved.getCourse().getId(), saved.getRating());
         log.info("Successfully updated CourseReview: ID={}", id);
         return saved;
     }
 
+    @Transactional
     public void deleteCourseReview(Long id) {
         CourseReview review = courseReviewRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -129,7 +165,28 @@ public class CourseReviewService {
                 ));
 
         courseReviewRepository.delete(review);
+        courseRatingSummaryRepository.applyReview(review.getCourse().getId(), review.getRating(), -1);
         log.info("Deleted CourseReview: ID={}, Rating={}, CourseID={}, StudentID={}",
                 id, review.getRating(), review.getCourse().getId(), review.getStudent().getId());
     }
+
+    private void moveRating(Long oldCourseId, Integer oldRating, Long newCourseId, Integer newRating) {
+        if (oldCourseId.equals(newCourseId) && oldRating.equals(newRating)) {
+            return;
+        }
+        // Touch the two summary rows in course id order so concurrent moves between the same courses cannot deadlock
+        if (oldCourseId <= newCourseId) {
+            courseRatingSummaryRepository.applyReview(oldCourseId, oldRating, -1);
+            courseRatingSummaryRepository.applyReview(newCourseId, newRating, 1);
+        } else {
+            courseRatingSummaryRepository.applyReview(newCourseId, newRating, 1);
+            courseRatingSummaryRepository.applyReview(oldCourseId, oldRating, -1);
+        }
+    }
+
+    private static void requireValidRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new InvalidRequestException(String.format("Rating must be between 1 and 5: %s", rating));
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.CourseSearchHit;
+import org.example.dto.projection.CourseSearchResult;
+import org.example.dto.request.CourseSearchRequest;
+import org.example.exception.InvalidRequestException;
+import org.example.repository.CourseSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CourseSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchService.class);
+
+    private final CourseSearchRepository courseSearchRepository;
+
+    @Transactional(readOnly = true)
+    public CourseSearchResult search(CourseSearchRequest request, String after, Integer limit) {
+        if (request.getStartFrom() != null && request.getStartTo() != null
+                && request.getStartFrom().isAfter(request.getStartTo())) {
+            throw new InvalidRequestException(String.format(
+                    "Start date range begins %s after it ends %s", request.getStartFrom(), request.getStartTo()));
+        }
+        int size = PageCursors.limit(limit);
+        Float afterRank = null;
+        Long afterId = null;
+        if (after != null && !after.isBlank()) {
+            String[] parts = decode(after);
+            afterRank = Float.parseFloat(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        CourseSearchResult result = courseSearchRepository.search(request, afterRank, afterId, size + 1);
+        List<CourseSearchHit> hits = result.hits();
+        String nextCursor = null;
+        if (hits.size() > size) {
+            hits = hits.subList(0, size);
+            CourseSearchHit last = hits.get(size - 1);
+            nextCursor = encode(last.rank(), last.course().id());
+        }
+        log.debug("Course search '{}' returned {} hit(s), {} category and {} tag facet(s)",
+                request.getQ(), hits.size(), result.categories().size(), result.tags().size());
+        return new CourseSearchResult(hits, nextCursor, result.categories(), result.tags());
+    }
+
+    // Ranked results page on (rank desc, id), so the cursor carries both; Float.toString round-trips exactly
+    static String encode(float rank, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rank + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static String[] decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 2 || Long.parseLong(parts[1]) < 0 || !Float.isFinite(Float.parseFloat(parts[0]))) {
+                throw new InvalidRequestException("Invalid page cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page cursor: " + cursor);
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.CourseRow;
+import org.example.dto.projection.FacetRow;
+import org.example.dto.projection.RecommendedCourse;
+import org.example.dto.projection.TaggedCourses;
 import org.example.dto.request.CourseRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Category;
 import org.example.entity.Course;
 import org.example.entity.Enrollment;
+import org.example.entity.Tag;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.InvalidRequestException;
 import org.example.exception.InvalidRoleException;
 import org.example.repository.CategoryRepository;
 import org.example.repository.CourseRepository;
 import org.example.repository.EnrollmentRepository;
+import org.example.repository.TagRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,15 +45,74 @@ public class CourseService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final TagRepository tagRepository;
+    private final CourseTagIndex courseTagIndex;
+    private final CourseRecommendations courseRecommendations;
 
-    public List<Course> getAll() {
-        List<Course> courses = courseRepository.findAll();
-        log.debug("Fetched {} course(s)", courses.size());
-        return courses;
+    @Transactional(readOnly = true)
+    public CursorPage<CourseRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<CourseRow> rows = courseRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<CourseRow> page = PageCursors.page(rows, size, CourseRow::id);
+        log.debug("Fetched {} course(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public String getPageVersion(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        return courseRepository.findPageVersion(PageCursors.decode(after), size + 1);
+    }
+
+    @Transactional(readOnly = true)
+    public TaggedCourses getPageByTags(Collection<Long> withTags, Collection<Long> withoutTags, String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        long afterId = PageCursors.decode(after);
+        BitSet matched = courseTagIndex.match(withTags, withoutTags);
+
+        List<Long> ids = new ArrayList<>(size + 1);
+        int from = afterId >= Integer.MAX_VALUE ? -1 : matched.nextSetBit((int) afterId + 1);
+        for (int bit = from; bit >= 0 && ids.size() <= size; bit = matched.nextSetBit(bit + 1)) {
+            ids.add((long) bit);
+        }
+        List<CourseRow> rows = ids.isEmpty() ? List.of() : courseRepository.findRowsByIdIn(ids);
+        CursorPage<CourseRow> page = PageCursors.page(rows, size, CourseRow::id);
+
+        Map<Long, Integer> counts = courseTagIndex.countByTag(matched);
+        List<FacetRow> tags = tagRepository.findAllById(counts.keySet()).stream()
+                .map(tag -> new FacetRow(tag.getId(), tag.getName(), counts.get(tag.getId())))
+                .sorted(Comparator.comparingLong(FacetRow::count).reversed().thenComparing(FacetRow::id))
+                .toList();
+        log.debug("Fetched {} of {} course(s) tagged with {} and without {}",
+                page.getItems().size(), matched.cardinality(), withTags, withoutTags);
+        return new TaggedCourses(page, matched.cardinality(), tags);
     }
 
+    @Transactional(readOnly = true)
+    public List<RecommendedCourse> getRecommendations(Long courseId, Integer limit) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException(String.format("Course not found: ID=%d", courseId));
+        }
+        List<CourseRecommendations.Recommendation> top = courseRecommendations.top(courseId, PageCursors.limit(limit));
+        if (top.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseRow> rows = courseRepository.findRowsByIdIn(
+                        top.stream().map(CourseRecommendations.Recommendation::courseId).toList())
+                .stream()
+                .collect(Collectors.toMap(CourseRow::id, Function.identity()));
+        // Courses deleted since the matrix was built drop out here
+        List<RecommendedCourse> recommended = top.stream()
+                .filter(recommendation -> rows.containsKey(recommendation.courseId()))
+                .map(recommendation -> new RecommendedCourse(rows.get(recommendation.courseId()), recommendation.sharedStudents()))
+                .toList();
+        log.debug("Recommended {} course(s) for Course ID={}", recommended.size(), courseId);
+        return recommended;
+    }
+
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
-        Course course = courseRepository.findById(id)
+        Course course = courseRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Course not found: ID=%d", id)
                 ));
@@ -45,6 +120,7 @@ public class CourseService {
         return course;
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByUserId(Long userId) {
         List<Enrollment> enrollments = enrollmentRepository.findByUserId(userId);
         List<Course> courses = enrollments.stream()
@@ -55,6 +131,7 @@ public class CourseService {
         return courses;
     }
 
+    @Transactional(readOnly = true)
     public List<User> getStudentsByCourseId(Long courseId) {
         List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
         List<User> students = enrollments.stream()
@@ -88,14 +165,17 @@ public class CourseService {
         course.setCategory(category);
 
         Course saved = courseRepository.save(course);
+        courseTagIndex.courseSaved(saved.getId(), saved.getTags().stream().map(Tag::getId).toList());
 
         log.info("Created Course: ID={}, Title='{}', TeacherID={}, CategoryID={}",
                 saved.getId(), saved.getTitle(), teacherId, categoryId);
         return saved;
     }
 
-    public Course updateCourse(Long id, CourseRequest request) {
+    @Transactional
+    public Course updateCourse(Long id, CourseRequest request, Long expectedVersion) {
         Course course = getCourseById(id);
+        EntityVersions.require("Course", id, course.getVersion(), expectedVersion);
         boolean updated = false;
 
         if (request.getTitle() != null && !request.getTitle().equals(course.getTitle())) {
@@ -159,9 +239,23 @@ public class CourseService {
         return saved;
     }
 
+    @Transactional
+    public long patchCourse(Long id, CourseRequest request, Long expectedVersion) {
+        if (request.getTeacherId() != null || request.getCategoryId() != null) {
+            throw new InvalidRequestException("Teacher and category can only be changed with PUT");
+        }
+        long version = EntityVersions.conditionalUpdate("Course", id, expectedVersion,
+                () -> courseRepository.patchIfVersion(id, expectedVersion, request.getTitle(), request.getDescription(),
+                        request.getStartDate(), request.getDuration(), Instant.now()),
+                () -> courseRepository.existsById(id));
+        log.info("Patched Course: ID={}, Version={}", id, version);
+        return version;
+    }
+
     public void deleteCourse(Long id) {
         Course course = getCourseById(id);
         courseRepository.delete(course);
+        courseTagIndex.courseDeleted(id);
 
         log.info("Deleted Course: ID={}, Title='{}', TeacherID={}, CategoryID={}",
                 id, course.getTitle(), course.getTeacher().getId(), course.getCategory().getId());
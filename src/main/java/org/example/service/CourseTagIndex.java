@@ -0,0 +1,211 @@
+package org.example.service;
+
+import org.example.dto.projection.CourseTagRow;
+import org.example.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory tag index: for every tag, a bitset of the ids of the courses carrying it.
+ * Readers work on an immutable snapshot; writers copy the bitsets they touch and publish a new one.
+ */
+@Component
+public class CourseTagIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseTagIndex.class);
+
+    private static final int NOT_INDEXED = -1;
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot = new Snapshot(new BitSet(), Map.of());
+    private volatile boolean running;
+
+    public CourseTagIndex(CourseRepository courseRepository, TransactionTemplate transactionTemplate) {
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public synchronized void rebuild() {
+        Snapshot rebuilt = transactionTemplate.execute(status -> {
+            BitSet courses = new BitSet();
+            for (Long courseId : courseRepository.findAllIds()) {
+                int bit = bit(courseId);
+                if (bit != NOT_INDEXED) {
+                    courses.set(bit);
+                }
+            }
+            Map<Long, BitSet> tags = new HashMap<>();
+            List<CourseTagRow> pairs = courseRepository.findTagPairs();
+            for (CourseTagRow pair : pairs) {
+                int bit = bit(pair.courseId());
+                if (bit != NOT_INDEXED) {
+                    tags.computeIfAbsent(pair.tagId(), tagId -> new BitSet()).set(bit);
+                }
+            }
+            return new Snapshot(courses, tags);
+        });
+        snapshot = rebuilt;
+        log.info("Built course tag index: {} course(s), {} tag(s)", rebuilt.courses().cardinality(), rebuilt.tags().size());
+    }
+
+    /**
+     * Ids of the courses carrying every tag of {@code withTags} and none of {@code withoutTags}.
+     * The returned bitset is a private copy the caller may modify.
+     */
+    public BitSet match(Collection<Long> withTags, Collection<Long> withoutTags) {
+        Snapshot current = snapshot;
+        BitSet result = (BitSet) current.courses().clone();
+        for (Long tagId : withTags) {
+            BitSet tagged = current.tags().get(tagId);
+            if (tagged == null) {
+                return new BitSet();
+            }
+            result.and(tagged);
+        }
+        for (Long tagId : withoutTags) {
+            BitSet tagged = current.tags().get(tagId);
+            if (tagged != null) {
+                result.andNot(tagged);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of the given courses carrying each tag, skipping tags none of them carry.
+     */
+    public Map<Long, Integer> countByTag(BitSet courses) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        BitSet scratch = new BitSet();
+        for (Map.Entry<Long, BitSet> tag : snapshot.tags().entrySet()) {
+            if (!tag.getValue().intersects(courses)) {
+                continue;
+            }
+            scratch.clear();
+            scratch.or(tag.getValue());
+            scratch.and(courses);
+            counts.put(tag.getKey(), scratch.cardinality());
+        }
+        return counts;
+    }
+
+    public void courseSaved(Long courseId, Collection<Long> tagIds) {
+        afterCommit(() -> putCourse(courseId, tagIds));
+    }
+
+    public void courseDeleted(Long courseId) {
+        afterCommit(() -> removeCourse(courseId));
+    }
+
+    public void tagDeleted(Long tagId) {
+        afterCommit(() -> removeTag(tagId));
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private synchronized void putCourse(Long courseId, Collection<Long> tagIds) {
+        int bit = bit(courseId);
+        if (bit == NOT_INDEXED) {
+            return;
+        }
+        Snapshot current = snapshot;
+        BitSet courses = (BitSet) current.courses().clone();
+        courses.set(bit);
+        Map<Long, BitSet> tags = new HashMap<>(current.tags());
+        tags.replaceAll((tagId, tagged) -> tagged.get(bit) && !tagIds.contains(tagId) ? without(tagged, bit) : tagged);
+        tags.values().removeIf(BitSet::isEmpty);
+        for (Long tagId : tagIds) {
+            BitSet tagged = tags.get(tagId);
+            BitSet copy = tagged == null ? new BitSet() : (BitSet) tagged.clone();
+            copy.set(bit);
+            tags.put(tagId, copy);
+        }
+        snapshot = new Snapshot(courses, tags);
+        log.debug("Indexed tags of Course ID={}: {}", courseId, tagIds);
+    }
+
+    private synchronized void removeCourse(Long courseId) {
+        int bit = bit(courseId);
+        Snapshot current = snapshot;
+        if (bit == NOT_INDEXED || !current.courses().get(bit)) {
+            return;
+        }
+        Map<Long, BitSet> tags = new HashMap<>(current.tags());
+        tags.replaceAll((tagId, tagged) -> tagged.get(bit) ? without(tagged, bit) : tagged);
+        tags.values().removeIf(BitSet::isEmpty);
+        snapshot = new Snapshot(without(current.courses(), bit), tags);
+        log.debug("Removed Course ID={} from tag index", courseId);
+    }
+
+    private synchronized void removeTag(Long tagId) {
+        Snapshot current = snapshot;
+        if (!current.tags().containsKey(tagId)) {
+            return;
+        }
+        Map<Long, BitSet> tags = new HashMap<>(current.tags());
+        tags.remove(tagId);
+        snapshot = new Snapshot(current.courses(), tags);
+        log.debug("Removed Tag ID={} from tag index", tagId);
+    }
+
+    // Index changes only become visible once the change that caused them is committed
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static BitSet without(BitSet bits, int bit) {
+        BitSet copy = (BitSet) bits.clone();
+        copy.clear(bit);
+        return copy;
+    }
+
+    // Course ids are used as bit positions directly, so a bitset is as long as the largest id;
+    // ids past the int range cannot be indexed and are left out of tag filtering
+    private static int bit(Long courseId) {
+        if (courseId < 0 || courseId > Integer.MAX_VALUE) {
+            log.warn("Course ID={} is outside the tag index range, skipping", courseId);
+            return NOT_INDEXED;
+        }
+        return courseId.intValue();
+    }
+
+    private record Snapshot(BitSet courses, Map<Long, BitSet> tags) {
+    }
+}
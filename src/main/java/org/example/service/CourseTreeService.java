@@ -0,0 +1,57 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.AssignmentNodeRow;
+import org.example.dto.projection.CourseTree;
+import org.example.dto.projection.LessonNodeRow;
+import org.example.dto.projection.ModuleNodeRow;
+import org.example.dto.projection.QuizNodeRow;
+import org.example.entity.Course;
+import org.example.exception.EntityNotFoundException;
+import org.example.repository.AssignmentRepository;
+import org.example.repository.CourseRepository;
+import org.example.repository.LessonRepository;
+import org.example.repository.ModuleRepository;
+import org.example.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CourseTreeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseTreeService.class);
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final LessonRepository lessonRepository;
+    private final QuizRepository quizRepository;
+    private final AssignmentRepository assignmentRepository;
+
+    // One query per level of the hierarchy, each keyed by the ids loaded at the level above,
+    // so the number of round trips does not grow with the number of modules or lessons
+    @Transactional(readOnly = true)
+    public CourseTree getCourseTree(Long courseId) {
+        Course course = courseRepository.findDetailedById(courseId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Course not found: ID=%d", courseId)
+                ));
+
+        List<ModuleNodeRow> modules = moduleRepository.findNodesByCourseId(courseId);
+        List<Long> moduleIds = modules.stream().map(ModuleNodeRow::id).toList();
+        List<LessonNodeRow> lessons = moduleIds.isEmpty() ? List.of() : lessonRepository.findNodesByModuleIdIn(moduleIds);
+        List<QuizNodeRow> quizzes = moduleIds.isEmpty() ? List.of() : quizRepository.findNodesByModuleIdIn(moduleIds);
+        List<Long> lessonIds = lessons.stream().map(LessonNodeRow::id).toList();
+        List<AssignmentNodeRow> assignments = lessonIds.isEmpty()
+                ? List.of()
+                : assignmentRepository.findNodesByLessonIdIn(lessonIds);
+
+        log.debug("Fetched tree for Course ID={}: {} module(s), {} lesson(s), {} quiz(zes), {} assignment(s)",
+                courseId, modules.size(), lessons.size(), quizzes.size(), assignments.size());
+        return new CourseTree(course, modules, lessons, quizzes, assignments);
+    }
+}
@@ -1,12 +1,17 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
-import org.example.entity.Course;
+import org.example.dto.nested.BulkEnrollmentResult;
+import org.example.dto.projection.EnrollmentCandidateRow;
+import org.example.dto.projection.EnrollmentRow;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Enrollment;
-import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.ExistEntityException;
+import org.example.exception.InvalidRequestException;
 import org.example.repository.CourseRepository;
 import org.example.repository.EnrollmentRepository;
+import org.example.repository.EnrollmentWriteRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,26 +19,39 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
 
     private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
+    private static final int MAX_BULK_SIZE = 10_000;
 
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
-
-    public List<Enrollment> getAll() {
-        List<Enrollment> enrollments = enrollmentRepository.findAll();
-        log.debug("Fetched {} enrollment(s)", enrollments.size());
-        return enrollments;
+    private final EnrollmentWriteRepository enrollmentWriteRepository;
+    private final CourseRecommendations courseRecommendations;
+
+    @Transactional(readOnly = true)
+    public CursorPage<EnrollmentRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<EnrollmentRow> rows = enrollmentRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<EnrollmentRow> page = PageCursors.page(rows, size, EnrollmentRow::id);
+        log.debug("Fetched {} enrollment(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Enrollment getEnrollmentById(Long id) {
-        Enrollment enrollment = enrollmentRepository.findById(id)
+        Enrollment enrollment = enrollmentRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Enrollment not found: ID=%d", id)
                 ));
@@ -53,43 +71,78 @@ public class EnrollmentService {
     }
 
     @Transactional
-    public Enrollment enrollUserToCourse(Long userId, Long courseId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("User not found: ID=%d", userId)
-                ));
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Course not found: ID=%d", courseId)
-                ));
-
-        Enrollment enrollment = new Enrollment();
-        enrollment.setUser(user);
-        enrollment.setCourse(course);
-        enrollment.setEnrollDate(LocalDateTime.now());
-        enrollment.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
-
-        Enrollment saved = enrollmentRepository.save(enrollment);
+    public EnrollmentRow enrollUserToCourse(Long userId, Long courseId) {
+        EnrollmentRow saved = enrollmentWriteRepository.insertIfAbsent(userId, courseId, LocalDateTime.now())
+                .orElseThrow(() -> rejectEnrollment(userId, courseId));
+        courseRecommendations.enrolled(courseId, List.of(userId));
 
         log.info("User enrolled: UserID={}, CourseID={}, EnrollmentID={}",
-                userId, courseId, saved.getId());
+                userId, courseId, saved.id());
         return saved;
     }
 
     @Transactional
     public void unenrollUserFromCourse(Long userId, Long courseId) {
-        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
+        Long enrollmentId = enrollmentWriteRepository.delete(userId, courseId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Enrollment not found for User ID=%d and Course ID=%d", userId, courseId)
                 ));
-
-        enrollmentRepository.delete(enrollment);
+        courseRecommendations.unenrolled(courseId, List.of(userId));
 
         log.info("User unenrolled: UserID={}, CourseID={}, EnrollmentID={}",
-                userId, courseId, enrollment.getId());
+                userId, courseId, enrollmentId);
     }
-}
 
+    @Transactional
+    public List<BulkEnrollmentResult> bulkEnroll(Long courseId, List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidRequestException("User ids cannot be empty");
+        }
+        if (userIds.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException(
+                    String.format("Too many user ids: %d, at most %d per request", userIds.size(), MAX_BULK_SIZE));
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException(String.format("Course not found: ID=%d", courseId));
+        }
+
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        // A concurrent enrollment of the same user hits the unique constraint and is simply not returned
+        Map<Long, Long> createdIds = enrollmentWriteRepository.insertAllIfAbsent(courseId, distinctIds, LocalDateTime.now());
+        courseRecommendations.enrolled(courseId, createdIds.keySet());
+
+        // Read after the insert, so it also sees enrollments committed concurrently
+        Map<Long, Long> enrolledIds = new HashMap<>();
+        for (EnrollmentCandidateRow row : enrollmentRepository.findCandidates(courseId, distinctIds)) {
+            enrolledIds.put(row.userId(), row.enrollmentId());
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<BulkEnrollmentResult> results = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            if (!seen.add(userId)) {
+                results.add(new BulkEnrollmentResult(userId, BulkEnrollmentResult.Status.DUPLICATE_IN_REQUEST, null));
+            } else if (!enrolledIds.containsKey(userId)) {
+                results.add(new BulkEnrollmentResult(userId, BulkEnrollmentResult.Status.USER_NOT_FOUND, null));
+            } else if (createdIds.containsKey(userId)) {
+                results.add(new BulkEnrollmentResult(userId, BulkEnrollmentResult.Status.ENROLLED, createdIds.get(userId)));
+            } else {
+                results.add(new BulkEnrollmentResult(userId, BulkEnrollmentResult.Status.ALREADY_ENROLLED, enrolledIds.get(userId)));
+            }
+        }
 
+        log.info("Bulk enrollment: CourseID={}, requested={}, enrolled={}", courseId, userIds.size(), createdIds.size());
+        return results;
+    }
 
+    // Only reached when nothing was inserted, to tell a missing row from an existing enrollment
+    private RuntimeException rejectEnrollment(Long userId, Long courseId) {
+        if (!userRepository.existsById(userId)) {
+            return new EntityNotFoundException(String.format("User not found: ID=%d", userId));
+        }
+        if (!courseRepository.existsById(courseId)) {
+            return new EntityNotFoundException(String.format("Course not found: ID=%d", courseId));
+        }
+        return new ExistEntityException("User is already enrolled in this course");
+    }
+}
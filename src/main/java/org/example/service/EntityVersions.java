@@ -0,0 +1,44 @@
+package org.example.service;
+
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.PreconditionFailedException;
+import org.example.exception.PreconditionRequiredException;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Optimistic-locking guards for update methods.
+ * A null expected version on a load-and-save update means the caller sent no precondition;
+ * the @Version check at flush still applies.
+ */
+public final class EntityVersions {
+
+    private EntityVersions() {
+    }
+
+    public static void require(String entity, Long id, Long actual, Long expected) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new PreconditionFailedException(String.format(
+                    "%s was modified: ID=%d, expected version %d, current version %d", entity, id, expected, actual));
+        }
+    }
+
+    /**
+     * Runs a single-statement "update ... where id = ? and version = ?" and returns the new version.
+     * Existence is only queried when no row matched, to tell a missing entity from a stale version.
+     */
+    public static long conditionalUpdate(String entity, Long id, Long expected, IntSupplier update, BooleanSupplier exists) {
+        if (expected == null) {
+            throw new PreconditionRequiredException(String.format("%s patch requires an If-Match version: ID=%d", entity, id));
+        }
+        if (update.getAsInt() == 1) {
+            return expected + 1;
+        }
+        if (!exists.getAsBoolean()) {
+            throw new EntityNotFoundException(String.format("%s not found: ID=%d", entity, id));
+        }
+        throw new PreconditionFailedException(String.format(
+                "%s was modified: ID=%d, expected version %d", entity, id, expected));
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.GradebookColumn;
+import org.example.exception.EntityNotFoundException;
+import org.example.repository.CourseRepository;
+import org.example.repository.GradebookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GradebookService {
+
+    private static final Logger log = LoggerFactory.getLogger(GradebookService.class);
+
+    private final GradebookRepository gradebookRepository;
+    private final CourseRepository courseRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public List<GradebookColumn> getColumns(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException(String.format("Course not found: ID=%d", courseId));
+        }
+        List<GradebookColumn> columns = gradebookRepository.findColumns(courseId);
+        log.debug("Fetched {} gradebook column(s) for Course ID={}", columns.size(), courseId);
+        return columns;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeJson(Long courseId, List<GradebookColumn> columns, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeNumberField("courseId", courseId);
+        json.writeFieldName("columns");
+        json.writeObject(columns);
+        json.writeArrayFieldStart("students");
+        int[] count = {0};
+        try {
+            gradebookRepository.streamRows(courseId, columns, row -> {
+                try {
+                    json.writeObject(row);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+        log.debug("Streamed JSON gradebook for Course ID={}: {} student(s)", courseId, count[0]);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Long courseId, List<GradebookColumn> columns, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        List<Object> header = new ArrayList<>(columns.size() + 2);
+        header.add("student_id");
+        header.add("student_name");
+        columns.forEach(column -> header.add(column.title()));
+        csv.writeRow(header);
+        int[] count = {0};
+        try {
+            gradebookRepository.streamRows(courseId, columns, row -> {
+                List<Object> values = new ArrayList<>(row.scores().size() + 2);
+                values.add(row.studentId());
+                values.add(row.studentName());
+                values.addAll(row.scores());
+                try {
+                    csv.writeRow(values);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+        log.debug("Streamed CSV gradebook for Course ID={}: {} student(s)", courseId, count[0]);
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.service;
+
+public enum GradingMode {
+    ALL_OR_NOTHING,
+    PARTIAL_CREDIT
+}
@@ -0,0 +1,133 @@
+package org.example.service;
+
+import org.example.dto.projection.IdempotencyRecord;
+import org.example.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class IdempotencyService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration cleanupInterval;
+    private final int cleanupBatchSize;
+
+    private ScheduledExecutorService cleaner;
+    private volatile boolean running;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.lease:PT1M}") Duration lease,
+                              @Value("${idempotency.cleanup-interval:PT10M}") Duration cleanupInterval,
+                              @Value("${idempotency.cleanup-batch-size:1000}") int cleanupBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.cleanupInterval = cleanupInterval;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    public Claim begin(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            UUID token = UUID.randomUUID();
+            if (idempotencyKeyRepository.claim(key, token, fingerprint, Instant.now().plus(ttl), lease)) {
+                return new Claim(Status.STARTED, null, token);
+            }
+            Optional<IdempotencyRecord> existing = idempotencyKeyRepository.find(key);
+            if (existing.isEmpty()) {
+                // Released or cleaned up between the two statements, claim again
+                continue;
+            }
+            IdempotencyRecord stored = existing.get();
+            if (!stored.fingerprint().equals(fingerprint)) {
+                log.warn("Idempotency key '{}' reused for a different request", key);
+                return new Claim(Status.MISMATCH, stored, null);
+            }
+            if (!stored.isCompleted()) {
+                return new Claim(Status.IN_PROGRESS, stored, null);
+            }
+            log.debug("Replaying stored response {} for idempotency key '{}'", stored.status(), key);
+            return new Claim(Status.REPLAY, stored, null);
+        }
+        return new Claim(Status.IN_PROGRESS, null, null);
+    }
+
+    public void complete(String key, UUID token, int status, String contentType, String location, byte[] body) {
+        if (!idempotencyKeyRepository.complete(key, token, status, contentType, location, body)) {
+            log.warn("Claim on idempotency key '{}' was taken over before its response {} was stored", key, status);
+        }
+    }
+
+    public void release(String key, UUID token) {
+        idempotencyKeyRepository.release(key, token);
+    }
+
+    public int purgeExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        if (total > 0) {
+            log.info("Purged {} expired idempotency key(s)", total);
+        }
+        return total;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-key-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::purgeSafely,
+                cleanupInterval.toMillis(), cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        cleaner.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            log.error("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    public enum Status {
+        STARTED, REPLAY, IN_PROGRESS, MISMATCH
+    }
+
+    /**
+     * The token is set only for a {@link Status#STARTED} claim and must be passed back on completion or release.
+     */
+    public record Claim(Status status, IdempotencyRecord stored, UUID token) {
+    }
+}
@@ -0,0 +1,338 @@
+package org.example.service;
+
+import org.example.dto.projection.BestAttemptRow;
+import org.example.dto.projection.LeaderboardEntry;
+import org.example.exception.EntityNotFoundException;
+import org.example.repository.LeaderboardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Quiz and course leaderboards held in memory.
+ * A quiz board ranks each student's best attempt: higher score first, the earlier attempt among equal scores.
+ * A course board ranks the sum of a student's best scores over the course's quizzes.
+ * Reads never touch the database; writes are applied once the submission that caused them is committed.
+ */
+@Service
+public class LeaderboardService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final Comparator<Standing> RANKING = Comparator.comparingInt(Standing::score).reversed()
+            .thenComparing(Standing::takenAt)
+            .thenComparing(Standing::studentId);
+
+    // Quizzes outside any module have no course board
+    private static final Long NO_COURSE = 0L;
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final Map<Long, Board> quizBoards = new ConcurrentHashMap<>();
+    private final Map<Long, Board> courseBoards = new ConcurrentHashMap<>();
+    private final Map<Long, Long> courseOfQuiz = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository) {
+        this.leaderboardRepository = leaderboardRepository;
+    }
+
+    public List<LeaderboardEntry> getQuizTop(Long quizId, Integer limit) {
+        Board board = quizBoards.get(quizId);
+        return board == null ? List.of() : board.top(PageCursors.limit(limit));
+    }
+
+    public LeaderboardEntry getQuizRank(Long quizId, Long studentId) {
+        Board board = quizBoards.get(quizId);
+        return Optional.ofNullable(board).flatMap(b -> b.rankOf(studentId))
+                .orElseThrow(() -> new EntityNotFoundException(String.format(
+                        "No attempt on the leaderboard: QuizID=%d, StudentID=%d", quizId, studentId)));
+    }
+
+    public List<LeaderboardEntry> getCourseTop(Long courseId, Integer limit) {
+        Board board = courseBoards.get(courseId);
+        return board == null ? List.of() : board.top(PageCursors.limit(limit));
+    }
+
+    public LeaderboardEntry getCourseRank(Long courseId, Long studentId) {
+        Board board = courseBoards.get(courseId);
+        return Optional.ofNullable(board).flatMap(b -> b.rankOf(studentId))
+                .orElseThrow(() -> new EntityNotFoundException(String.format(
+                        "No attempt on the leaderboard: CourseID=%d, StudentID=%d", courseId, studentId)));
+    }
+
+    /**
+     * A new attempt was saved; it can only improve the student's standing.
+     */
+    public void recorded(Long quizId, Long studentId, int score, LocalDateTime takenAt) {
+        LocalDateTime at = takenAt != null ? takenAt : LocalDateTime.now();
+        afterCommit(() -> offer(quizId, studentId, new Standing(studentId, score, at, 1)));
+    }
+
+    /**
+     * An existing attempt was edited or deleted; the student's best attempt is read back from the database.
+     */
+    public void changed(Long quizId, Long studentId) {
+        afterCommit(() -> refresh(quizId, studentId));
+    }
+
+    public void quizDeleted(Long quizId) {
+        afterCommit(() -> removeQuiz(quizId));
+    }
+
+    public void studentDeleted(Long studentId) {
+        afterCommit(() -> removeStudent(studentId));
+    }
+
+    /**
+     * The quiz was moved to another module, possibly of another course.
+     */
+    public void quizMoved(Long quizId) {
+        afterCommit(() -> moveQuizzes(List.of(quizId)));
+    }
+
+    /**
+     * The module was moved to another course, taking its quizzes along.
+     */
+    public void moduleMoved(Long moduleId) {
+        afterCommit(() -> moveQuizzes(leaderboardRepository.findQuizIdsByModuleId(moduleId)));
+    }
+
+    public synchronized void rebuild() {
+        List<BestAttemptRow> rows = leaderboardRepository.findBestAttempts();
+        quizBoards.clear();
+        courseBoards.clear();
+        courseOfQuiz.clear();
+        for (BestAttemptRow row : rows) {
+            courseOfQuiz.put(row.quizId(), row.courseId() != null ? row.courseId() : NO_COURSE);
+            Standing best = new Standing(row.studentId(), row.score(), row.takenAt(), 1);
+            quizBoards.computeIfAbsent(row.quizId(), id -> new Board()).put(best);
+            adjustCourse(row.quizId(), row.studentId(), null, best);
+        }
+        log.info("Built leaderboards from {} best attempt(s): {} quiz(zes), {} course(s)",
+                rows.size(), quizBoards.size(), courseBoards.size());
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void offer(Long quizId, Long studentId, Standing candidate) {
+        resolveCourse(quizId);
+        synchronized (this) {
+            Board board = quizBoards.computeIfAbsent(quizId, id -> new Board());
+            Standing current = board.get(studentId);
+            if (current != null && RANKING.compare(candidate, current) >= 0) {
+                return;
+            }
+            board.put(candidate);
+            adjustCourse(quizId, studentId, current, candidate);
+        }
+    }
+
+    private void refresh(Long quizId, Long studentId) {
+        Standing best = leaderboardRepository.findBestAttempt(quizId, studentId)
+                .map(row -> new Standing(studentId, row.score(), row.takenAt(), 1))
+                .orElse(null);
+        resolveCourse(quizId);
+        synchronized (this) {
+            Board board = quizBoards.computeIfAbsent(quizId, id -> new Board());
+            Standing current = board.get(studentId);
+            if (best == null) {
+                board.remove(studentId);
+            } else {
+                board.put(best);
+            }
+            adjustCourse(quizId, studentId, current, best);
+        }
+    }
+
+    private synchronized void removeQuiz(Long quizId) {
+        Board board = quizBoards.remove(quizId);
+        if (board != null) {
+            for (Standing standing : board.standings()) {
+                adjustCourse(quizId, standing.studentId(), standing, null);
+            }
+        }
+        courseOfQuiz.remove(quizId);
+    }
+
+    private synchronized void removeStudent(Long studentId) {
+        quizBoards.values().forEach(board -> board.remove(studentId));
+        courseBoards.values().forEach(board -> board.remove(studentId));
+    }
+
+    private void moveQuizzes(List<Long> quizIds) {
+        Map<Long, Long> moved = new HashMap<>();
+        for (Long quizId : quizIds) {
+            moved.put(quizId, leaderboardRepository.findCourseIdByQuizId(quizId).orElse(NO_COURSE));
+        }
+        synchronized (this) {
+            Set<Long> affected = new HashSet<>();
+            moved.forEach((quizId, courseId) -> {
+                Long previous = courseOfQuiz.put(quizId, courseId);
+                if (!courseId.equals(previous)) {
+                    affected.add(courseId);
+                    if (previous != null) {
+                        affected.add(previous);
+                    }
+                }
+            });
+            affected.remove(NO_COURSE);
+            affected.forEach(this::rebuildCourse);
+            if (!affected.isEmpty()) {
+                log.info("Rebuilt leaderboards of course(s) {} after moving quiz(zes) {}", affected, quizIds);
+            }
+        }
+    }
+
+    // Recomputes a course board from the best attempts held on its quizzes' boards
+    private void rebuildCourse(Long courseId) {
+        Board board = new Board();
+        courseOfQuiz.forEach((quizId, quizCourseId) -> {
+            Board quizBoard = courseId.equals(quizCourseId) ? quizBoards.get(quizId) : null;
+            if (quizBoard != null) {
+                for (Standing standing : quizBoard.standings()) {
+                    adjust(board, standing.studentId(), null, standing);
+                }
+            }
+        });
+        if (board.isEmpty()) {
+            courseBoards.remove(courseId);
+        } else {
+            courseBoards.put(courseId, board);
+        }
+    }
+
+    // Looked up before taking the service lock, so no writer waits on the query
+    private void resolveCourse(Long quizId) {
+        if (!courseOfQuiz.containsKey(quizId)) {
+            courseOfQuiz.putIfAbsent(quizId, leaderboardRepository.findCourseIdByQuizId(quizId).orElse(NO_COURSE));
+        }
+    }
+
+    // Moves the student's course total by the change of one quiz's best attempt
+    private void adjustCourse(Long quizId, Long studentId, Standing before, Standing after) {
+        if (before == null && after == null) {
+            return;
+        }
+        Long courseId = courseOfQuiz.getOrDefault(quizId, NO_COURSE);
+        if (NO_COURSE.equals(courseId)) {
+            return;
+        }
+        adjust(courseBoards.computeIfAbsent(courseId, id -> new Board()), studentId, before, after);
+    }
+
+    private static void adjust(Board board, Long studentId, Standing before, Standing after) {
+        Standing total = board.get(studentId);
+        int quizzes = (total == null ? 0 : total.quizzes()) - (before == null ? 0 : 1) + (after == null ? 0 : 1);
+        if (quizzes <= 0) {
+            board.remove(studentId);
+            return;
+        }
+        int score = (total == null ? 0 : total.score()) - (before == null ? 0 : before.score()) + (after == null ? 0 : after.score());
+        // A total counts as reached when its latest contributing attempt was taken
+        LocalDateTime reachedAt = total == null || (after != null && after.takenAt().isAfter(total.takenAt()))
+                ? after.takenAt()
+                : total.takenAt();
+        board.put(new Standing(studentId, score, reachedAt, quizzes));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record Standing(Long studentId, int score, LocalDateTime takenAt, int quizzes) {
+    }
+
+    // Writers are serialised by the service; readers walk the skip list without locking
+    private static final class Board {
+        private final Map<Long, Standing> byStudent = new ConcurrentHashMap<>();
+        private final NavigableSet<Standing> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+        Standing get(Long studentId) {
+            return byStudent.get(studentId);
+        }
+
+        Iterable<Standing> standings() {
+            return byStudent.values();
+        }
+
+        boolean isEmpty() {
+            return byStudent.isEmpty();
+        }
+
+        void put(Standing standing) {
+            Standing previous = byStudent.put(standing.studentId(), standing);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(standing);
+        }
+
+        void remove(Long studentId) {
+            Standing previous = byStudent.remove(studentId);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        }
+
+        List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> entries = new ArrayList<>(limit);
+            for (Standing standing : ranking) {
+                if (entries.size() == limit) {
+                    break;
+                }
+                entries.add(new LeaderboardEntry(entries.size() + 1, standing.studentId(), standing.score(), standing.takenAt()));
+            }
+            return entries;
+        }
+
+        // Counts the standings ahead by walking the head of the skip list
+        Optional<LeaderboardEntry> rankOf(Long studentId) {
+            Standing standing = byStudent.get(studentId);
+            if (standing == null) {
+                return Optional.empty();
+            }
+            int rank = ranking.headSet(standing, false).size() + 1;
+            return Optional.of(new LeaderboardEntry(rank, studentId, standing.score(), standing.takenAt()));
+        }
+    }
+}
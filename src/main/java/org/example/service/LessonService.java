@@ -1,7 +1,9 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.LessonRow;
 import org.example.dto.request.LessonRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Lesson;
 import org.example.entity.Module;
 import org.example.exception.EntityNotFoundException;
@@ -10,6 +12,7 @@ import org.example.repository.ModuleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -22,14 +25,18 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final ModuleRepository moduleRepository;
 
-    public List<Lesson> getAllLessons() {
-        List<Lesson> lessons = lessonRepository.findAll();
-        log.debug("Fetched {} lesson(s)", lessons.size());
-        return lessons;
+    @Transactional(readOnly = true)
+    public CursorPage<LessonRow> getLessonPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<LessonRow> rows = lessonRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<LessonRow> page = PageCursors.page(rows, size, LessonRow::id);
+        log.debug("Fetched {} lesson(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Lesson getLessonById(Long id) {
-        Lesson lesson = lessonRepository.findById(id)
+        Lesson lesson = lessonRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Lesson not found: ID=%d", id)
                 ));
@@ -54,11 +61,13 @@ public class LessonService {
         return saved;
     }
 
-    public Lesson updateLesson(Long id, LessonRequest request) {
+    @Transactional
+    public Lesson updateLesson(Long id, LessonRequest request, Long expectedVersion) {
         Lesson lesson = lessonRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Lesson not found: ID=%d", id)
                 ));
+        EntityVersions.require("Lesson", id, lesson.getVersion(), expectedVersion);
 
         boolean updated = false;
 
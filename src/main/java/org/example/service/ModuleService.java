@@ -1,7 +1,9 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.ModuleRow;
 import org.example.dto.request.ModuleRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Course;
 import org.example.entity.Module;
 import org.example.exception.EntityNotFoundException;
@@ -10,6 +12,7 @@ import org.example.repository.ModuleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,15 +24,20 @@ public class ModuleService {
 
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
-
-    public List<Module> getAllModules() {
-        List<Module> modules = moduleRepository.findAll();
-        log.debug("Fetched {} module(s)", modules.size());
-        return modules;
+    private final LeaderboardService leaderboardService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ModuleRow> getModulePage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<ModuleRow> rows = moduleRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<ModuleRow> page = PageCursors.page(rows, size, ModuleRow::id);
+        log.debug("Fetched {} module(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Module getModuleById(Long id) {
-        Module module = moduleRepository.findById(id)
+        Module module = moduleRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Module not found: ID=%d", id)
                 ));
@@ -54,11 +62,13 @@ public class ModuleService {
         return saved;
     }
 
-    public Module updateModule(Long id, ModuleRequest request) {
+    @Transactional
+    public Module updateModule(Long id, ModuleRequest request, Long expectedVersion) {
         Module module = moduleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Module not found: ID=%d", id)
                 ));
+        EntityVersions.require("Module", id, module.getVersion(), expectedVersion);
 
         boolean updated = false;
 
@@ -80,6 +90,7 @@ public class ModuleService {
                             String.format("Course not found: ID=%d", request.getCourseId())
                     ));
             module.setCourse(course);
+            leaderboardService.moduleMoved(id);
             log.debug("Updated course for Module ID={}: CourseID={}", id, request.getCourseId());
             updated = true;
         }
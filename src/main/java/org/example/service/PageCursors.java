@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.example.dto.response.CursorPage;
+import org.example.exception.InvalidRequestException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over the primary key.
+ * The cursor handed to clients is an opaque token wrapping the last id of the previous page.
+ */
+public final class PageCursors {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private PageCursors() {
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            long afterId = Long.parseLong(raw);
+            if (afterId < 0) {
+                throw new InvalidRequestException("Invalid page cursor: " + cursor);
+            }
+            return afterId;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new InvalidRequestException("Page limit must be positive");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Asks for one row more than the page size so the next cursor is only issued when another page exists.
+     */
+    public static Limit probe(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    public static <T> CursorPage<T> page(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(idOf.apply(items.get(limit - 1))));
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.ProfileRow;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Profile;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
@@ -11,6 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -41,8 +46,18 @@ public class ProfileService {
         return exists;
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ProfileRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<ProfileRow> rows = profileRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<ProfileRow> page = PageCursors.page(rows, size, ProfileRow::id);
+        log.debug("Fetched {} profile(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
+    }
+
+    @Transactional(readOnly = true)
     public Profile getProfileById(Long id) {
-        Profile profile = profileRepository.findById(id)
+        Profile profile = profileRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Profile not found: ID=%d", id)
                 ));
@@ -83,8 +98,10 @@ public class ProfileService {
         }
     }
 
-    public Profile updateProfile(Long id, Profile profileDetails) {
+    @Transactional
+    public Profile updateProfile(Long id, Profile profileDetails, Long expectedVersion) {
         Profile profile = getProfileById(id);
+        EntityVersions.require("Profile", id, profile.getVersion(), expectedVersion);
         boolean updated = false;
 
         if (profileDetails.getBio() != null && !profileDetails.getBio().equals(profile.getBio())) {
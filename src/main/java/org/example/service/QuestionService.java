@@ -2,6 +2,7 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.QuestionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Question;
 import org.example.entity.Quiz;
 import org.example.exception.EntityNotFoundException;
@@ -10,6 +11,7 @@ import org.example.repository.QuizRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,15 +23,26 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
     private final QuizRepository quizRepository;
+    private final AnswerKeyCache answerKeyCache;
 
-    public List<Question> getAll() {
-        List<Question> questions = questionRepository.findAll();
-        log.debug("Fetched {} question(s)", questions.size());
-        return questions;
+    @Transactional(readOnly = true)
+    public CursorPage<Question> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<Question> rows = questionRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<Question> page = PageCursors.page(rows, size, Question::getId);
+
+        List<Long> questionIds = page.getItems().stream().map(Question::getId).toList();
+        if (!questionIds.isEmpty()) {
+            questionRepository.findWithOptionsByIdIn(questionIds);
+        }
+
+        log.debug("Fetched {} question(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Question getQuestionById(Long id) {
-        Question question = questionRepository.findById(id)
+        Question question = questionRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Question not found: ID=%d", id)
                 ));
@@ -48,18 +61,22 @@ public class QuestionService {
 
         question.setQuiz(quiz);
         Question saved = questionRepository.save(question);
+        answerKeyCache.evict(quizId);
 
         log.info("Created Question: ID={}, Text='{}', QuizID={}",
                 saved.getId(), saved.getText(), quizId);
         return saved;
     }
 
-    public Question updateQuestion(Long id, QuestionRequest request) {
+    @Transactional
+    public Question updateQuestion(Long id, QuestionRequest request, Long expectedVersion) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Question not found: ID=%d", id)
                 ));
+        EntityVersions.require("Question", id, question.getVersion(), expectedVersion);
 
+        Long previousQuizId = question.getQuiz().getId();
         boolean updated = false;
 
         if (request.getText() != null && !request.getText().equals(question.getText())) {
@@ -96,6 +113,8 @@ public class QuestionService {
         }
 
         Question saved = questionRepository.save(question);
+        answerKeyCache.evict(previousQuizId);
+        answerKeyCache.evict(saved.getQuiz().getId());
         log.info("Successfully updated Question: ID={}, Text='{}'", id, saved.getText());
         return saved;
     }
@@ -107,6 +126,7 @@ public class QuestionService {
                 ));
 
         questionRepository.delete(question);
+        answerKeyCache.evict(question.getQuiz().getId());
 
         log.info("Deleted Question: ID={}, Text='{}', QuizID={}",
                 id, question.getText(), question.getQuiz().getId());
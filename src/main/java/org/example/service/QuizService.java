@@ -2,17 +2,20 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.QuizRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.*;
 import org.example.entity.Module;
 import org.example.exception.EntityNotFoundException;
 import org.example.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,27 +25,52 @@ public class QuizService {
 
     private final QuizRepository quizRepository;
     private final ModuleRepository moduleRepository;
-    private final UserRepository userRepository;
     private final QuestionRepository questionRepository;
-    private final AnswerOptionRepository answerOptionRepository;
-    private final QuizSubmissionRepository quizSubmissionRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizSubmissionQueue quizSubmissionQueue;
+    private final LeaderboardService leaderboardService;
+
+    @Value("${quiz.grading.mode:ALL_OR_NOTHING}")
+    private GradingMode gradingMode = GradingMode.ALL_OR_NOTHING;
+
+    @Transactional(readOnly = true)
+    public CursorPage<Quiz> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<Quiz> rows = quizRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<Quiz> page = PageCursors.page(rows, size, Quiz::getId);
+
+        List<Long> quizIds = page.getItems().stream().map(Quiz::getId).toList();
+        if (!quizIds.isEmpty()) {
+            // Questions and their options are two bags, so they are fetched one level per query
+            quizRepository.findWithQuestionsByIdIn(quizIds);
+            questionRepository.findWithOptionsByQuizIdIn(quizIds);
+        }
 
-    public List<Quiz> getAll() {
-        List<Quiz> quizzes = quizRepository.findAll();
-        log.debug("Fetched {} quiz(es)", quizzes.size());
-        return quizzes;
+        log.debug("Fetched {} quiz(es) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Quiz getQuizById(Long id) {
-        Quiz quiz = quizRepository.findById(id)
+        Quiz quiz = quizRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Quiz not found: ID=%d", id)
                 ));
+        questionRepository.findWithOptionsByQuizIdIn(List.of(id));
         log.debug("Fetched Quiz: ID={}, Title='{}', ModuleID={}",
                 id, quiz.getTitle(), quiz.getModule().getId());
         return quiz;
     }
 
+    @Transactional(readOnly = true)
+    public String getQuizVersion(Long id) {
+        String version = quizRepository.findContentVersion(id);
+        if (version == null) {
+            throw new EntityNotFoundException(String.format("Quiz not found: ID=%d", id));
+        }
+        return version;
+    }
+
     public Quiz createQuiz(Quiz quiz) {
         Long moduleId = quiz.getModule().getId();
 
@@ -59,11 +87,13 @@ public class QuizService {
         return saved;
     }
 
-    public Quiz updateQuiz(Long id, QuizRequest request) {
+    @Transactional
+    public Quiz updateQuiz(Long id, QuizRequest request, Long expectedVersion) {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Quiz not found: ID=%d", id)
                 ));
+        EntityVersions.require("Quiz", id, quiz.getVersion(), expectedVersion);
 
         boolean updated = false;
 
@@ -85,6 +115,7 @@ public class QuizService {
                             String.format("Module not found: ID=%d", request.getModuleId())
                     ));
             quiz.setModule(module);
+            leaderboardService.quizMoved(id);
             log.debug("Updated module for Quiz ID={}: ModuleID={}", id, request.getModuleId());
             updated = true;
         }
@@ -106,63 +137,31 @@ public class QuizService {
                 ));
 
         quizRepository.delete(quiz);
+        answerKeyCache.evict(id);
+        leaderboardService.quizDeleted(id);
 
         log.info("Deleted Quiz: ID={}, Title='{}', ModuleID={}",
                 id, quiz.getTitle(), quiz.getModule().getId());
     }
 
-    @Transactional
-    public QuizSubmission takeQuiz(Long studentId, Long quizId, Map<Long, Long> answers) {
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Student not found: ID=%d", studentId)
-                ));
-
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Quiz not found: ID=%d", quizId)
-                ));
+    public QuizSubmissionQueue.Receipt queueAttempt(Long studentId, Long quizId, Map<Long, Set<Long>> answers) {
+        AnswerKey answerKey = requireAnswerKey(quizId);
+        int totalScore = answerKey.points(answers, gradingMode);
+        QuizSubmissionQueue.Receipt receipt = quizSubmissionQueue.enqueue(quizId, studentId, totalScore);
+        log.debug("Graded quiz ID={} for Student ID={}: Score={}/{}, Receipt={}",
+                quizId, studentId, totalScore, answerKey.questionCount(), receipt.id());
+        return receipt;
+    }
 
-        List<Question> questions = questionRepository.findAllByQuiz_Id(quizId);
-        if (questions.isEmpty()) {
+    private AnswerKey requireAnswerKey(Long quizId) {
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        if (answerKey.isEmpty()) {
+            if (!quizRepository.existsById(quizId)) {
+                throw new EntityNotFoundException(String.format("Quiz not found: ID=%d", quizId));
+            }
             log.warn("Quiz ID={} has no questions", quizId);
             throw new IllegalStateException("Quiz has no questions.");
         }
-
-        log.info("Student ID={} started quiz ID={} with {} answers provided", studentId, quizId, answers.size());
-
-        int totalScore = 0;
-        for (Question question : questions) {
-            Long selectedOptionId = answers.get(question.getId());
-
-            if (selectedOptionId == null) {
-                log.debug("No answer provided for Question ID={} in Quiz ID={}", question.getId(), quizId);
-                continue;
-            }
-
-            AnswerOption selectedOption = answerOptionRepository.findById(selectedOptionId)
-                    .orElseThrow(() -> new EntityNotFoundException(
-                            String.format("AnswerOption not found: ID=%d", selectedOptionId)
-                    ));
-
-            if (selectedOption.getIsCorrect()) {
-                totalScore += 1;
-                log.debug("Correct answer selected: Question ID={}, Option ID={}", question.getId(), selectedOptionId);
-            } else {
-                log.debug("Incorrect answer selected: Question ID={}, Option ID={}", question.getId(), selectedOptionId);
-            }
-        }
-
-        QuizSubmission submission = new QuizSubmission();
-        submission.setScore(totalScore);
-        submission.setQuiz(quiz);
-        submission.setStudent(student);
-
-        QuizSubmission saved = quizSubmissionRepository.save(submission);
-
-        log.info("Quiz submitted successfully: SubmissionID={}, StudentID={}, QuizID={}, Score={}/{}",
-                saved.getId(), studentId, quizId, totalScore, questions.size());
-
-        return saved;
+        return answerKey;
     }
 }
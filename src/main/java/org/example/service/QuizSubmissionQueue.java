@@ -0,0 +1,220 @@
+package org.example.service;
+
+import org.example.entity.QuizSubmission;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.ServiceOverloadedException;
+import org.example.repository.QuizRepository;
+import org.example.repository.QuizSubmissionRepository;
+import org.example.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+public class QuizSubmissionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizSubmissionQueue.class);
+
+    private final QuizSubmissionRepository quizSubmissionRepository;
+    private final QuizRepository quizRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, Receipt> receipts = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final Duration receiptRetention;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public QuizSubmissionQueue(QuizSubmissionRepository quizSubmissionRepository,
+                               QuizRepository quizRepository,
+                               UserRepository userRepository,
+                               TransactionTemplate transactionTemplate,
+                               LeaderboardService leaderboardService,
+                               @Value("${quiz.submission.queue.capacity:10000}") int capacity,
+                               @Value("${quiz.submission.queue.batch-size:200}") int batchSize,
+                               @Value("${quiz.submission.queue.receipt-retention:PT15M}") Duration receiptRetention) {
+        this.quizSubmissionRepository = quizSubmissionRepository;
+        this.quizRepository = quizRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderboardService = leaderboardService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.receiptRetention = receiptRetention;
+    }
+
+    public Receipt enqueue(Long quizId, Long studentId, Integer score) {
+        Pending pending = new Pending(UUID.randomUUID().toString(), quizId, studentId, score, LocalDateTime.now());
+        Receipt receipt = new Receipt(pending.receiptId(), Status.QUEUED, null, null, Instant.now());
+        receipts.put(receipt.id(), receipt);
+        if (!running || !queue.offer(pending)) {
+            receipts.remove(receipt.id());
+            log.warn("Quiz submission queue is full, rejecting StudentID={}, QuizID={}", studentId, quizId);
+            throw new ServiceOverloadedException("Submission queue is full, retry later", 1);
+        }
+        log.debug("Queued quiz submission: Receipt={}, StudentID={}, QuizID={}, Score={}",
+                receipt.id(), studentId, quizId, score);
+        return receipt;
+    }
+
+    public Receipt getReceipt(String receiptId) {
+        Receipt receipt = receipts.get(receiptId);
+        if (receipt == null) {
+            throw new EntityNotFoundException(String.format("Submission receipt not found: %s", receiptId));
+        }
+        return receipt;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "quiz-submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped quiz submission writer with {} submission(s) still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                purgeExpiredReceipts();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Quiz submission writer failed on a batch of {}", batch.size(), e);
+                batch.clear();
+            }
+        }
+    }
+
+    void write(List<Pending> batch) {
+        writeOrSplit(batch);
+        log.debug("Wrote batch of {} queued quiz submission(s)", batch.size());
+    }
+
+    // A batch that fails is halved and each half retried in its own transaction, so one bad row
+    // (say, a quiz deleted since the existence check) only fails its own receipt
+    private void writeOrSplit(List<Pending> batch) {
+        List<Receipt> results;
+        try {
+            results = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Failed to write {} queued quiz submission(s), retrying in halves: {}", batch.size(), e.toString());
+                int middle = batch.size() / 2;
+                writeOrSplit(batch.subList(0, middle));
+                writeOrSplit(batch.subList(middle, batch.size()));
+                return;
+            }
+            Pending pending = batch.get(0);
+            log.error("Failed to write queued quiz submission: Receipt={}, StudentID={}, QuizID={}",
+                    pending.receiptId(), pending.studentId(), pending.quizId(), e);
+            results = List.of(pending.complete(Status.FAILED, null, "Submission could not be saved"));
+        }
+        results.forEach(receipt -> receipts.put(receipt.id(), receipt));
+    }
+
+    private List<Receipt> insert(List<Pending> batch) {
+        Set<Long> quizIds = batch.stream().map(Pending::quizId).collect(Collectors.toSet());
+        Set<Long> studentIds = batch.stream().map(Pending::studentId).collect(Collectors.toSet());
+        List<Receipt> results = new ArrayList<>(batch.size());
+        Set<Long> knownQuizzes = quizRepository.findExistingIds(quizIds);
+        Set<Long> knownStudents = userRepository.findExistingIds(studentIds);
+
+        List<Pending> accepted = new ArrayList<>(batch.size());
+        List<QuizSubmission> submissions = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            if (!knownQuizzes.contains(pending.quizId())) {
+                results.add(pending.complete(Status.REJECTED, null,
+                        String.format("Quiz not found: ID=%d", pending.quizId())));
+            } else if (!knownStudents.contains(pending.studentId())) {
+                results.add(pending.complete(Status.REJECTED, null,
+                        String.format("User not found: ID=%d", pending.studentId())));
+            } else {
+                QuizSubmission submission = new QuizSubmission();
+                submission.setQuiz(quizRepository.getReferenceById(pending.quizId()));
+                submission.setStudent(userRepository.getReferenceById(pending.studentId()));
+                submission.setScore(pending.score());
+                submission.setTakenAt(pending.takenAt());
+                accepted.add(pending);
+                submissions.add(submission);
+            }
+        }
+        quizSubmissionRepository.saveAll(submissions);
+        quizSubmissionRepository.flush();
+        for (int i = 0; i < accepted.size(); i++) {
+            Pending pending = accepted.get(i);
+            results.add(pending.complete(Status.SAVED, submissions.get(i).getId(), null));
+            leaderboardService.recorded(pending.quizId(), pending.studentId(), pending.score(), pending.takenAt());
+        }
+        return results;
+    }
+
+    private void purgeExpiredReceipts() {
+        Instant threshold = Instant.now().minus(receiptRetention);
+        receipts.values().removeIf(receipt -> receipt.status() != Status.QUEUED && receipt.updatedAt().isBefore(threshold));
+    }
+
+    public enum Status {
+        QUEUED, SAVED, REJECTED, FAILED
+    }
+
+    public record Receipt(String id, Status status, Long submissionId, String message, Instant updatedAt) {
+    }
+
+    record Pending(String receiptId, Long quizId, Long studentId, Integer score, LocalDateTime takenAt) {
+        Receipt complete(Status status, Long submissionId, String message) {
+            return new Receipt(receiptId, status, submissionId, message, Instant.now());
+        }
+    }
+}
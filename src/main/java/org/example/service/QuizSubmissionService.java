@@ -1,19 +1,23 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.QuizSubmissionRow;
 import org.example.dto.request.QuizSubmissionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Quiz;
 import org.example.entity.QuizSubmission;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
+import org.example.exception.InvalidRequestException;
 import org.example.repository.QuizRepository;
 import org.example.repository.QuizSubmissionRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,15 +30,21 @@ public class QuizSubmissionService {
     private final QuizSubmissionRepository quizSubmissionRepository;
     private final QuizRepository quizRepository;
     private final UserRepository userRepository;
-
-    public List<QuizSubmission> getAll() {
-        List<QuizSubmission> submissions = quizSubmissionRepository.findAll();
-        log.debug("Fetched {} quiz submission(s)", submissions.size());
-        return submissions;
+    private final QuizSubmissionQueue quizSubmissionQueue;
+    private final LeaderboardService leaderboardService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSubmissionRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<QuizSubmissionRow> rows = quizSubmissionRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<QuizSubmissionRow> page = PageCursors.page(rows, size, QuizSubmissionRow::id);
+        log.debug("Fetched {} quiz submission(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public QuizSubmission getQuizSubmissionById(Long id) {
-        QuizSubmission submission = quizSubmissionRepository.findById(id)
+        QuizSubmission submission = quizSubmissionRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("QuizSubmission not found: ID=%d", id)
                 ));
@@ -43,12 +53,14 @@ public class QuizSubmissionService {
         return submission;
     }
 
+    @Transactional(readOnly = true)
     public List<QuizSubmission> getSubmissionsByStudentId(Long studentId) {
         List<QuizSubmission> submissions = quizSubmissionRepository.findByStudentId(studentId);
         log.debug("Fetched {} submission(s) for Student ID={}", submissions.size(), studentId);
         return submissions;
     }
 
+    @Transactional(readOnly = true)
     public List<QuizSubmission> getSubmissionsByCourseId(Long courseId) {
         List<Quiz> quizzes = quizRepository.findByModule_CourseId(courseId);
         if (quizzes.isEmpty()) {
@@ -63,6 +75,7 @@ public class QuizSubmissionService {
         return submissions;
     }
 
+    @Transactional(readOnly = true)
     public List<QuizSubmission> getSubmissionsByModuleId(Long moduleId) {
         List<Quiz> quizzes = quizRepository.findByModuleId(moduleId);
         if (quizzes.isEmpty()) {
@@ -79,40 +92,32 @@ public class QuizSubmissionService {
 
     public QuizSubmission createQuizSubmission(QuizSubmission quizSubmission) {
         QuizSubmission saved = quizSubmissionRepository.save(quizSubmission);
+        leaderboardService.recorded(saved.getQuiz().getId(), saved.getStudent().getId(), saved.getScore(), saved.getTakenAt());
         log.info("Created QuizSubmission: ID={}, StudentID={}, QuizID={}, Score={}",
                 saved.getId(), saved.getStudent().getId(), saved.getQuiz().getId(), saved.getScore());
         return saved;
     }
 
-    public QuizSubmission submitQuiz(Long quizId, Long studentId, Integer score) {
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Quiz not found: ID=%d", quizId)
-                ));
-
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("User not found: ID=%d", studentId)
-                ));
-
-        QuizSubmission submission = new QuizSubmission();
-        submission.setQuiz(quiz);
-        submission.setStudent(student);
-        submission.setScore(score);
-        submission.setTakenAt(LocalDateTime.now());
-
-        QuizSubmission saved = quizSubmissionRepository.save(submission);
+    public QuizSubmissionQueue.Receipt queueSubmission(Long quizId, Long studentId, Integer score) {
+        if (score == null) {
+            throw new InvalidRequestException("Score is required");
+        }
+        return quizSubmissionQueue.enqueue(quizId, studentId, score);
+    }
 
-        log.info("Quiz submitted: SubmissionID={}, StudentID={}, QuizID={}, Score={}",
-                saved.getId(), studentId, quizId, score);
-        return saved;
+    public QuizSubmissionQueue.Receipt getReceipt(String receiptId) {
+        return quizSubmissionQueue.getReceipt(receiptId);
     }
 
-    public QuizSubmission updateQuizSubmission(Long id, QuizSubmissionRequest request) {
+    @Transactional
+    public QuizSubmission updateQuizSubmission(Long id, QuizSubmissionRequest request, Long expectedVersion) {
         QuizSubmission submission = quizSubmissionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("QuizSubmission not found: ID=%d", id)
                 ));
+        EntityVersions.require("QuizSubmission", id, submission.getVersion(), expectedVersion);
+        Long previousQuizId = submission.getQuiz().getId();
+        Long previousStudentId = submission.getStudent().getId();
 
         boolean updated = false;
 
@@ -148,10 +153,28 @@ public class QuizSubmissionService {
         }
 
         QuizSubmission saved = quizSubmissionRepository.save(submission);
+        leaderboardService.changed(previousQuizId, previousStudentId);
+        if (!previousQuizId.equals(saved.getQuiz().getId()) || !previousStudentId.equals(saved.getStudent().getId())) {
+            leaderboardService.changed(saved.getQuiz().getId(), saved.getStudent().getId());
+        }
         log.info("Successfully updated QuizSubmission: ID={}, Score={}", id, saved.getScore());
         return saved;
     }
 
+    @Transactional
+    public long patchQuizSubmissionScore(Long id, QuizSubmissionRequest request, Long expectedVersion) {
+        if (request.getScore() == null || request.getQuizId() != null || request.getStudentId() != null) {
+            throw new InvalidRequestException("Only the score can be patched; use PUT for quiz and student");
+        }
+        long version = EntityVersions.conditionalUpdate("QuizSubmission", id, expectedVersion,
+                () -> quizSubmissionRepository.patchScoreIfVersion(id, expectedVersion, request.getScore(), Instant.now()),
+                () -> quizSubmissionRepository.existsById(id));
+        quizSubmissionRepository.findById(id).ifPresent(submission ->
+                leaderboardService.changed(submission.getQuiz().getId(), submission.getStudent().getId()));
+        log.info("Patched QuizSubmission: ID={}, Score={}, Version={}", id, request.getScore(), version);
+        return version;
+    }
+
     public void deleteQuizSubmission(Long id) {
         QuizSubmission submission = quizSubmissionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -159,6 +182,7 @@ public class QuizSubmissionService {
                 ));
 
         quizSubmissionRepository.delete(submission);
+        leaderboardService.changed(submission.getQuiz().getId(), submission.getStudent().getId());
 
         log.info("Deleted QuizSubmission: ID={}, StudentID={}, QuizID={}, Score={}",
                 id, submission.getStudent().getId(), submission.getQuiz().getId(), submission.getScore());
@@ -0,0 +1,115 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.QuizSubmissionExportRow;
+import org.example.dto.projection.SubmissionExportRow;
+import org.example.dto.request.SubmissionExportFilter;
+import org.example.exception.InvalidRequestException;
+import org.example.repository.SubmissionExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class SubmissionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionExportService.class);
+
+    private static final List<String> SUBMISSION_HEADER = List.of(
+            "id", "course_id", "assignment_id", "assignment_title", "student_id", "student_name",
+            "content", "score", "feedback", "submitted_at");
+    private static final List<String> QUIZ_SUBMISSION_HEADER = List.of(
+            "id", "course_id", "quiz_id", "quiz_title", "student_id", "student_name", "score", "taken_at");
+
+    private final SubmissionExportRepository submissionExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format parse(String value) {
+            return Arrays.stream(values())
+                    .filter(format -> format.name().equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestException("Unsupported export format: " + value));
+        }
+    }
+
+    public void validate(SubmissionExportFilter filter) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getFrom().isAfter(filter.getTo())) {
+            throw new InvalidRequestException(String.format(
+                    "Export range start %s is after its end %s", filter.getFrom(), filter.getTo()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportSubmissions(SubmissionExportFilter filter, Format format, OutputStream out) throws IOException {
+        long rows = this.<SubmissionExportRow>write(format, out, SUBMISSION_HEADER,
+                consumer -> submissionExportRepository.streamSubmissions(filter, consumer),
+                row -> Arrays.asList(row.id(), row.courseId(), row.assignmentId(), row.assignmentTitle(),
+                        row.studentId(), row.studentName(), row.content(), row.score(), row.feedback(),
+                        row.submittedAt()));
+        log.info("Exported {} submission(s) as {}: {}", rows, format, filter);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportQuizSubmissions(SubmissionExportFilter filter, Format format, OutputStream out) throws IOException {
+        long rows = this.<QuizSubmissionExportRow>write(format, out, QUIZ_SUBMISSION_HEADER,
+                consumer -> submissionExportRepository.streamQuizSubmissions(filter, consumer),
+                row -> Arrays.asList(row.id(), row.courseId(), row.quizId(), row.quizTitle(),
+                        row.studentId(), row.studentName(), row.score(), row.takenAt()));
+        log.info("Exported {} quiz submission(s) as {}: {}", rows, format, filter);
+    }
+
+    private <T> long write(Format format, OutputStream out, List<String> header,
+                           Consumer<Consumer<T>> source, Function<T, List<Object>> csvValues) throws IOException {
+        long[] count = {0};
+        try {
+            if (format == Format.CSV) {
+                CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                csv.writeRow(header);
+                source.accept(row -> {
+                    try {
+                        csv.writeRow(csvValues.apply(row));
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                csv.flush();
+            } else {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null);
+                source.accept(row -> {
+                    try {
+                        json.writeObject(row);
+                        json.writeRaw('\n');
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.close();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+}
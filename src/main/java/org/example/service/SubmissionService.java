@@ -1,19 +1,25 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.dto.projection.SubmissionRow;
 import org.example.dto.request.SubmissionRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Assignment;
 import org.example.entity.Submission;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
 import org.example.exception.ExistEntityException;
+import org.example.exception.InvalidRequestException;
 import org.example.repository.AssignmentRepository;
 import org.example.repository.SubmissionRepository;
+import org.example.repository.SubmissionWriteRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,15 +32,20 @@ public class SubmissionService {
     private final SubmissionRepository submissionRepository;
     private final AssignmentRepository assignmentRepository;
     private final UserRepository userRepository;
-
-    public List<Submission> getAll() {
-        List<Submission> submissions = submissionRepository.findAll();
-        log.debug("Fetched {} submission(s)", submissions.size());
-        return submissions;
+    private final SubmissionWriteRepository submissionWriteRepository;
+
+    @Transactional(readOnly = true)
+    public CursorPage<SubmissionRow> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<SubmissionRow> rows = submissionRepository.findPageAfter(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<SubmissionRow> page = PageCursors.page(rows, size, SubmissionRow::id);
+        log.debug("Fetched {} submission(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Submission getSubmissionById(Long id) {
-        Submission submission = submissionRepository.findById(id)
+        Submission submission = submissionRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Submission not found: ID=%d", id)
                 ));
@@ -43,12 +54,14 @@ public class SubmissionService {
         return submission;
     }
 
+    @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByAssignmentId(Long assignmentId) {
         List<Submission> submissions = submissionRepository.findByAssignmentId(assignmentId);
         log.debug("Fetched {} submission(s) for Assignment ID={}", submissions.size(), assignmentId);
         return submissions;
     }
 
+    @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByStudentId(Long studentId) {
         List<Submission> submissions = submissionRepository.findByStudentId(studentId);
         log.debug("Fetched {} submission(s) for Student ID={}", submissions.size(), studentId);
@@ -62,40 +75,23 @@ public class SubmissionService {
         return saved;
     }
 
-    public Submission submitAssignment(Long assignmentId, Long studentId, String content) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("Assignment not found: ID=%d", assignmentId)
-                ));
-
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        String.format("User not found: ID=%d", studentId)
-                ));
-
-        if (submissionRepository.existsByStudentIdAndAssignmentId(studentId, assignmentId)) {
-            log.warn("Student ID={} attempted to re-submit Assignment ID={}", studentId, assignmentId);
-            throw new ExistEntityException("Student has already submitted a solution for this assignment.");
-        }
-
-        Submission submission = new Submission();
-        submission.setAssignment(assignment);
-        submission.setStudent(student);
-        submission.setContent(content);
-        submission.setSubmittedAt(LocalDateTime.now());
-
-        Submission saved = submissionRepository.save(submission);
+    @Transactional
+    public SubmissionRow submitAssignment(Long assignmentId, Long studentId, String content) {
+        SubmissionRow saved = submissionWriteRepository.insertIfAbsent(assignmentId, studentId, content, LocalDateTime.now())
+                .orElseThrow(() -> rejectSubmission(assignmentId, studentId));
 
         log.info("Assignment submitted: SubmissionID={}, StudentID={}, AssignmentID={}",
-                saved.getId(), studentId, assignmentId);
+                saved.id(), studentId, assignmentId);
         return saved;
     }
 
-    public Submission updateSubmission(Long id, SubmissionRequest request) {
+    @Transactional
+    public Submission updateSubmission(Long id, SubmissionRequest request, Long expectedVersion) {
         Submission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Submission not found: ID=%d", id)
                 ));
+        EntityVersions.require("Submission", id, submission.getVersion(), expectedVersion);
 
         boolean updated = false;
 
@@ -148,6 +144,19 @@ public class SubmissionService {
         return saved;
     }
 
+    @Transactional
+    public long patchSubmission(Long id, SubmissionRequest request, Long expectedVersion) {
+        if (request.getAssignmentId() != null || request.getStudentId() != null) {
+            throw new InvalidRequestException("Assignment and student can only be changed with PUT");
+        }
+        long version = EntityVersions.conditionalUpdate("Submission", id, expectedVersion,
+                () -> submissionRepository.patchIfVersion(id, expectedVersion, request.getContent(),
+                        request.getScore(), request.getFeedback(), Instant.now()),
+                () -> submissionRepository.existsById(id));
+        log.info("Patched Submission: ID={}, Version={}", id, version);
+        return version;
+    }
+
     public void deleteSubmission(Long id) {
         Submission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -159,4 +168,16 @@ public class SubmissionService {
         log.info("Deleted Submission: ID={}, StudentID={}, AssignmentID={}, Score={}",
                 id, submission.getStudent().getId(), submission.getAssignment().getId(), submission.getScore());
     }
+
+    // Only reached when nothing was inserted, to tell a missing row from a repeated submission
+    private RuntimeException rejectSubmission(Long assignmentId, Long studentId) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            return new EntityNotFoundException(String.format("Assignment not found: ID=%d", assignmentId));
+        }
+        if (!userRepository.existsById(studentId)) {
+            return new EntityNotFoundException(String.format("User not found: ID=%d", studentId));
+        }
+        log.warn("Student ID={} attempted to re-submit Assignment ID={}", studentId, assignmentId);
+        return new ExistEntityException("Student has already submitted a solution for this assignment.");
+    }
 }
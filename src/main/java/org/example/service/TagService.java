@@ -2,6 +2,7 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.TagRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.Tag;
 import org.example.exception.EntityNotFoundException;
 import org.example.exception.ExistEntityException;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,13 +22,18 @@ public class TagService {
     private static final Logger log = LoggerFactory.getLogger(TagService.class);
 
     private final TagRepository tagRepository;
+    private final CourseTagIndex courseTagIndex;
 
-    public List<Tag> getAll() {
-        List<Tag> tags = tagRepository.findAll();
-        log.debug("Fetched {} tag(s)", tags.size());
-        return tags;
+    @Transactional(readOnly = true)
+    public CursorPage<Tag> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<Tag> rows = tagRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<Tag> page = PageCursors.page(rows, size, Tag::getId);
+        log.debug("Fetched {} tag(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public Tag getTagById(Long id) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -49,11 +56,13 @@ public class TagService {
         }
     }
 
-    public Tag updateTag(Long id, TagRequest request) {
+    @Transactional
+    public Tag updateTag(Long id, TagRequest request, Long expectedVersion) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("Tag not found: ID=%d", id)
                 ));
+        EntityVersions.require("Tag", id, tag.getVersion(), expectedVersion);
 
         if (request.getName() != null && !request.getName().equals(tag.getName())) {
             tag.setName(request.getName());
@@ -75,6 +84,7 @@ public class TagService {
                 ));
 
         tagRepository.delete(tag);
+        courseTagIndex.tagDeleted(id);
 
         log.info("Deleted Tag: ID={}, Name='{}'", id, tag.getName());
     }
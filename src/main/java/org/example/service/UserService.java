@@ -2,14 +2,17 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.dto.request.UserRequest;
+import org.example.dto.response.CursorPage;
 import org.example.entity.User;
 import org.example.exception.EntityNotFoundException;
 import org.example.exception.ExistEntityException;
+import org.example.repository.CourseRatingSummaryRepository;
 import org.example.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,13 +23,19 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
-
-    public List<User> getAll() {
-        List<User> users = userRepository.findAll();
-        log.debug("Fetched {} user(s)", users.size());
-        return users;
+    private final CourseRatingSummaryRepository courseRatingSummaryRepository;
+    private final LeaderboardService leaderboardService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<User> getPage(String after, Integer limit) {
+        int size = PageCursors.limit(limit);
+        List<User> rows = userRepository.findByIdGreaterThanOrderByIdAsc(PageCursors.decode(after), PageCursors.probe(size));
+        CursorPage<User> page = PageCursors.page(rows, size, User::getId);
+        log.debug("Fetched {} user(s) after cursor '{}'", page.getItems().size(), after);
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -51,11 +60,13 @@ public class UserService {
         }
     }
 
-    public User updateUser(Long id, UserRequest request) {
+    @Transactional
+    public User updateUser(Long id, UserRequest request, Long expectedVersion) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("User not found: ID=%d", id)
                 ));
+        EntityVersions.require("User", id, user.getVersion(), expectedVersion);
 
         boolean updated = false;
 
@@ -96,13 +107,17 @@ public class UserService {
         return saved;
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(
                         String.format("User not found: ID=%d", id)
                 ));
 
+        // The user's reviews go with the cascade below, bypassing CourseReviewService
+        courseRatingSummaryRepository.removeReviewsOfStudent(id);
         userRepository.delete(user);
+        leaderboardService.studentDeleted(id);
 
         log.info("Deleted User: ID={}, Name='{}', Email='{}', Role={}",
                 id, user.getName(), user.getEmail(), user.getRole());
@@ -0,0 +1,44 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionLimitingDataSourceTest {
+
+    /**
+     * Ожидание разрешения и ожидание пула вместе не должны превышать настроенный таймаут соединения:
+     * пулу остаётся четверть бюджета, остальное уходит на ожидание разрешения.
+     */
+    @Test
+    public void shouldSplitConnectionTimeoutBetweenPermitAndPool() {
+        // Given
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(10);
+        pool.setConnectionTimeout(30_000);
+
+        // When
+        ConnectionLimitingDataSource limited = ConnectionLimitingDataSource.forPool(pool);
+
+        // Then
+        assertThat(limited.availablePermits()).isEqualTo(10);
+        assertThat(pool.getConnectionTimeout()).isEqualTo(7_500);
+    }
+
+    /**
+     * Для короткого бюджета пул получает минимально допустимый Hikari таймаут.
+     */
+    @Test
+    public void shouldKeepHikariMinimumTimeoutForShortBudget() {
+        // Given
+        HikariDataSource pool = new HikariDataSource();
+        pool.setConnectionTimeout(400);
+
+        // When
+        ConnectionLimitingDataSource.forPool(pool);
+
+        // Then
+        assertThat(pool.getConnectionTimeout()).isEqualTo(250);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.service.IdempotencyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class IdempotencyFilterTest {
+
+    /**
+     * Тело запроса должно оставаться доступным обработчику после вычисления отпечатка.
+     */
+    @Test
+    public void shouldServeCachedBodyAgain() throws IOException {
+        // Given
+        CachedBodyRequestWrapper request = new CachedBodyRequestWrapper(request("{\"title\":\"Java\"}"), 1024);
+        IdempotencyFilter.fingerprint(request);
+
+        // When
+        String fromStream = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        String fromReader = request.getReader().readLine();
+
+        // Then
+        assertThat(fromStream).isEqualTo("{\"title\":\"Java\"}");
+        assertThat(fromReader).isEqualTo("{\"title\":\"Java\"}");
+        assertThat(request.getContentLength()).isEqualTo(16);
+    }
+
+    /**
+     * Запросы на один адрес с разными телами должны иметь разные отпечатки.
+     */
+    @Test
+    public void shouldIncludeBodyInFingerprint() throws IOException {
+        // When
+        String first = IdempotencyFilter.fingerprint(new CachedBodyRequestWrapper(request("{\"title\":\"Java\"}"), 1024));
+        String same = IdempotencyFilter.fingerprint(new CachedBodyRequestWrapper(request("{\"title\":\"Java\"}"), 1024));
+        String other = IdempotencyFilter.fingerprint(new CachedBodyRequestWrapper(request("{\"title\":\"Go\"}"), 1024));
+
+        // Then
+        assertThat(first).hasSize(64).isEqualTo(same);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    /**
+     * Тело больше лимита должно отклоняться с 413, не доходя до захвата ключа и обработчика.
+     */
+    @Test
+    public void shouldRejectBodyOverLimit() throws Exception {
+        // Given
+        IdempotencyService idempotencyService = mock(IdempotencyService.class);
+        IdempotencyFilter filter = new IdempotencyFilter(idempotencyService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), DataSize.ofBytes(8));
+        MockHttpServletRequest request = request("user_id\n1\n2\n3\n");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "k1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/courses");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.config;
+
+import org.example.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitInterceptorTest {
+
+    /**
+     * После исчерпания лимита запросы студента должны отклоняться с 429,
+     * не затрагивая других студентов.
+     */
+    @Test
+    public void shouldLimitEachStudentSeparately() {
+        // Given
+        RateLimitInterceptor interceptor = new RateLimitInterceptor("quiz submit", 3, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(interceptor.preHandle(request("7", "10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+        }
+
+        // Then
+        assertThatThrownBy(() -> interceptor.preHandle(request("7", "10.0.0.1"), new MockHttpServletResponse(), null))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfterSeconds()).isBetween(1L, 20L));
+        assertThat(interceptor.preHandle(request("8", "10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    /**
+     * Без studentId клиент определяется по IP-адресу.
+     */
+    @Test
+    public void shouldFallBackToRemoteAddress() {
+        // Given
+        RateLimitInterceptor interceptor = new RateLimitInterceptor("quiz take", 1, Duration.ofMinutes(1));
+        interceptor.preHandle(request(null, "10.0.0.1"), new MockHttpServletResponse(), null);
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(request(null, "10.0.0.1"), new MockHttpServletResponse(), null))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(interceptor.preHandle(request(null, "10.0.0.2"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.trackedClients()).isEqualTo(2L);
+    }
+
+    /**
+     * Корзина должна пополняться равномерно в течение периода, но не сверх ёмкости.
+     */
+    @Test
+    public void shouldRefillBucketOverTime() {
+        // Given
+        long period = TimeUnit.SECONDS.toNanos(60);
+        TokenBucket bucket = new TokenBucket(2, period, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        // When & Then
+        assertThat(bucket.tryConsume(0)).isEqualTo(period / 2);
+        assertThat(bucket.tryConsume(period / 2)).isZero();
+        assertThat(bucket.tryConsume(period * 3)).isZero();
+        assertThat(bucket.tryConsume(period * 3)).isZero();
+        assertThat(bucket.tryConsume(period * 3)).isEqualTo(period / 2);
+    }
+
+    private static MockHttpServletRequest request(String studentId, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/quiz-submissions/submit");
+        request.setRemoteAddr(remoteAddress);
+        if (studentId != null) {
+            request.addParameter("studentId", studentId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private HikariDataSource primaryPool;
+
+    @Mock
+    private HikariDataSource replicaPool;
+
+    @Mock
+    private Connection primaryConnection;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        // Проверка задержки при создании находит реплику догнавшей основной сервер
+        Connection lagConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replicaPool.getConnection()).thenReturn(lagConnection);
+        when(lagConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.getDouble(1)).thenReturn(0.0);
+
+        dataSource = new ReplicaRoutingDataSource(primaryPool, List.of(replicaPool), false,
+                Duration.ofSeconds(5), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    /**
+     * Если соединение реплики не удалось перевести в read-only, его нужно закрыть,
+     * а чтение отправить на основной сервер.
+     */
+    @Test
+    public void shouldCloseReplicaConnectionWhenReadOnlyFails() throws SQLException {
+        // Given
+        Connection replicaConnection = mock(Connection.class);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        doThrow(new SQLException("connection reset")).when(replicaConnection).setReadOnly(true);
+        when(primaryPool.getConnection()).thenReturn(primaryConnection);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+        verify(replicaConnection).close();
+        assertThat(dataSource.healthyReplicaCount()).isZero();
+    }
+
+    /**
+     * Запрос с учётными данными должен уходить в выбранный пул, а не отклоняться.
+     */
+    @Test
+    public void shouldDelegateConnectionWithCredentialsToChosenPool() throws SQLException {
+        // Given
+        Connection replicaConnection = mock(Connection.class);
+        when(replicaPool.getConnection("reader", "secret")).thenReturn(replicaConnection);
+
+        // When
+        Connection connection = dataSource.getConnection("reader", "secret");
+
+        // Then
+        assertThat(connection).isSameAs(replicaConnection);
+        verify(replicaConnection).setReadOnly(true);
+        assertThat(dataSource.healthyReplicaCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.controller;
+
+import org.example.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ETagsTest {
+
+    /**
+     * Тег с хэшем зависимостей должен совпадать целиком: та же версия с другим хэшем — это 412.
+     */
+    @Test
+    public void shouldMatchWholeTagWithDependencies() {
+        // Given
+        String current = ETags.versioned(7L, 3L, 5L);
+
+        // When & Then
+        assertThat(ETags.version(current, current)).isEqualTo(7L);
+        assertThat(ETags.version("*", current)).isNull();
+        assertThatThrownBy(() -> ETags.version(ETags.versioned(7L, 4L, 5L), current))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.version("\"7\"", current))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    /**
+     * Для ресурсов с голой версией тег с хэшем не должен приниматься.
+     */
+    @Test
+    public void shouldReadBareVersionOnly() {
+        assertThat(ETags.version("\"7\"")).isEqualTo(7L);
+        assertThat(ETags.version(null)).isNull();
+        assertThatThrownBy(() -> ETags.version("\"7-abc\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ETags.version("W/\"7\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+}
@@ -103,9 +103,9 @@ public class AnswerOptionControllerIntegrationTest {
 
         mockMvc.perform(get("/api/answer-options"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(2))))
-                .andExpect(jsonPath("$[*].text", hasItem("True")))
-                .andExpect(jsonPath("$[*].text", hasItem("False")));
+                .andExpect(jsonPath("$.items", hasSize(greaterThanOrEqualTo(2))))
+                .andExpect(jsonPath("$.items[*].text", hasItem("True")))
+                .andExpect(jsonPath("$.items[*].text", hasItem("False")));
     }
 
     /**
@@ -0,0 +1,140 @@
+package org.example.integration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.entity.Tag;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Бенчмарк пакетной вставки с pooled-генерацией идентификаторов из последовательностей.
+ * Сравнивает число подготовленных JDBC-выражений при вставке без батчинга (batch size = 1)
+ * и с батчингом из application.properties, а также печатает скорость (строк/с) вставки
+ * в стиле IDENTITY (по строке с возвратом id) и пакетной вставки.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Должен вставить все строки с уникальными id из последовательности,
+     * а при батчинге отправлять по одному выражению на пачку, а не на каждую строку.
+     */
+    @Test
+    public void shouldInsertRowsInBatches() {
+        // Given
+        Long maxIdBefore = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from tags", Long.class);
+
+        // When
+        double identityStyle = rowsPerSecond(insertTagsReturningIds("identity"));
+        Run unbatched = insertTags("single", 1);
+        Run batched = insertTags("batched", 50);
+
+        // Then
+        System.out.printf("Inserting %d tags: IDENTITY-style row by row -> %.0f rows/s, "
+                        + "unbatched -> %.0f rows/s (%d statements), batched by 50 -> %.0f rows/s (%d statements)%n",
+                ROWS, identityStyle, rowsPerSecond(unbatched.nanos()), unbatched.statements(),
+                rowsPerSecond(batched.nanos()), batched.statements());
+        Long inserted = jdbcTemplate.queryForObject(
+                "select count(distinct id) from tags where id > ?", Long.class, maxIdBefore);
+        assertThat(inserted)
+                .as("Все строки должны получить уникальные id выше уже существующих")
+                .isEqualTo(3L * ROWS);
+        assertThat(unbatched.statements())
+                .as("Без батчинга каждая строка вставляется отдельным выражением")
+                .isGreaterThanOrEqualTo(ROWS);
+        assertThat(batched.statements())
+                .as("С батчингом выражения готовятся на пачку строк и на пачку id из последовательности")
+                .isLessThan(ROWS / 10);
+    }
+
+    // What IDENTITY generation forces: one statement and one round trip per row to read the id back
+    private long insertTagsReturningIds(String prefix) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement statement = connection.prepareStatement("insert into tags (name) values (?) returning id")) {
+                for (int i = 0; i < ROWS; i++) {
+                    statement.setString(1, prefix + "-" + i);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        rs.next();
+                    }
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            return System.nanoTime() - start;
+        });
+    }
+
+    // Counts the JDBC statements Hibernate prepared for the inserts and times them
+    private Run insertTags(String prefix, int batchSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            statistics.clear();
+            long start = System.nanoTime();
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < ROWS; i++) {
+                Tag tag = new Tag();
+                tag.setName(prefix + "-" + i);
+                entityManager.persist(tag);
+                if (i % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+            return new Run(statistics.getPrepareStatementCount(), System.nanoTime() - start);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+
+    private record Run(long statements, long nanos) {
+    }
+}
@@ -75,9 +75,9 @@ public class CategoryControllerIntegrationTest {
     public void shouldReturnAllCategoriesWhenGetAllIsCalled() throws Exception {
         mockMvc.perform(get("/api/categories"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", not(empty())))
-                .andExpect(jsonPath("$[0].name").value("Programming"))
-                .andExpect(jsonPath("$[0].id").value(existingCategory.getId()));
+                .andExpect(jsonPath("$.items", not(empty())))
+                .andExpect(jsonPath("$.items[0].name").value("Programming"))
+                .andExpect(jsonPath("$.items[0].id").value(existingCategory.getId()));
     }
 
     /**
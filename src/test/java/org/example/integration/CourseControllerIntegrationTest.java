@@ -1,33 +1,53 @@
 package org.example.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import org.example.dto.request.CourseRequest;
 import org.example.dto.response.CourseResponse;
+import org.example.entity.Assignment;
 import org.example.entity.Category;
+import org.example.entity.Course;
+import org.example.entity.Lesson;
+import org.example.entity.Module;
+import org.example.entity.Quiz;
 import org.example.entity.User;
+import org.example.repository.AssignmentRepository;
 import org.example.repository.CategoryRepository;
 import org.example.repository.CourseRepository;
+import org.example.repository.LessonRepository;
+import org.example.repository.ModuleRepository;
+import org.example.repository.QuizRepository;
 import org.example.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -65,6 +85,24 @@ public class CourseControllerIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ModuleRepository moduleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User teacher;
     private Category category;
     private CourseRequest baseCourseRequest;
@@ -172,6 +210,257 @@ public class CourseControllerIntegrationTest {
                 .andExpect(jsonPath("$", empty()));
     }
 
+    /**
+     * Должен вернуть 304 Not Modified на повторный запрос курса с тем же ETag
+     * и новый ETag после изменения курса.
+     */
+    @Test
+    @Order(4)
+    public void shouldReturnNotModifiedForUnchangedCourse() throws Exception {
+        baseCourseRequest.setTitle("Conditional GET");
+        baseCourseRequest.setDescription("ETag support.");
+        CourseResponse created = createCourse(baseCourseRequest);
+
+        String eTag = mockMvc.perform(get("/api/courses/{id}", created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/courses/{id}", created.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        CourseRequest update = new CourseRequest();
+        update.setTitle("Conditional GET, revised");
+        mockMvc.perform(put("/api/courses/{id}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/courses/{id}", created.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.title").value("Conditional GET, revised"));
+    }
+
+    /**
+     * Каталог должен отдавать 304 по агрегированной версии страницы,
+     * пока не изменится ни один курс на ней, включая данные преподавателя.
+     */
+    @Test
+    @Order(5)
+    public void shouldReturnNotModifiedForUnchangedCatalogPage() throws Exception {
+        baseCourseRequest.setTitle("Catalog Course");
+        baseCourseRequest.setDescription("Listed in the catalog.");
+        createCourse(baseCourseRequest);
+
+        String eTag = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/courses").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        teacher.setName("Dr. Alice Smith-Jones");
+        userRepository.save(teacher);
+
+        mockMvc.perform(get("/api/courses").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].teacher.name").value("Dr. Alice Smith-Jones"));
+    }
+
+    /**
+     * Изменения должны проходить только с актуальной версией в If-Match:
+     * устаревшая версия даёт 412, PATCH без If-Match — 428.
+     * ETag из ответа PATCH должен совпадать с ETag следующего GET,
+     * а изменение преподавателя должно делать прежний ETag устаревшим.
+     */
+    @Test
+    @Order(6)
+    public void shouldRejectUpdatesWithStaleVersion() throws Exception {
+        baseCourseRequest.setTitle("Optimistic Locking");
+        baseCourseRequest.setDescription("If-Match support.");
+        CourseResponse created = createCourse(baseCourseRequest);
+
+        String eTag = mockMvc.perform(get("/api/courses/{id}", created.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        CourseRequest patch = new CourseRequest();
+        patch.setDuration(45);
+        mockMvc.perform(patch("/api/courses/{id}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isPreconditionRequired());
+
+        String patchedETag = mockMvc.perform(patch("/api/courses/{id}", created.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/api/courses/{id}", created.getId()).header("If-None-Match", patchedETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/courses/{id}", created.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isPreconditionFailed());
+
+        CourseRequest update = new CourseRequest();
+        update.setTitle("Lost Update");
+        mockMvc.perform(put("/api/courses/{id}", created.getId())
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/courses/{id}", created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Optimistic Locking"))
+                .andExpect(jsonPath("$.duration").value(45));
+
+        teacher.setName("Dr. Alice Smith-Jones");
+        userRepository.save(teacher);
+        mockMvc.perform(put("/api/courses/{id}", created.getId())
+                        .header("If-Match", patchedETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Дерево курса должно приходить целиком, с модулями по orderIndex,
+     * и загружаться фиксированным числом запросов независимо от размера курса.
+     */
+    @Test
+    @Order(7)
+    public void shouldReturnCourseTreeWithConstantNumberOfQueries() throws Exception {
+        baseCourseRequest.setTitle("Course Tree");
+        baseCourseRequest.setDescription("Whole hierarchy in one call.");
+        CourseResponse created = createCourse(baseCourseRequest);
+        Course course = courseRepository.findById(created.getId()).orElseThrow();
+        for (int m = 3; m >= 1; m--) {
+            Module module = new Module();
+            module.setTitle("Module " + m);
+            module.setOrderIndex(m);
+            module.setCourse(course);
+            module = moduleRepository.save(module);
+            for (int l = 1; l <= 4; l++) {
+                Lesson lesson = new Lesson();
+                lesson.setTitle("Lesson " + m + "." + l);
+                lesson.setModule(module);
+                lesson = lessonRepository.save(lesson);
+                Assignment assignment = new Assignment();
+                assignment.setTitle("Assignment " + m + "." + l);
+                assignment.setMaxScore(100);
+                assignment.setLesson(lesson);
+                assignmentRepository.save(assignment);
+            }
+            Quiz quiz = new Quiz();
+            quiz.setTitle("Quiz " + m);
+            quiz.setModule(module);
+            quizRepository.save(quiz);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/courses/{id}/tree", created.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Course Tree"))
+                .andExpect(jsonPath("$.teacher.name").value("Dr. Alice Smith"))
+                .andExpect(jsonPath("$.modules.length()").value(3))
+                .andExpect(jsonPath("$.modules[0].title").value("Module 1"))
+                .andExpect(jsonPath("$.modules[2].title").value("Module 3"))
+                .andExpect(jsonPath("$.modules[0].lessons.length()").value(4))
+                .andExpect(jsonPath("$.modules[0].lessons[0].assignments[0].title").value("Assignment 1.1"))
+                .andExpect(jsonPath("$.modules[1].quizzes[0].title").value("Quiz 2"));
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("Курс, модули, уроки, викторины и задания — по одному запросу на уровень")
+                .isLessThanOrEqualTo(5);
+    }
+
+    /**
+     * Журнал оценок должен строиться одним агрегирующим запросом и отдаваться потоком
+     * в JSON и CSV: лучший результат по каждому заданию и викторине для каждого записанного студента.
+     */
+    @Test
+    @Order(8)
+    public void shouldStreamGradebookAsJsonAndCsv() throws Exception {
+        baseCourseRequest.setTitle("Gradebook Course");
+        baseCourseRequest.setDescription("Scores matrix.");
+        CourseResponse created = createCourse(baseCourseRequest);
+        Long courseId = created.getId();
+        User anna = saveStudent("Anna Student", "anna@student.edu");
+        User boris = saveStudent("Boris Student", "boris@student.edu");
+        Long moduleId = jdbcTemplate.queryForObject(
+                "insert into modules (title, order_index, course_id) values ('Module', 1, ?) returning id",
+                Long.class, courseId);
+        Long lessonId = jdbcTemplate.queryForObject(
+                "insert into lessons (title, module_id) values ('Lesson', ?) returning id", Long.class, moduleId);
+        Long assignmentId = jdbcTemplate.queryForObject(
+                "insert into assignments (title, max_score, lesson_id) values ('Essay', 100, ?) returning id",
+                Long.class, lessonId);
+        Long quizId = jdbcTemplate.queryForObject(
+                "insert into quizzes (title, module_id) values ('Quiz', ?) returning id", Long.class, moduleId);
+        for (User student : List.of(anna, boris)) {
+            jdbcTemplate.update("insert into enrollments (user_id, course_id, enroll_date, status) values (?, ?, now(), 'ACTIVE')",
+                    student.getId(), courseId);
+        }
+        jdbcTemplate.update("insert into submissions (content, submitted_at, score, assignment_id, student_id) values ('Text', now(), 80, ?, ?)",
+                assignmentId, anna.getId());
+        jdbcTemplate.update("insert into quiz_submissions (score, taken_at, quiz_id, student_id) values (40, now(), ?, ?), (70, now(), ?, ?)",
+                quizId, anna.getId(), quizId, anna.getId());
+
+        MvcResult json = mockMvc.perform(get("/api/courses/{id}/gradebook", courseId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(2))
+                .andExpect(jsonPath("$.columns[0].title").value("Essay"))
+                .andExpect(jsonPath("$.columns[1].kind").value("QUIZ"))
+                .andExpect(jsonPath("$.students.length()").value(2))
+                .andExpect(jsonPath("$.students[0].studentName").value("Anna Student"))
+                .andExpect(jsonPath("$.students[0].scores[0]").value(80))
+                .andExpect(jsonPath("$.students[0].scores[1]").value(70))
+                .andExpect(jsonPath("$.students[1].scores[0]").doesNotExist());
+
+        MvcResult csv = mockMvc.perform(get("/api/courses/{id}/gradebook", courseId).param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("gradebook.csv")))
+                .andExpect(content().string(containsString("student_id,student_name,Essay,Quiz\r\n")))
+                .andExpect(content().string(containsString(anna.getId() + ",Anna Student,80,70\r\n")))
+                .andExpect(content().string(containsString(boris.getId() + ",Boris Student,,\r\n")));
+
+        mockMvc.perform(get("/api/courses/{id}/gradebook", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private User saveStudent(String name, String email) {
+        User student = new User();
+        student.setName(name);
+        student.setEmail(email);
+        student.setRole(User.Role.STUDENT);
+        return userRepository.save(student);
+    }
+
     // Утилитарный метод для создания курса через API и получения ответа
     private CourseResponse createCourse(CourseRequest request) throws Exception {
         String json = objectMapper.writeValueAsString(request);
@@ -184,4 +184,60 @@ public class CourseReviewControllerIntegrationTest {
         mockMvc.perform(get("/api/course-reviews/{id}", review.getId()))
                 .andExpect(status().isNotFound());
     }
+
+    /**
+     * Сводка рейтинга должна обновляться при создании, изменении оценки и удалении отзывов,
+     * а для курса без отзывов — возвращать нулевой счётчик без средней оценки.
+     */
+    @Test
+    @Order(4)
+    public void shouldMaintainRatingSummary() throws Exception {
+        mockMvc.perform(get("/api/course-reviews/summary/{courseId}", course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").doesNotExist());
+
+        long first = createReview(student, 5);
+        createReview(teacher, 4);
+
+        CourseReviewRequest downgrade = new CourseReviewRequest();
+        downgrade.setRating(1);
+        mockMvc.perform(put("/api/course-reviews/{id}", first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(downgrade)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/course-reviews/summary/{courseId}", course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(2))
+                .andExpect(jsonPath("$.averageRating").value(2.5))
+                .andExpect(jsonPath("$.histogram.1").value(1))
+                .andExpect(jsonPath("$.histogram.4").value(1))
+                .andExpect(jsonPath("$.histogram.5").value(0));
+
+        mockMvc.perform(delete("/api/course-reviews/{id}", first))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/course-reviews/summary/{courseId}", course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(4.0))
+                .andExpect(jsonPath("$.histogram.1").value(0));
+
+        mockMvc.perform(get("/api/course-reviews/summary/{courseId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createReview(User author, int rating) throws Exception {
+        CourseReviewRequest request = new CourseReviewRequest();
+        request.setRating(rating);
+        String json = mockMvc.perform(post("/api/course-reviews/{courseId}/{studentId}", course.getId(), author.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(json).get("id").asLong();
+    }
 }
@@ -0,0 +1,210 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Интеграционные тесты полнотекстового поиска по каталогу курсов.
+ * Проверяют ранжирование, фасеты по категориям и тегам, фильтр по дате начала
+ * и постраничный обход по курсору.
+ */
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CourseSearchTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long backendId;
+    private long dataId;
+    private long beginnerTagId;
+    private long advancedTagId;
+
+    @BeforeAll
+    public void loadCatalog() {
+        long teacherId = insertId("insert into users (email, name, role) values ('search-teacher@example.com', 'Search Teacher', 'TEACHER') returning id");
+        backendId = insertId("insert into categories (name) values ('Search Backend') returning id");
+        dataId = insertId("insert into categories (name) values ('Search Data') returning id");
+        beginnerTagId = insertId("insert into tags (name) values ('search-beginner') returning id");
+        advancedTagId = insertId("insert into tags (name) values ('search-advanced') returning id");
+
+        long titleMatch = insertCourse("Kubernetes Operators", "Writing controllers in Go.", backendId, teacherId, "2026-02-01");
+        long descriptionMatch = insertCourse("Cloud Platform Basics", "Deploying services on Kubernetes clusters.", dataId, teacherId, "2026-05-01");
+        long beginner = insertCourse("Kubernetes for Beginners", "First steps with Kubernetes pods.", backendId, teacherId, "2026-09-01");
+        jdbcTemplate.update("insert into course_tag (course_id, tag_id) values (?, ?), (?, ?), (?, ?), (?, ?)",
+                titleMatch, advancedTagId, descriptionMatch, beginnerTagId, beginner, beginnerTagId, beginner, advancedTagId);
+        for (int i = 0; i < 25; i++) {
+            insertCourse("Haskell Seminar " + i, "Functional programming with monads.", dataId, teacherId, "2026-03-01");
+        }
+    }
+
+    /**
+     * Совпадение в названии должно ранжироваться выше совпадения только в описании,
+     * а фасеты должны считать курсы по категориям и тегам.
+     */
+    @Test
+    public void shouldRankTitleMatchesFirstAndCountFacets() throws Exception {
+        JsonNode page = search(get("/api/courses/search").param("q", "kubernetes"));
+
+        assertThat(page.get("items")).hasSize(3);
+        assertThat(page.get("items").get(2).get("title").asText())
+                .as("Совпадение только в описании должно быть последним")
+                .isEqualTo("Cloud Platform Basics");
+        assertThat(facet(page, "categories", backendId)).isEqualTo(2);
+        assertThat(facet(page, "categories", dataId)).isEqualTo(1);
+        assertThat(facet(page, "tags", beginnerTagId)).isEqualTo(2);
+    }
+
+    /**
+     * Фильтр по категории не должен менять счётчики самой категории,
+     * но должен сужать выдачу и счётчики тегов; дата начала фильтруется включительно.
+     */
+    @Test
+    public void shouldApplyFacetAndDateFilters() throws Exception {
+        JsonNode page = search(get("/api/courses/search")
+                .param("q", "kubernetes")
+                .param("categoryId", String.valueOf(backendId))
+                .param("tagIds", String.valueOf(beginnerTagId))
+                .param("startFrom", "2026-09-01"));
+
+        assertThat(page.get("items")).hasSize(1);
+        assertThat(page.get("items").get(0).get("title").asText()).isEqualTo("Kubernetes for Beginners");
+        assertThat(facet(page, "categories", backendId)).isEqualTo(1);
+        assertThat(facet(page, "tags", beginnerTagId)).isEqualTo(1);
+    }
+
+    /**
+     * Выбранные теги объединяются по И, поэтому счётчик тега должен показывать,
+     * сколько курсов останется, если добавить его к уже выбранным.
+     */
+    @Test
+    public void shouldCountTagsWithinSelectedTags() throws Exception {
+        JsonNode oneTag = search(get("/api/courses/search")
+                .param("q", "kubernetes")
+                .param("tagIds", String.valueOf(beginnerTagId)));
+
+        assertThat(oneTag.get("items")).hasSize(2);
+        assertThat(facet(oneTag, "tags", beginnerTagId)).isEqualTo(2);
+        assertThat(facet(oneTag, "tags", advancedTagId))
+                .as("Только один курс с тегом beginner имеет и тег advanced")
+                .isEqualTo(1);
+
+        JsonNode bothTags = search(get("/api/courses/search")
+                .param("q", "kubernetes")
+                .param("tagIds", String.valueOf(beginnerTagId), String.valueOf(advancedTagId)));
+
+        assertThat(bothTags.get("items")).hasSize(1);
+        assertThat(bothTags.get("items").get(0).get("title").asText()).isEqualTo("Kubernetes for Beginners");
+        assertThat(facet(bothTags, "tags", beginnerTagId)).isEqualTo(1);
+        assertThat(facet(bothTags, "tags", advancedTagId)).isEqualTo(1);
+    }
+
+    /**
+     * Обход всех страниц по курсору должен вернуть каждый курс ровно один раз.
+     */
+    @Test
+    public void shouldWalkAllPagesWithCursor() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder builder = get("/api/courses/search").param("q", "monads").param("limit", "10");
+            if (cursor != null) {
+                builder.param("after", cursor);
+            }
+            JsonNode page = search(builder);
+            page.get("items").forEach(item -> assertThat(seen.add(item.get("id").asLong())).isTrue());
+            pageSizes.add(page.get("items").size());
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(25);
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+    }
+
+    /**
+     * Повреждённый курсор должен отклоняться.
+     */
+    @Test
+    public void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/courses/search").param("q", "kubernetes").param("after", "not-a-cursor"))
+                .andExpect(status().isConflict());
+    }
+
+    private JsonNode search(MockHttpServletRequestBuilder builder) throws Exception {
+        String json = mockMvc.perform(builder)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private long facet(JsonNode page, String facet, long id) {
+        for (JsonNode entry : page.get(facet)) {
+            if (entry.get("id").asLong() == id) {
+                return entry.get("count").asLong();
+            }
+        }
+        return 0;
+    }
+
+    private long insertCourse(String title, String description, long categoryId, long teacherId, String startDate) {
+        return insertId("""
+                insert into courses (title, description, category_id, teacher_id, start_date, duration)
+                values (?, ?, ?, ?, ?::date, 10) returning id
+                """, title, description, categoryId, teacherId, startDate);
+    }
+
+    private long insertId(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
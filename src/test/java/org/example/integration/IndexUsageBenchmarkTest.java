@@ -0,0 +1,205 @@
+package org.example.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Бенчмарк планов запросов для индексов из 004-add-indexes.yaml.
+ * Заполняет базу объёмом, близким к боевому, и проверяет через EXPLAIN ANALYZE,
+ * что запросы репозиториев идут по индексу, а не последовательным сканированием.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IndexUsageBenchmarkTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long studentId;
+    private long courseId;
+    private long assignmentId;
+    private long quizId;
+    private List<Long> quizIds;
+
+    @BeforeAll
+    public void loadVolume() {
+        // 5 000 студентов, 1 000 курсов, по 5 модулей/уроков/викторин на курс,
+        // ~50 000 записей на курсы, сдач заданий и попыток викторин
+        jdbcTemplate.execute("""
+                insert into users (email, name, role)
+                select 'bench-' || g || '@example.com', 'Bench User ' || g, 'STUDENT'
+                from generate_series(1, 5000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into courses (title, description, teacher_id, duration)
+                select 'Bench Course ' || g, 'Benchmark course', (select min(id) from users), 30
+                from generate_series(1, 1000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into enrollments (user_id, course_id, enroll_date, status)
+                select u.id, c.id, now(), 'ACTIVE'
+                from users u join courses c on c.id % 100 = u.id % 100
+                where u.email like 'bench-%' and c.title like 'Bench Course %'
+                """);
+        jdbcTemplate.execute("""
+                insert into modules (title, order_index, course_id)
+                select 'Bench Module ' || g, g, c.id
+                from courses c cross join generate_series(1, 5) g
+                where c.title like 'Bench Course %'
+                """);
+        jdbcTemplate.execute("""
+                insert into quizzes (title, module_id)
+                select 'Bench Quiz', m.id from modules m where m.title like 'Bench Module %'
+                """);
+        jdbcTemplate.execute("""
+                insert into questions (text, type, quiz_id)
+                select 'Bench Question ' || g, 'SINGLE_CHOICE', q.id
+                from quizzes q cross join generate_series(1, 5) g
+                where q.title = 'Bench Quiz'
+                """);
+        jdbcTemplate.execute("""
+                insert into quiz_submissions (score, taken_at, quiz_id, student_id)
+                select 50, now(), q.id, u.id
+                from quizzes q join users u on u.id % 500 = q.id % 500
+                where q.title = 'Bench Quiz' and u.email like 'bench-%'
+                """);
+        jdbcTemplate.execute("""
+                insert into lessons (title, content, module_id)
+                select 'Bench Lesson', 'Content', m.id from modules m where m.title like 'Bench Module %'
+                """);
+        jdbcTemplate.execute("""
+                insert into assignments (title, max_score, lesson_id)
+                select 'Bench Assignment', 100, l.id from lessons l where l.title = 'Bench Lesson'
+                """);
+        jdbcTemplate.execute("""
+                insert into submissions (content, submitted_at, assignment_id, student_id)
+                select 'Answer', now(), a.id, u.id
+                from assignments a join users u on u.id % 500 = a.id % 500
+                where a.title = 'Bench Assignment' and u.email like 'bench-%'
+                """);
+        jdbcTemplate.execute("analyze");
+
+        studentId = jdbcTemplate.queryForObject("select min(id) from users where email like 'bench-%'", Long.class);
+        courseId = jdbcTemplate.queryForObject("select min(id) from courses where title like 'Bench Course %'", Long.class);
+        assignmentId = jdbcTemplate.queryForObject("select min(id) from assignments where title = 'Bench Assignment'", Long.class);
+        quizIds = jdbcTemplate.queryForList("""
+                select q.id from quizzes q join modules m on m.id = q.module_id where m.course_id = ?
+                """, Long.class, courseId);
+        quizId = quizIds.get(0);
+    }
+
+    /**
+     * EnrollmentRepository.findByUserId должен использовать составной индекс (user_id, course_id).
+     */
+    @Test
+    public void enrollmentsByUserShouldUseIndex() {
+        assertUsesIndex("select * from enrollments where user_id = " + studentId,
+                "uq_enrollments_user_id_course_id");
+    }
+
+    /**
+     * EnrollmentRepository.findByCourseId должен использовать индекс по course_id.
+     */
+    @Test
+    public void enrollmentsByCourseShouldUseIndex() {
+        assertUsesIndex("select * from enrollments where course_id = " + courseId,
+                "idx_enrollments_course_id");
+    }
+
+    /**
+     * EnrollmentRepository.existsByUserIdAndCourseId должен использовать составной индекс.
+     */
+    @Test
+    public void enrollmentExistsShouldUseIndex() {
+        assertUsesIndex("select id from enrollments where user_id = " + studentId
+                        + " and course_id = " + courseId + " fetch first 1 rows only",
+                "uq_enrollments_user_id_course_id");
+    }
+
+    /**
+     * SubmissionRepository.findByStudentId должен использовать составной индекс (student_id, assignment_id).
+     */
+    @Test
+    public void submissionsByStudentShouldUseIndex() {
+        assertUsesIndex("select * from submissions where student_id = " + studentId,
+                "uq_submissions_student_id_assignment_id");
+    }
+
+    /**
+     * Поиск сдачи студента по заданию должен использовать уникальный индекс (student_id, assignment_id).
+     */
+    @Test
+    public void submissionExistsShouldUseIndex() {
+        assertUsesIndex("select id from submissions where student_id = " + studentId
+                        + " and assignment_id = " + assignmentId + " fetch first 1 rows only",
+                "uq_submissions_student_id_assignment_id");
+    }
+
+    /**
+     * QuizSubmissionRepository.findByQuizIdIn должен использовать индекс по quiz_id.
+     */
+    @Test
+    public void quizSubmissionsByQuizIdsShouldUseIndex() {
+        String ids = quizIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+        assertUsesIndex("select * from quiz_submissions where quiz_id in (" + ids + ")",
+                "idx_quiz_submissions_quiz_id");
+    }
+
+    /**
+     * QuestionRepository.findAllByQuiz_Id должен использовать индекс по quiz_id.
+     */
+    @Test
+    public void questionsByQuizShouldUseIndex() {
+        assertUsesIndex("select * from questions where quiz_id = " + quizId,
+                "idx_questions_quiz_id");
+    }
+
+    /**
+     * QuizRepository.findByModule_CourseId должен использовать индексы modules.course_id и quizzes.module_id.
+     */
+    @Test
+    public void quizzesByCourseShouldUseIndexes() {
+        String sql = "select q.* from quizzes q left join modules m on m.id = q.module_id where m.course_id = " + courseId;
+        assertUsesIndex(sql, "idx_modules_course_id");
+        assertUsesIndex(sql, "idx_quizzes_module_id");
+    }
+
+    private void assertUsesIndex(String sql, String indexName) {
+        String plan = jdbcTemplate.queryForObject("explain (analyze, format json) " + sql, String.class);
+        System.out.println(indexName + ": " + plan.replaceAll("\\s+", " "));
+        assertThat(plan)
+                .as("План запроса должен использовать индекс %s: %s", indexName, sql)
+                .contains("\"Index Name\": \"" + indexName + "\"")
+                .doesNotContain("\"Node Type\": \"Seq Scan\"");
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.integration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.config.ReplicaRoutingDataSource;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Маршрутизация read-only транзакций на реплику.
+ * Поднимает primary и потоковую реплику (pg_basebackup -R) в двух контейнерах
+ * и проверяет, куда уходят чтения и записи, а также откат на primary при отставании реплики.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    private static final Network network = Network.newNetwork();
+
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n", 0755),
+                    "/docker-entrypoint-initdb.d/10-replication.sh");
+
+    @Container
+    private static final GenericContainer<?> replica = new GenericContainer<>("postgres:17.5")
+            .withNetwork(network)
+            .withEnv("PGDATA", "/var/lib/postgresql/data")
+            .withEnv("PGPASSWORD", "testpass")
+            .withExposedPorts(5432)
+            .dependsOn(primary)
+            .withCreateContainerCmdModifier(cmd -> cmd
+                    .withUser("postgres")
+                    .withEntrypoint("bash", "-c", """
+                            until pg_basebackup -h primary -U testuser -D "$PGDATA" -R -X stream; do
+                              rm -rf "$PGDATA"/*; sleep 1
+                            done
+                            chmod 0700 "$PGDATA"
+                            exec postgres
+                            """))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("db.replica.enabled", () -> true);
+        registry.add("db.replica.urls", ReadReplicaRoutingTest::replicaUrl);
+        registry.add("db.replica.max-lag", () -> "PT1S");
+        registry.add("db.replica.lag-check-interval", () -> "PT1H");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @AfterEach
+    public void resumeReplay() throws Exception {
+        onReplica("select pg_wal_replay_resume()");
+        replicaRoutingDataSource.checkLag();
+    }
+
+    /**
+     * Read-only транзакция должна читать с реплики в read-only сессии Hibernate,
+     * а обычная транзакция — работать с primary.
+     */
+    @Test
+    public void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        replicaRoutingDataSource.checkLag();
+
+        // When
+        Boolean readOnlyInRecovery = inTransaction(true, () -> {
+            assertThat(entityManager.unwrap(Session.class).isDefaultReadOnly()).isTrue();
+            return isInRecovery();
+        });
+        Boolean readWriteInRecovery = inTransaction(false, this::isInRecovery);
+
+        // Then
+        assertThat(replicaRoutingDataSource.healthyReplicaCount()).isEqualTo(1);
+        assertThat(readOnlyInRecovery).as("Read-only транзакция должна уйти на реплику").isTrue();
+        assertThat(readWriteInRecovery).as("Пишущая транзакция должна остаться на primary").isFalse();
+    }
+
+    /**
+     * При отставании реплики больше допустимого чтения должны уходить на primary,
+     * а после догоняния — снова на реплику.
+     */
+    @Test
+    public void shouldFallBackToPrimaryWhenReplicaLags() throws Exception {
+        // Given
+        onReplica("select pg_wal_replay_pause()");
+        jdbcTemplate.update("insert into tags (name) values ('replica-lag-probe')");
+        Thread.sleep(1_500);
+
+        // When
+        replicaRoutingDataSource.checkLag();
+        Boolean laggingRead = inTransaction(true, this::isInRecovery);
+        onReplica("select pg_wal_replay_resume()");
+        Thread.sleep(500);
+        replicaRoutingDataSource.checkLag();
+        Boolean recoveredRead = inTransaction(true, this::isInRecovery);
+
+        // Then
+        assertThat(laggingRead).as("Отстающая реплика должна быть исключена из маршрутизации").isFalse();
+        assertThat(recoveredRead).as("Догнавшая реплика должна вернуться в маршрутизацию").isTrue();
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> action.get());
+    }
+
+    private Boolean isInRecovery() {
+        return jdbcTemplate.queryForObject("select pg_is_in_recovery()", Boolean.class);
+    }
+
+    private static void onReplica(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), "testuser", "testpass");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/testdb";
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.request.CategoryRequest;
+import org.example.entity.Category;
+import org.example.entity.Tag;
+import org.example.service.CategoryService;
+import org.example.service.TagService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Кэш второго уровня Hibernate для справочных данных.
+ * Проверяет попадания в регионы сущностей и запросов и инвалидацию
+ * существующими методами обновления и удаления сервисов.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Повторное чтение категории должно обслуживаться из кэша без запроса к БД.
+     */
+    @Test
+    public void shouldServeRepeatedCategoryReadsFromCache() {
+        // Given
+        Category category = new Category();
+        category.setName("Cached Category");
+        Long id = categoryService.createCategory(category).getId();
+        statistics.clear();
+
+        // When
+        categoryService.getCategoryById(id);
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+        Category cached = categoryService.getCategoryById(id);
+
+        // Then
+        assertThat(cached.getName()).isEqualTo("Cached Category");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead);
+        assertThat(statistics.getDomainDataRegionStatistics("categories").getHitCount()).isPositive();
+    }
+
+    /**
+     * Обновление и удаление категории должны инвалидировать закэшированную запись.
+     */
+    @Test
+    public void shouldInvalidateCategoryOnUpdateAndDelete() {
+        // Given
+        Category category = new Category();
+        category.setName("Before Update");
+        Long id = categoryService.createCategory(category).getId();
+        categoryService.getCategoryById(id);
+        CategoryRequest request = new CategoryRequest();
+        request.setName("After Update");
+
+        // When
+        categoryService.updateCategory(id, request, null);
+        Category updated = categoryService.getCategoryById(id);
+        categoryService.deleteCategory(id);
+
+        // Then
+        assertThat(updated.getName()).isEqualTo("After Update");
+        assertThat(sessionFactory.getCache().containsEntity(Category.class, id)).isFalse();
+        assertThatThrownBy(() -> categoryService.getCategoryById(id))
+                .hasMessageContaining("Category not found");
+    }
+
+    /**
+     * Страница тегов должна браться из кэша запросов, пока таблица не изменится.
+     */
+    @Test
+    public void shouldCacheTagPageUntilTagsChange() {
+        // Given
+        Tag tag = new Tag();
+        tag.setName("cached-tag");
+        tagService.createTag(tag);
+        tagService.getPage(null, 50);
+        long hitsBefore = statistics.getQueryCacheHitCount();
+
+        // When
+        tagService.getPage(null, 50);
+        long hitsAfterRepeat = statistics.getQueryCacheHitCount();
+        Tag another = new Tag();
+        another.setName("another-cached-tag");
+        tagService.createTag(another);
+        int sizeAfterInsert = tagService.getPage(null, 50).getItems().size();
+
+        // Then
+        assertThat(hitsAfterRepeat).isGreaterThan(hitsBefore);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitsAfterRepeat);
+        assertThat(sizeAfterInsert).isGreaterThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Интеграционные тесты потоковой выгрузки сдач заданий и попыток викторин.
+ * Проверяют форматы CSV и NDJSON и фильтры по курсу, студенту и диапазону дат.
+ */
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SubmissionExportTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long studentId;
+    private long exportCourseId;
+
+    @BeforeAll
+    public void loadSubmissions() {
+        // Два курса с викториной и двумя заданиями; студент сдаёт всё в январе и марте 2025 года
+        long teacherId = insertId("insert into users (email, name, role) values ('export-teacher@example.com', 'Teacher', 'TEACHER') returning id");
+        studentId = insertId("insert into users (email, name, role) values ('export-student@example.com', 'Student, \"Quoted\"', 'STUDENT') returning id");
+        exportCourseId = 0;
+        for (String title : List.of("Export Course", "Other Course")) {
+            long courseId = insertId("insert into courses (title, description, teacher_id, duration) values (?, 'Export', ?, 10) returning id", title, teacherId);
+            if (exportCourseId == 0) {
+                exportCourseId = courseId;
+            }
+            long moduleId = insertId("insert into modules (title, order_index, course_id) values ('Module', 1, ?) returning id", courseId);
+            long lessonId = insertId("insert into lessons (title, module_id) values ('Lesson', ?) returning id", moduleId);
+            long quizId = insertId("insert into quizzes (title, module_id) values ('Quiz', ?) returning id", moduleId);
+            for (String date : List.of("2025-01-15 10:00", "2025-03-15 10:00")) {
+                // Одно задание сдаётся один раз, поэтому на каждую дату своё
+                long assignmentId = insertId("insert into assignments (title, lesson_id) values ('Essay', ?) returning id", lessonId);
+                jdbcTemplate.update("""
+                        insert into submissions (content, submitted_at, score, feedback, assignment_id, student_id)
+                        values ('Line one\nline two', ?::timestamp, 90, 'Good', ?, ?)
+                        """, date, assignmentId, studentId);
+                jdbcTemplate.update("insert into quiz_submissions (score, taken_at, quiz_id, student_id) values (75, ?::timestamp, ?, ?)",
+                        date, quizId, studentId);
+            }
+        }
+    }
+
+    /**
+     * CSV-выгрузка сдач по курсу должна содержать заголовок и только строки этого курса,
+     * с экранированием запятых, кавычек и переводов строк.
+     */
+    @Test
+    public void shouldExportSubmissionsOfCourseAsCsv() throws Exception {
+        String csv = stream(get("/api/submissions/export").param("courseId", String.valueOf(exportCourseId)));
+
+        assertThat(csv).startsWith("id,course_id,assignment_id,assignment_title,student_id,student_name,content,score,feedback,submitted_at\r\n");
+        assertThat(csv).contains(",\"Student, \"\"Quoted\"\"\",\"Line one\nline two\",90,Good,2025-01-15T10:00\r\n");
+        assertThat(csv.split("\r\n"))
+                .as("Заголовок и две сдачи выбранного курса")
+                .hasSize(3);
+    }
+
+    /**
+     * NDJSON-выгрузка попыток викторин должна отдавать по одному JSON-объекту на строку
+     * и учитывать фильтры по студенту и диапазону дат включительно.
+     */
+    @Test
+    public void shouldExportQuizSubmissionsInDateRangeAsNdjson() throws Exception {
+        String ndjson = stream(get("/api/quiz-submissions/export")
+                .param("format", "ndjson")
+                .param("studentId", String.valueOf(studentId))
+                .param("from", "2025-03-01")
+                .param("to", "2025-03-15"));
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows)
+                .as("Обе мартовские попытки, по одной на курс")
+                .hasSize(2)
+                .allSatisfy(row -> {
+                    assertThat(row.get("studentId").asLong()).isEqualTo(studentId);
+                    assertThat(row.get("takenAt").asText()).startsWith("2025-03-15");
+                });
+    }
+
+    /**
+     * Диапазон, у которого начало позже конца, должен отклоняться до начала выгрузки.
+     */
+    @Test
+    public void shouldRejectInvertedDateRange() throws Exception {
+        mockMvc.perform(get("/api/submissions/export").param("from", "2025-04-01").param("to", "2025-03-01"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/submissions/export").param("format", "xml"))
+                .andExpect(status().isConflict());
+    }
+
+    private String stream(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private long insertId(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.integration;
+
+import org.example.config.ConnectionLimitingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочное сравнение платформенных и виртуальных потоков на блокирующих запросах к БД.
+ * Каждая задача держит соединение ~20 мс (pg_sleep); число одновременно открытых
+ * соединений не должно превышать размер пула Hikari в обоих режимах.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class VirtualThreadLoadTest {
+
+    private static final int TASKS = 2_000;
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> POOL_SIZE);
+        registry.add("spring.datasource.hikari.connection-timeout", () -> 120_000);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * DataSource должен быть обёрнут ограничителем с числом разрешений, равным размеру пула.
+     */
+    @Test
+    public void shouldLimitDataSourceToPoolSize() {
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(((ConnectionLimitingDataSource) dataSource).availablePermits()).isEqualTo(POOL_SIZE);
+    }
+
+    /**
+     * Все задачи должны завершиться успешно в обоих режимах, не превысив размер пула,
+     * и после нагрузки все разрешения ограничителя должны вернуться.
+     */
+    @Test
+    public void shouldCompleteBlockingLoadOnVirtualThreads() throws Exception {
+        // Given
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // When
+        double platform;
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            platform = runLoad(executor, active, peak);
+        }
+        int platformPeak = peak.getAndSet(0);
+        double virtual;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = runLoad(executor, active, peak);
+        }
+        int virtualPeak = peak.get();
+
+        // Then
+        System.out.printf("Blocking DB load, %d tasks on a %d-connection pool: %d platform threads -> %.0f tasks/s, "
+                + "virtual threads -> %.0f tasks/s%n", TASKS, POOL_SIZE, PLATFORM_THREADS, platform, virtual);
+        assertThat(platformPeak).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(virtualPeak).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(((ConnectionLimitingDataSource) dataSource).availablePermits()).isEqualTo(POOL_SIZE);
+    }
+
+    private double runLoad(ExecutorService executor, AtomicInteger active, AtomicInteger peak) throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            futures.add(executor.submit(() -> jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select pg_sleep(0.02)");
+                    return 1;
+                } finally {
+                    active.decrementAndGet();
+                }
+            })));
+        }
+        int completed = 0;
+        for (Future<Integer> future : futures) {
+            completed += future.get();
+        }
+        double throughput = TASKS / ((System.nanoTime() - start) / 1_000_000_000.0);
+        assertThat(completed).isEqualTo(TASKS);
+        return throughput;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import org.example.dto.projection.AnswerKeyRow;
+import org.example.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AnswerKeyCacheTest {
+
+    private static final List<AnswerKeyRow> ROWS = List.of(new AnswerKeyRow(100L, 1000L, true));
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private AnswerKeyCache answerKeyCache;
+
+    @BeforeEach
+    public void setUp() {
+        answerKeyCache = new AnswerKeyCache(questionRepository);
+    }
+
+    /**
+     * Скомпилированный ключ должен кэшироваться и отдаваться без повторного запроса.
+     */
+    @Test
+    public void shouldCacheCompiledKey() {
+        // Given
+        when(questionRepository.findAnswerKeyRows(1L)).thenReturn(ROWS);
+
+        // When
+        AnswerKey first = answerKeyCache.get(1L);
+        AnswerKey second = answerKeyCache.get(1L);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(questionRepository, times(1)).findAnswerKeyRows(1L);
+    }
+
+    /**
+     * Ключ, скомпилированный до вытеснения этой же викторины, не должен попасть в кэш.
+     */
+    @Test
+    public void shouldNotCacheKeyCompiledBeforeEviction() {
+        // Given
+        when(questionRepository.findAnswerKeyRows(1L)).thenAnswer(invocation -> {
+            answerKeyCache.evict(1L);
+            return ROWS;
+        }).thenReturn(ROWS);
+
+        // When
+        answerKeyCache.get(1L);
+        answerKeyCache.get(1L);
+        answerKeyCache.get(1L);
+
+        // Then
+        verify(questionRepository, times(2)).findAnswerKeyRows(1L);
+    }
+
+    /**
+     * Вытеснение другой викторины не должно мешать кэшированию.
+     */
+    @Test
+    public void shouldCacheKeyWhenAnotherQuizIsEvicted() {
+        // Given
+        when(questionRepository.findAnswerKeyRows(1L)).thenAnswer(invocation -> {
+            answerKeyCache.evict(2L);
+            return ROWS;
+        });
+
+        // When
+        answerKeyCache.get(1L);
+        answerKeyCache.get(1L);
+
+        // Then
+        verify(questionRepository, times(1)).findAnswerKeyRows(1L);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.service;
+
+import org.example.dto.projection.AnswerKeyRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AnswerKeyTest {
+
+    // Вопрос 1 — один правильный вариант, вопрос 2 — множественный выбор (два правильных из трёх),
+    // вопрос 3 — без вариантов
+    private final AnswerKey answerKey = AnswerKey.compile(List.of(
+            new AnswerKeyRow(1L, 10L, false),
+            new AnswerKeyRow(1L, 11L, true),
+            new AnswerKeyRow(2L, 20L, true),
+            new AnswerKeyRow(2L, 21L, false),
+            new AnswerKeyRow(2L, 22L, true),
+            new AnswerKeyRow(3L, null, null)
+    ));
+
+    /**
+     * Ключ должен содержать все вопросы викторины, включая вопросы без вариантов.
+     */
+    @Test
+    public void shouldCompileAllQuestions() {
+        assertThat(answerKey.questionCount()).isEqualTo(3);
+        assertThat(answerKey.isEmpty()).isFalse();
+        assertThat(AnswerKey.EMPTY.isEmpty()).isTrue();
+    }
+
+    /**
+     * В режиме «всё или ничего» вопрос засчитывается только при точном совпадении набора вариантов.
+     */
+    @Test
+    public void shouldGradeAllOrNothing() {
+        assertThat(answerKey.grade(Map.of(1L, Set.of(11L), 2L, Set.of(20L, 22L)), GradingMode.ALL_OR_NOTHING))
+                .isEqualTo(2.0);
+        assertThat(answerKey.grade(Map.of(2L, Set.of(20L)), GradingMode.ALL_OR_NOTHING))
+                .isZero();
+        assertThat(answerKey.grade(Map.of(2L, Set.of(20L, 21L, 22L)), GradingMode.ALL_OR_NOTHING))
+                .isZero();
+    }
+
+    /**
+     * В режиме частичного зачёта каждый лишний вариант отменяет один правильный.
+     */
+    @Test
+    public void shouldGradePartialCredit() {
+        assertThat(answerKey.grade(Map.of(2L, Set.of(20L)), GradingMode.PARTIAL_CREDIT))
+                .isCloseTo(0.5, within(1e-9));
+        assertThat(answerKey.grade(Map.of(2L, Set.of(20L, 21L)), GradingMode.PARTIAL_CREDIT))
+                .isZero();
+        assertThat(answerKey.grade(Map.of(1L, Set.of(11L), 2L, Set.of(20L, 22L)), GradingMode.PARTIAL_CREDIT))
+                .isCloseTo(2.0, within(1e-9));
+    }
+
+    /**
+     * Частичный зачёт должен округляться вниз до целых баллов: полвопроса — это не полный балл.
+     */
+    @Test
+    public void shouldFloorPartialCreditToWholePoints() {
+        assertThat(answerKey.points(Map.of(2L, Set.of(20L)), GradingMode.PARTIAL_CREDIT)).isZero();
+        assertThat(answerKey.points(Map.of(1L, Set.of(11L), 2L, Set.of(20L)), GradingMode.PARTIAL_CREDIT)).isEqualTo(1);
+        assertThat(answerKey.points(Map.of(1L, Set.of(11L), 2L, Set.of(20L, 22L)), GradingMode.PARTIAL_CREDIT)).isEqualTo(2);
+    }
+
+    /**
+     * Вариант чужого вопроса считается неверным выбором, неизвестные вопросы игнорируются.
+     */
+    @Test
+    public void shouldTreatForeignOptionsAsWrong() {
+        assertThat(answerKey.grade(Map.of(1L, Set.of(20L)), GradingMode.ALL_OR_NOTHING)).isZero();
+        assertThat(answerKey.grade(Map.of(1L, Set.of(11L, 20L)), GradingMode.ALL_OR_NOTHING)).isZero();
+        assertThat(answerKey.grade(Map.of(99L, Set.of(11L), 3L, Set.of(30L)), GradingMode.PARTIAL_CREDIT)).isZero();
+    }
+
+    /**
+     * Вопросы с более чем 64 вариантами должны корректно занимать несколько слов битсета.
+     */
+    @Test
+    public void shouldSupportQuestionsWithManyOptions() {
+        List<AnswerKeyRow> rows = new ArrayList<>();
+        for (long option = 1; option <= 130; option++) {
+            rows.add(new AnswerKeyRow(1L, option, option == 1 || option == 70 || option == 130));
+        }
+        AnswerKey wide = AnswerKey.compile(rows);
+
+        assertThat(wide.grade(Map.of(1L, Set.of(1L, 70L, 130L)), GradingMode.ALL_OR_NOTHING)).isEqualTo(1.0);
+        assertThat(wide.grade(Map.of(1L, Set.of(1L, 70L, 129L)), GradingMode.ALL_OR_NOTHING)).isZero();
+        assertThat(wide.grade(Map.of(1L, Set.of(70L, 130L)), GradingMode.PARTIAL_CREDIT))
+                .isCloseTo(2.0 / 3, within(1e-9));
+    }
+}
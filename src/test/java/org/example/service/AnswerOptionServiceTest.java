@@ -3,6 +3,7 @@ package org.example.service;
 import org.example.dto.request.AnswerOptionRequest;
 import org.example.entity.AnswerOption;
 import org.example.entity.Question;
+import org.example.entity.Quiz;
 import org.example.exception.EntityNotFoundException;
 import org.example.repository.AnswerOptionRepository;
 import org.example.repository.QuestionRepository;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,11 +31,14 @@ public class AnswerOptionServiceTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
     @InjectMocks
     private AnswerOptionService answerOptionService;
 
     /**
-     * Должен вернуть список всех вариантов ответов при вызове fetchAllAnswerOptions.
+     * Должен вернуть список всех вариантов ответов при вызове fetchAnswerOptionPage без курсора.
      */
     @Test
     public void shouldReturnAllAnswerOptionsWhenFetchAllIsCalled() {
@@ -42,14 +47,14 @@ public class AnswerOptionServiceTest {
                 new AnswerOption(),
                 new AnswerOption()
         );
-        when(answerOptionRepository.findAll()).thenReturn(options);
+        when(answerOptionRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(options);
 
         // When
-        List<AnswerOption> result = answerOptionService.fetchAllAnswerOptions();
+        List<AnswerOption> result = answerOptionService.fetchAnswerOptionPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(answerOptionRepository, times(1)).findAll();
+        verify(answerOptionRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -92,8 +97,12 @@ public class AnswerOptionServiceTest {
     @Test
     public void shouldCreateAnswerOptionWhenQuestionExists() {
         // Given
+        Quiz quiz = new Quiz();
+        quiz.setId(10L);
+
         Question question = new Question();
         question.setId(1L);
+        question.setQuiz(quiz);
 
         AnswerOption option = new AnswerOption();
         option.setText("Yes");
@@ -118,6 +127,7 @@ public class AnswerOptionServiceTest {
         assertThat(created.getQuestion().getId()).isEqualTo(1L);
         verify(questionRepository).findById(1L);
         verify(answerOptionRepository).save(option);
+        verify(answerKeyCache).evict(10L);
     }
 
     /**
@@ -145,15 +155,19 @@ public class AnswerOptionServiceTest {
         when(answerOptionRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(questionRepository.findById(2L)).thenReturn(Optional.of(newQuestion));
         when(answerOptionRepository.save(existing)).thenReturn(existing);
+        when(questionRepository.findQuizIdById(1L)).thenReturn(Optional.of(10L));
+        when(questionRepository.findQuizIdById(2L)).thenReturn(Optional.of(20L));
 
         // When
-        AnswerOption updated = answerOptionService.updateExistingAnswerOption(1L, request);
+        AnswerOption updated = answerOptionService.updateExistingAnswerOption(1L, request, null);
 
         // Then
         assertThat(updated.getText()).isEqualTo("Correct Answer");
         assertThat(updated.getIsCorrect()).isTrue();
         assertThat(updated.getQuestion().getId()).isEqualTo(2L);
         verify(answerOptionRepository).save(existing);
+        verify(answerKeyCache).evict(10L);
+        verify(answerKeyCache).evict(20L);
     }
 
     /**
@@ -166,7 +180,7 @@ public class AnswerOptionServiceTest {
         when(answerOptionRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> answerOptionService.updateExistingAnswerOption(1L, request))
+        assertThatThrownBy(() -> answerOptionService.updateExistingAnswerOption(1L, request, null))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("not found");
         verify(answerOptionRepository).findById(1L);
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.projection.AssignmentRow;
 import org.example.dto.request.AssignmentRequest;
 import org.example.entity.Assignment;
 import org.example.entity.Lesson;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -32,23 +34,23 @@ public class AssignmentServiceTest {
     private AssignmentService assignmentService;
 
     /**
-     * Должен вернуть список всех заданий при вызове getAll.
+     * Должен вернуть список всех заданий при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllAssignmentsWhenGetAllIsCalled() {
         // Given
-        List<Assignment> assignments = Arrays.asList(
-                new Assignment(),
-                new Assignment()
+        List<AssignmentRow> assignments = Arrays.asList(
+                new AssignmentRow(1L, "Assignment 1", null, null, 100, 1L, "Lesson"),
+                new AssignmentRow(2L, "Assignment 2", null, null, 100, 1L, "Lesson")
         );
-        when(assignmentRepository.findAll()).thenReturn(assignments);
+        when(assignmentRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(assignments);
 
         // When
-        List<Assignment> result = assignmentService.getAll();
+        List<AssignmentRow> result = assignmentService.getPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(assignmentRepository, times(1)).findAll();
+        verify(assignmentRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -59,7 +61,7 @@ public class AssignmentServiceTest {
         // Given
         Assignment assignment = new Assignment();
         assignment.setTitle("Debug the Login Module");
-        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
+        when(assignmentRepository.findDetailedById(1L)).thenReturn(Optional.of(assignment));
 
         // When
         Assignment found = assignmentService.getAssignmentById(1L);
@@ -67,7 +69,7 @@ public class AssignmentServiceTest {
         // Then
         assertThat(found).isNotNull();
         assertThat(found.getTitle()).isEqualTo("Debug the Login Module");
-        verify(assignmentRepository).findById(1L);
+        verify(assignmentRepository).findDetailedById(1L);
     }
 
     /**
@@ -136,7 +138,7 @@ public class AssignmentServiceTest {
         when(assignmentRepository.save(existing)).thenReturn(existing);
 
         // When
-        Assignment updated = assignmentService.updateAssignment(1L, request);
+        Assignment updated = assignmentService.updateAssignment(1L, request, null);
 
         // Then
         assertThat(updated.getTitle()).isEqualTo("Updated: Add OAuth Support");
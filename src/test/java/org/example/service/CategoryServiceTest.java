@@ -10,6 +10,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,7 +30,7 @@ public class CategoryServiceTest {
     private CategoryService categoryService;
 
     /**
-     * Должен вернуть список всех категорий при вызове getAll.
+     * Должен вернуть список всех категорий при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllCategoriesWhenGetAllIsCalled() {
@@ -38,14 +39,14 @@ public class CategoryServiceTest {
                 new Category(),
                 new Category()
         );
-        when(categoryRepository.findAll()).thenReturn(categories);
+        when(categoryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(categories);
 
         // When
-        List<Category> result = categoryService.getAll();
+        List<Category> result = categoryService.getPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(categoryRepository).findAll();
+        verify(categoryRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -121,7 +122,7 @@ public class CategoryServiceTest {
         when(categoryRepository.save(existing)).thenReturn(existing);
 
         // When
-        Category updated = categoryService.updateCategory(1L, request);
+        Category updated = categoryService.updateCategory(1L, request, null);
 
         // Then
         assertThat(updated.getName()).isEqualTo("Advanced Programming");
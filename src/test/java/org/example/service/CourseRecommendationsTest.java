@@ -0,0 +1,150 @@
+package org.example.service;
+
+import org.example.dto.projection.UserCourseRow;
+import org.example.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseRecommendationsTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CourseRecommendations recommendations;
+
+    @BeforeEach
+    public void setUp() {
+        recommendations = new CourseRecommendations(enrollmentRepository,
+                new TransactionTemplate(transactionManager), Duration.ofHours(1));
+    }
+
+    /**
+     * Полная перестройка должна посчитать число общих студентов для каждой пары курсов
+     * и отдавать рекомендации по убыванию этого числа.
+     */
+    @Test
+    public void shouldRebuildCoEnrollmentCounts() {
+        // Given
+        when(enrollmentRepository.findCurrentSnapshot()).thenReturn("100:100:");
+        when(enrollmentRepository.findAllUserCourses()).thenReturn(List.of(
+                new UserCourseRow(1L, 10L), new UserCourseRow(1L, 20L), new UserCourseRow(1L, 30L),
+                new UserCourseRow(2L, 10L), new UserCourseRow(2L, 20L),
+                new UserCourseRow(3L, 10L), new UserCourseRow(3L, 40L),
+                new UserCourseRow(4L, 50L)
+        ));
+
+        // When
+        recommendations.rebuild();
+
+        // Then
+        assertThat(recommendations.top(10L, 10)).containsExactly(
+                new CourseRecommendations.Recommendation(20L, 2),
+                new CourseRecommendations.Recommendation(30L, 1),
+                new CourseRecommendations.Recommendation(40L, 1)
+        );
+        assertThat(recommendations.top(10L, 1)).containsExactly(new CourseRecommendations.Recommendation(20L, 2));
+        assertThat(recommendations.top(50L, 10)).isEmpty();
+    }
+
+    /**
+     * Запись и отчисление студента должны инкрементально менять счётчики,
+     * а обнулившаяся пара — пропадать из рекомендаций.
+     */
+    @Test
+    public void shouldApplyEnrollmentChanges() {
+        // Given
+        when(enrollmentRepository.findOtherCourses(anyCollection(), eq(20L))).thenReturn(List.of(
+                new UserCourseRow(1L, 10L), new UserCourseRow(2L, 10L), new UserCourseRow(2L, 30L)
+        ));
+
+        // When
+        recommendations.enrolled(20L, List.of(1L, 2L));
+
+        // Then
+        assertThat(recommendations.top(20L, 10)).containsExactly(
+                new CourseRecommendations.Recommendation(10L, 2),
+                new CourseRecommendations.Recommendation(30L, 1)
+        );
+        assertThat(recommendations.top(30L, 10)).containsExactly(new CourseRecommendations.Recommendation(20L, 1));
+
+        // When
+        recommendations.unenrolled(20L, List.of(1L, 2L));
+
+        // Then
+        assertThat(recommendations.top(20L, 10)).isEmpty();
+        assertThat(recommendations.top(10L, 10)).isEmpty();
+    }
+
+    /**
+     * Запись, закоммиченная во время перестройки, должна учитываться один раз:
+     * повторно применяется только изменение, которое снимок перестройки ещё не видел.
+     */
+    @Test
+    public void shouldReplayOnlyChangesMissedByRebuildSnapshot() {
+        // Given
+        when(enrollmentRepository.findCurrentSnapshot()).thenReturn("100:105:102");
+        when(enrollmentRepository.findOtherCourses(anyCollection(), eq(20L)))
+                .thenReturn(List.of(new UserCourseRow(1L, 10L)));
+        when(enrollmentRepository.findOtherCourses(anyCollection(), eq(30L)))
+                .thenReturn(List.of(new UserCourseRow(2L, 10L)));
+        when(enrollmentRepository.findCurrentTransactionId()).thenReturn("101", "102");
+        when(enrollmentRepository.findAllUserCourses()).thenAnswer(invocation -> {
+            // Транзакция 101 уже видна снимку, 102 ещё выполнялась в момент его создания
+            commitInTransaction(() -> recommendations.enrolled(20L, List.of(1L)));
+            commitInTransaction(() -> recommendations.enrolled(30L, List.of(2L)));
+            return List.of(new UserCourseRow(1L, 10L), new UserCourseRow(1L, 20L), new UserCourseRow(2L, 10L));
+        });
+
+        // When
+        recommendations.rebuild();
+
+        // Then
+        assertThat(recommendations.top(10L, 10)).containsExactly(
+                new CourseRecommendations.Recommendation(20L, 1),
+                new CourseRecommendations.Recommendation(30L, 1)
+        );
+    }
+
+    /**
+     * Снимок видит транзакции ниже xmin и завершённые до xmax, кроме выполнявшихся в момент снимка.
+     */
+    @Test
+    public void shouldParseTransactionSnapshot() {
+        CourseRecommendations.TxSnapshot snapshot = CourseRecommendations.TxSnapshot.parse("100:105:101,103");
+
+        assertThat(snapshot.sees(99L)).isTrue();
+        assertThat(snapshot.sees(101L)).isFalse();
+        assertThat(snapshot.sees(102L)).isTrue();
+        assertThat(snapshot.sees(105L)).isFalse();
+        assertThat(snapshot.sees(null)).isFalse();
+    }
+
+    private static void commitInTransaction(Runnable change) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            change.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
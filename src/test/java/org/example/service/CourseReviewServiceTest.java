@@ -1,9 +1,14 @@
 package org.example.service;
 
+import org.example.dto.projection.CourseReviewRow;
 import org.example.dto.request.CourseReviewRequest;
 import org.example.entity.Course;
+import org.example.entity.CourseRatingSummary;
 import org.example.entity.CourseReview;
 import org.example.entity.User;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.InvalidRequestException;
+import org.example.repository.CourseRatingSummaryRepository;
 import org.example.repository.CourseRepository;
 import org.example.repository.CourseReviewRepository;
 import org.example.repository.UserRepository;
@@ -12,12 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +39,9 @@ public class CourseReviewServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseRatingSummaryRepository courseRatingSummaryRepository;
+
     @InjectMocks
     private CourseReviewService courseReviewService;
 
@@ -41,18 +51,18 @@ public class CourseReviewServiceTest {
     @Test
     public void shouldReturnAllCourseReviewsWhenGetAllIsCalled() {
         // Given
-        List<CourseReview> reviews = Arrays.asList(
-                new CourseReview(),
-                new CourseReview()
+        List<CourseReviewRow> reviews = Arrays.asList(
+                new CourseReviewRow(1L, 5, "Great", null, 1L, "Java", 2L, "Student"),
+                new CourseReviewRow(2L, 5, "Great", null, 1L, "Java", 2L, "Student")
         );
-        when(courseReviewRepository.findAll()).thenReturn(reviews);
+        when(courseReviewRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(reviews);
 
         // When
-        List<CourseReview> result = courseReviewService.getAll();
+        List<CourseReviewRow> result = courseReviewService.getPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(courseReviewRepository).findAll();
+        verify(courseReviewRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -96,6 +106,7 @@ public class CourseReviewServiceTest {
         verify(courseRepository).findById(1L);
         verify(userRepository).findById(2L);
         verify(courseReviewRepository).save(review);
+        verify(courseRatingSummaryRepository).applyReview(1L, 4, 1);
     }
 
     /**
@@ -134,7 +145,7 @@ public class CourseReviewServiceTest {
         when(courseReviewRepository.save(existing)).thenReturn(existing);
 
         // When
-        CourseReview updated = courseReviewService.updateCourseReview(1L, request);
+        CourseReview updated = courseReviewService.updateCourseReview(1L, request, null);
 
         // Then
         assertThat(updated.getRating()).isEqualTo(5);
@@ -142,5 +153,104 @@ public class CourseReviewServiceTest {
         assertThat(updated.getCourse().getId()).isEqualTo(2L);
         assertThat(updated.getStudent().getId()).isEqualTo(3L);
         verify(courseReviewRepository).save(existing);
+        verify(courseRatingSummaryRepository).applyReview(1L, 3, -1);
+        verify(courseRatingSummaryRepository).applyReview(2L, 5, 1);
+    }
+
+    /**
+     * Не должен трогать сводку рейтинга, если изменился только комментарий.
+     */
+    @Test
+    public void shouldKeepSummaryWhenOnlyCommentChanges() {
+        // Given
+        Course course = new Course();
+        course.setId(1L);
+        CourseReview existing = new CourseReview();
+        existing.setRating(4);
+        existing.setComment("Good");
+        existing.setCourse(course);
+
+        CourseReviewRequest request = new CourseReviewRequest();
+        request.setComment("Good, with great examples");
+
+        when(courseReviewRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(courseReviewRepository.save(existing)).thenReturn(existing);
+
+        // When
+        courseReviewService.updateCourseReview(1L, request, null);
+
+        // Then
+        verifyNoInteractions(courseRatingSummaryRepository);
+    }
+
+    /**
+     * Должен отклонить оценку вне диапазона 1–5.
+     */
+    @Test
+    public void shouldRejectRatingOutOfRange() {
+        // Given
+        CourseReview review = new CourseReview();
+        review.setRating(6);
+
+        // When & Then
+        assertThatThrownBy(() -> courseReviewService.createCourseReview(1L, 2L, review))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("between 1 and 5");
+        verifyNoInteractions(courseReviewRepository, courseRatingSummaryRepository);
+    }
+
+    /**
+     * Должен вычесть оценку удалённого отзыва из сводки курса.
+     */
+    @Test
+    public void shouldDecrementSummaryWhenReviewDeleted() {
+        // Given
+        Course course = new Course();
+        course.setId(1L);
+        User student = new User();
+        student.setId(2L);
+        CourseReview existing = new CourseReview();
+        existing.setRating(2);
+        existing.setCourse(course);
+        existing.setStudent(student);
+        when(courseReviewRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        // When
+        courseReviewService.deleteCourseReview(1L);
+
+        // Then
+        verify(courseReviewRepository).delete(existing);
+        verify(courseRatingSummaryRepository).applyReview(1L, 2, -1);
+    }
+
+    /**
+     * Должен вернуть пустую сводку для курса без отзывов.
+     */
+    @Test
+    public void shouldReturnEmptySummaryForCourseWithoutReviews() {
+        // Given
+        when(courseRatingSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(courseRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        CourseRatingSummary summary = courseReviewService.getRatingSummary(1L);
+
+        // Then
+        assertThat(summary.getCourseId()).isEqualTo(1L);
+        assertThat(summary.getReviewCount()).isZero();
+    }
+
+    /**
+     * Должен выбросить исключение при запросе сводки несуществующего курса.
+     */
+    @Test
+    public void shouldThrowExceptionWhenSummaryRequestedForMissingCourse() {
+        // Given
+        when(courseRatingSummaryRepository.findById(99L)).thenReturn(Optional.empty());
+        when(courseRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> courseReviewService.getRatingSummary(99L))
+                .isInstanceOf(EntityNotFoundException.class);
     }
 }
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.projection.CourseRow;
 import org.example.dto.request.CourseRequest;
 import org.example.entity.Category;
 import org.example.entity.Course;
@@ -8,12 +9,14 @@ import org.example.entity.User;
 import org.example.repository.CategoryRepository;
 import org.example.repository.CourseRepository;
 import org.example.repository.EnrollmentRepository;
+import org.example.repository.TagRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -21,6 +24,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,27 +44,52 @@ public class CourseServiceTest {
     @Mock
     private EnrollmentRepository enrollmentRepository;
 
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private CourseTagIndex courseTagIndex;
+
+    @Mock
+    private CourseRecommendations courseRecommendations;
+
     @InjectMocks
     private CourseService courseService;
 
     /**
-     * Должен вернуть список всех курсов при вызове getAll.
+     * Должен вернуть список всех курсов при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllCoursesWhenGetAllIsCalled() {
         // Given
-        List<Course> courses = Arrays.asList(
-                new Course(),
-                new Course()
+        List<CourseRow> courses = Arrays.asList(
+                new CourseRow(1L, "Course 1", null, 10L, "Teacher", null, null, null, 30),
+                new CourseRow(2L, "Course 2", null, 10L, "Teacher", null, null, null, 30)
         );
-        when(courseRepository.findAll()).thenReturn(courses);
+        when(courseRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(courses);
 
         // When
-        List<Course> result = courseService.getAll();
+        List<CourseRow> result = courseService.getPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(courseRepository).findAll();
+        verify(courseRepository).findPageAfter(eq(0L), any(Limit.class));
+    }
+
+    /**
+     * Должен вычислять версию страницы по тому же окну строк, что и getPage, включая пробную строку.
+     */
+    @Test
+    public void shouldReturnPageVersionForSameWindowAsPage() {
+        // Given
+        when(courseRepository.findPageVersion(0L, 11)).thenReturn("abc123");
+
+        // When
+        String version = courseService.getPageVersion(null, 10);
+
+        // Then
+        assertThat(version).isEqualTo("abc123");
+        verify(courseRepository).findPageVersion(0L, 11);
     }
 
     /**
@@ -70,7 +100,7 @@ public class CourseServiceTest {
         // Given
         Course course = new Course();
         course.setTitle("Java Fundamentals");
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.findDetailedById(1L)).thenReturn(Optional.of(course));
 
         // When
         Course found = courseService.getCourseById(1L);
@@ -78,7 +108,7 @@ public class CourseServiceTest {
         // Then
         assertThat(found).isNotNull();
         assertThat(found.getTitle()).isEqualTo("Java Fundamentals");
-        verify(courseRepository).findById(1L);
+        verify(courseRepository).findDetailedById(1L);
     }
 
     /**
@@ -220,13 +250,13 @@ public class CourseServiceTest {
         Category newCategory = new Category();
         newCategory.setId(3L);
 
-        when(courseRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(courseRepository.findDetailedById(1L)).thenReturn(Optional.of(existing));
         when(userRepository.findById(2L)).thenReturn(Optional.of(newTeacher));
         when(categoryRepository.findById(3L)).thenReturn(Optional.of(newCategory));
         when(courseRepository.save(existing)).thenReturn(existing);
 
         // When
-        Course updated = courseService.updateCourse(1L, request);
+        Course updated = courseService.updateCourse(1L, request, null);
 
         // Then
         assertThat(updated.getTitle()).isEqualTo("Updated: Microservices with Spring Cloud");
@@ -0,0 +1,115 @@
+package org.example.service;
+
+import org.example.dto.projection.CourseTagRow;
+import org.example.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseTagIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CourseTagIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        // Курсы 1..4; тег 10 у курсов 1, 2, 3; тег 20 у курсов 2, 3; тег 30 у курса 3
+        when(courseRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L));
+        when(courseRepository.findTagPairs()).thenReturn(List.of(
+                new CourseTagRow(1L, 10L), new CourseTagRow(2L, 10L), new CourseTagRow(3L, 10L),
+                new CourseTagRow(2L, 20L), new CourseTagRow(3L, 20L),
+                new CourseTagRow(3L, 30L)
+        ));
+        index = new CourseTagIndex(courseRepository, new TransactionTemplate(transactionManager));
+        index.start();
+    }
+
+    /**
+     * Должен находить курсы со всеми указанными тегами и без исключённых.
+     */
+    @Test
+    public void shouldMatchAllTagsAndExcludeTags() {
+        assertThat(index.match(List.of(10L, 20L), List.of(30L))).isEqualTo(bits(2));
+        assertThat(index.match(List.of(10L), List.of())).isEqualTo(bits(1, 2, 3));
+        assertThat(index.match(List.of(), List.of(10L))).isEqualTo(bits(4));
+        assertThat(index.match(List.of(), List.of())).isEqualTo(bits(1, 2, 3, 4));
+    }
+
+    /**
+     * Неизвестный тег в обязательных даёт пустой результат, а в исключённых игнорируется.
+     */
+    @Test
+    public void shouldHandleUnknownTags() {
+        assertThat(index.match(List.of(10L, 99L), List.of())).isEqualTo(bits());
+        assertThat(index.match(List.of(20L), List.of(99L))).isEqualTo(bits(2, 3));
+    }
+
+    /**
+     * Счётчики по тегам должны считаться только по найденным курсам.
+     */
+    @Test
+    public void shouldCountTagsWithinMatchedCourses() {
+        Map<Long, Integer> counts = index.countByTag(index.match(List.of(20L), List.of()));
+
+        assertThat(counts).containsOnly(Map.entry(10L, 2), Map.entry(20L, 2), Map.entry(30L, 1));
+    }
+
+    /**
+     * Изменения курсов и тегов должны отражаться в индексе, не затрагивая ранее выданные результаты.
+     */
+    @Test
+    public void shouldApplyChanges() {
+        // Given
+        BitSet before = index.match(List.of(10L), List.of());
+
+        // When
+        index.courseSaved(5L, List.of(10L, 40L));
+        index.courseDeleted(1L);
+        index.tagDeleted(30L);
+
+        // Then
+        assertThat(before).isEqualTo(bits(1, 2, 3));
+        assertThat(index.match(List.of(10L), List.of())).isEqualTo(bits(2, 3, 5));
+        assertThat(index.match(List.of(40L), List.of())).isEqualTo(bits(5));
+        assertThat(index.match(List.of(30L), List.of())).isEqualTo(bits());
+        assertThat(index.match(List.of(), List.of())).isEqualTo(bits(2, 3, 4, 5));
+    }
+
+    /**
+     * Курс с идентификатором за пределами int не должен ломать индекс и просто не индексируется.
+     */
+    @Test
+    public void shouldSkipCourseIdsBeyondIntRange() {
+        // When
+        index.courseSaved(3_000_000_000L, List.of(10L));
+        index.courseDeleted(3_000_000_000L);
+
+        // Then
+        assertThat(index.match(List.of(10L), List.of())).isEqualTo(bits(1, 2, 3));
+    }
+
+    private static BitSet bits(int... courseIds) {
+        BitSet bits = new BitSet();
+        for (int courseId : courseIds) {
+            bits.set(courseId);
+        }
+        return bits;
+    }
+}
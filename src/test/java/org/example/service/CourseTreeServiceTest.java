@@ -0,0 +1,123 @@
+package org.example.service;
+
+import org.example.dto.projection.AssignmentNodeRow;
+import org.example.dto.projection.CourseTree;
+import org.example.dto.projection.LessonNodeRow;
+import org.example.dto.projection.ModuleNodeRow;
+import org.example.dto.projection.QuizNodeRow;
+import org.example.entity.Course;
+import org.example.exception.EntityNotFoundException;
+import org.example.repository.AssignmentRepository;
+import org.example.repository.CourseRepository;
+import org.example.repository.LessonRepository;
+import org.example.repository.ModuleRepository;
+import org.example.repository.QuizRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseTreeServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ModuleRepository moduleRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private AssignmentRepository assignmentRepository;
+
+    @InjectMocks
+    private CourseTreeService courseTreeService;
+
+    /**
+     * Должен загрузить дерево курса одним запросом на уровень,
+     * передавая на каждый следующий уровень id предыдущего.
+     */
+    @Test
+    public void shouldLoadTreeWithOneQueryPerLevel() {
+        // Given
+        Course course = new Course();
+        course.setId(1L);
+        List<ModuleNodeRow> modules = List.of(
+                new ModuleNodeRow(10L, "Intro", 1),
+                new ModuleNodeRow(11L, "Advanced", 2)
+        );
+        List<LessonNodeRow> lessons = List.of(
+                new LessonNodeRow(20L, 10L, "Lesson 1"),
+                new LessonNodeRow(21L, 11L, "Lesson 2")
+        );
+        List<QuizNodeRow> quizzes = List.of(new QuizNodeRow(30L, 11L, "Quiz", 15));
+        List<AssignmentNodeRow> assignments = List.of(new AssignmentNodeRow(40L, 21L, "Homework", null, 100));
+        when(courseRepository.findDetailedById(1L)).thenReturn(Optional.of(course));
+        when(moduleRepository.findNodesByCourseId(1L)).thenReturn(modules);
+        when(lessonRepository.findNodesByModuleIdIn(List.of(10L, 11L))).thenReturn(lessons);
+        when(quizRepository.findNodesByModuleIdIn(List.of(10L, 11L))).thenReturn(quizzes);
+        when(assignmentRepository.findNodesByLessonIdIn(List.of(20L, 21L))).thenReturn(assignments);
+
+        // When
+        CourseTree tree = courseTreeService.getCourseTree(1L);
+
+        // Then
+        assertThat(tree.course()).isSameAs(course);
+        assertThat(tree.modules()).isEqualTo(modules);
+        assertThat(tree.lessons()).isEqualTo(lessons);
+        assertThat(tree.quizzes()).isEqualTo(quizzes);
+        assertThat(tree.assignments()).isEqualTo(assignments);
+        verify(lessonRepository).findNodesByModuleIdIn(List.of(10L, 11L));
+        verify(assignmentRepository).findNodesByLessonIdIn(List.of(20L, 21L));
+    }
+
+    /**
+     * Не должен делать запросы к нижним уровням, если у курса нет модулей.
+     */
+    @Test
+    public void shouldSkipChildQueriesWhenCourseHasNoModules() {
+        // Given
+        Course course = new Course();
+        course.setId(1L);
+        when(courseRepository.findDetailedById(1L)).thenReturn(Optional.of(course));
+        when(moduleRepository.findNodesByCourseId(1L)).thenReturn(List.of());
+
+        // When
+        CourseTree tree = courseTreeService.getCourseTree(1L);
+
+        // Then
+        assertThat(tree.modules()).isEmpty();
+        assertThat(tree.assignments()).isEmpty();
+        verifyNoInteractions(lessonRepository, quizRepository, assignmentRepository);
+    }
+
+    /**
+     * Должен выбросить исключение, если курс не найден.
+     */
+    @Test
+    public void shouldThrowExceptionWhenCourseNotFound() {
+        // Given
+        when(courseRepository.findDetailedById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> courseTreeService.getCourseTree(99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Course not found");
+        verifyNoInteractions(moduleRepository);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CsvWriterTest {
+
+    /**
+     * Простые значения должны выводиться без кавычек, null — пустой ячейкой.
+     */
+    @Test
+    public void shouldWritePlainValuesAndEmptyCellsForNull() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.writeRow(Arrays.asList(1L, "Alice", null, -5));
+        csv.flush();
+
+        assertThat(out.toString()).isEqualTo("1,Alice,,-5\r\n");
+    }
+
+    /**
+     * Запятые, кавычки и переводы строк должны экранироваться по RFC 4180.
+     */
+    @Test
+    public void shouldQuoteSpecialCharacters() {
+        assertThat(CsvWriter.escape("Smith, John")).isEqualTo("\"Smith, John\"");
+        assertThat(CsvWriter.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(CsvWriter.escape("line\nbreak")).isEqualTo("\"line\nbreak\"");
+    }
+
+    /**
+     * Значения, похожие на формулы, должны оставаться текстом в табличных редакторах.
+     */
+    @Test
+    public void shouldNeutralizeFormulaLikeValues() {
+        assertThat(CsvWriter.escape("=SUM(A1:A2)")).isEqualTo("'=SUM(A1:A2)");
+        assertThat(CsvWriter.escape("@cmd")).isEqualTo("'@cmd");
+        assertThat(CsvWriter.escape("-12")).isEqualTo("-12");
+    }
+}
@@ -1,20 +1,31 @@
 package org.example.service;
 
+import org.example.dto.nested.BulkEnrollmentResult;
+import org.example.dto.projection.EnrollmentCandidateRow;
+import org.example.dto.projection.EnrollmentRow;
 import org.example.entity.Enrollment;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.ExistEntityException;
 import org.example.repository.CourseRepository;
 import org.example.repository.EnrollmentRepository;
+import org.example.repository.EnrollmentWriteRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +40,12 @@ public class EnrollmentServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private EnrollmentWriteRepository enrollmentWriteRepository;
+
+    @Mock
+    private CourseRecommendations courseRecommendations;
+
     @InjectMocks
     private EnrollmentService enrollmentService;
 
@@ -38,37 +55,144 @@ public class EnrollmentServiceTest {
     @Test
     public void shouldReturnAllEnrollmentsWhenGetAllIsCalled() {
         // Given
-        List<Enrollment> enrollments = Arrays.asList(
-                new Enrollment(),
-                new Enrollment()
+        List<EnrollmentRow> enrollments = Arrays.asList(
+                new EnrollmentRow(1L, 2L, "Student", 1L, "Java", null, Enrollment.EnrollmentStatus.ACTIVE),
+                new EnrollmentRow(2L, 2L, "Student", 1L, "Java", null, Enrollment.EnrollmentStatus.ACTIVE)
         );
-        when(enrollmentRepository.findAll()).thenReturn(enrollments);
+        when(enrollmentRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(enrollments);
 
         // When
-        List<Enrollment> result = enrollmentService.getAll();
+        List<EnrollmentRow> result = enrollmentService.getPage(null, null).getItems();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(enrollmentRepository).findAll();
+        verify(enrollmentRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
-     * Должен удалить запись, если она существует.
+     * Должен записать пользователя на курс одной вставкой и учесть запись в рекомендациях.
      */
     @Test
-    public void shouldUnenrollUserWhenEnrollmentExists() {
+    public void shouldEnrollUserWhenNotEnrolled() {
         // Given
-        Enrollment enrollment = new Enrollment();
-        enrollment.setId(1L);
+        EnrollmentRow row = new EnrollmentRow(5L, 1L, "Student", 2L, "Java", LocalDateTime.now(), Enrollment.EnrollmentStatus.ACTIVE);
+        when(enrollmentWriteRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class))).thenReturn(Optional.of(row));
+
+        // When
+        EnrollmentRow result = enrollmentService.enrollUserToCourse(1L, 2L);
 
-        when(enrollmentRepository.findByUserIdAndCourseId(1L, 2L)).thenReturn(Optional.of(enrollment));
-        doNothing().when(enrollmentRepository).delete(enrollment);
+        // Then
+        assertThat(result).isEqualTo(row);
+        verify(courseRecommendations).enrolled(2L, List.of(1L));
+        verifyNoInteractions(userRepository, courseRepository);
+    }
+
+    /**
+     * Повторная запись на курс должна отклоняться как дубликат и не менять рекомендации.
+     */
+    @Test
+    public void shouldRejectEnrollmentWhenAlreadyEnrolled() {
+        // Given
+        when(enrollmentWriteRepository.insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(2L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> enrollmentService.enrollUserToCourse(1L, 2L))
+                .isInstanceOf(ExistEntityException.class)
+                .hasMessage("User is already enrolled in this course");
+        verifyNoInteractions(courseRecommendations);
+    }
+
+    /**
+     * Запись на несуществующий курс должна возвращать ошибку «не найдено».
+     */
+    @Test
+    public void shouldThrowWhenEnrollingToMissingCourse() {
+        // Given
+        when(enrollmentWriteRepository.insertIfAbsent(eq(1L), eq(99L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> enrollmentService.enrollUserToCourse(1L, 99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Course not found: ID=99");
+    }
+
+    /**
+     * Должен удалить запись одним запросом, если она существует.
+     */
+    @Test
+    public void shouldUnenrollUserWhenEnrollmentExists() {
+        // Given
+        when(enrollmentWriteRepository.delete(1L, 2L)).thenReturn(Optional.of(5L));
 
         // When
         enrollmentService.unenrollUserFromCourse(1L, 2L);
 
         // Then
-        verify(enrollmentRepository).findByUserIdAndCourseId(1L, 2L);
-        verify(enrollmentRepository).delete(enrollment);
+        verify(enrollmentWriteRepository).delete(1L, 2L);
+        verify(courseRecommendations).unenrolled(2L, List.of(1L));
+    }
+
+    /**
+     * Отписка пользователя, не записанного на курс, должна отклоняться.
+     */
+    @Test
+    public void shouldRejectUnenrollWhenNotEnrolled() {
+        // Given
+        when(enrollmentWriteRepository.delete(1L, 2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> enrollmentService.unenrollUserFromCourse(1L, 2L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Enrollment not found for User ID=1 and Course ID=2");
+        verifyNoInteractions(courseRecommendations);
+    }
+
+    /**
+     * Должен записать на курс только существующих и ещё не записанных пользователей,
+     * вернув результат по каждой строке запроса.
+     */
+    @Test
+    public void shouldBulkEnrollOnlyNewExistingUsers() {
+        // Given
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(enrollmentWriteRepository.insertAllIfAbsent(eq(1L), eq(Set.of(10L, 11L, 99L)), any()))
+                .thenReturn(Map.of(10L, 700L));
+        when(enrollmentRepository.findCandidates(eq(1L), anyCollection())).thenReturn(List.of(
+                new EnrollmentCandidateRow(10L, 700L),
+                new EnrollmentCandidateRow(11L, 500L)
+        ));
+
+        // When
+        List<BulkEnrollmentResult> results = enrollmentService.bulkEnroll(1L, List.of(10L, 11L, 10L, 99L));
+
+        // Then
+        assertThat(results).extracting(BulkEnrollmentResult::getStatus).containsExactly(
+                BulkEnrollmentResult.Status.ENROLLED,
+                BulkEnrollmentResult.Status.ALREADY_ENROLLED,
+                BulkEnrollmentResult.Status.DUPLICATE_IN_REQUEST,
+                BulkEnrollmentResult.Status.USER_NOT_FOUND
+        );
+        assertThat(results).extracting(BulkEnrollmentResult::getEnrollmentId).containsExactly(700L, 500L, null, null);
+        verify(enrollmentRepository).findCandidates(eq(1L), anyCollection());
+        verify(enrollmentRepository, never()).saveAll(anyList());
+        verify(courseRecommendations).enrolled(1L, Set.of(10L));
+    }
+
+    /**
+     * Должен выбросить исключение, если курс для массовой записи не найден.
+     */
+    @Test
+    public void shouldThrowWhenBulkEnrollCourseNotFound() {
+        // Given
+        when(courseRepository.existsById(1L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> enrollmentService.bulkEnroll(1L, List.of(10L)))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(enrollmentWriteRepository);
     }
 }
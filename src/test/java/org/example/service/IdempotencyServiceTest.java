@@ -0,0 +1,158 @@
+package org.example.service;
+
+import org.example.dto.projection.IdempotencyRecord;
+import org.example.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String KEY = "6f1c1f4e-key";
+    private static final String FINGERPRINT = "a".repeat(64);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository,
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofMinutes(10), 2);
+    }
+
+    /**
+     * Первый запрос с ключом должен захватить его и выполниться.
+     */
+    @Test
+    public void shouldStartWhenKeyIsClaimed() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), any(), eq(FINGERPRINT), any(), eq(Duration.ofMinutes(1)))).thenReturn(true);
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // Then
+        assertThat(claim.status()).isEqualTo(IdempotencyService.Status.STARTED);
+        assertThat(claim.stored()).isNull();
+        assertThat(claim.token()).isNotNull();
+    }
+
+    /**
+     * Повтор завершённого запроса должен вернуть сохранённый ответ.
+     */
+    @Test
+    public void shouldReplayCompletedRequest() {
+        // Given
+        IdempotencyRecord stored = new IdempotencyRecord(FINGERPRINT, 201, "application/json", "/api/quizzes/1", new byte[]{'{', '}'});
+        when(idempotencyKeyRepository.claim(eq(KEY), any(), eq(FINGERPRINT), any(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find(KEY)).thenReturn(Optional.of(stored));
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // Then
+        assertThat(claim.status()).isEqualTo(IdempotencyService.Status.REPLAY);
+        assertThat(claim.stored()).isSameAs(stored);
+    }
+
+    /**
+     * Пока первый запрос не завершён, повтор должен получить IN_PROGRESS.
+     */
+    @Test
+    public void shouldReportRequestInProgress() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), any(), eq(FINGERPRINT), any(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find(KEY)).thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, null, null, null, null)));
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // Then
+        assertThat(claim.status()).isEqualTo(IdempotencyService.Status.IN_PROGRESS);
+    }
+
+    /**
+     * Ключ, использованный для другого запроса, должен давать MISMATCH.
+     */
+    @Test
+    public void shouldRejectKeyReusedForDifferentRequest() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), any(), eq(FINGERPRINT), any(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find(KEY)).thenReturn(Optional.of(new IdempotencyRecord("b".repeat(64), 201, null, null, null)));
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // Then
+        assertThat(claim.status()).isEqualTo(IdempotencyService.Status.MISMATCH);
+    }
+
+    /**
+     * Если ключ освободили между попыткой захвата и чтением, его нужно захватить повторно.
+     */
+    @Test
+    public void shouldClaimAgainWhenKeyWasReleased() {
+        // Given
+        when(idempotencyKeyRepository.claim(eq(KEY), any(), eq(FINGERPRINT), any(), any())).thenReturn(false, true);
+        when(idempotencyKeyRepository.find(KEY)).thenReturn(Optional.empty());
+
+        // When
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // Then
+        assertThat(claim.status()).isEqualTo(IdempotencyService.Status.STARTED);
+    }
+
+    /**
+     * Завершение и освобождение должны выполняться только с токеном своего захвата.
+     */
+    @Test
+    public void shouldCompleteAndReleaseWithClaimToken() {
+        // Given
+        ArgumentCaptor<UUID> token = ArgumentCaptor.forClass(UUID.class);
+        when(idempotencyKeyRepository.claim(eq(KEY), token.capture(), eq(FINGERPRINT), any(), any())).thenReturn(true);
+        IdempotencyService.Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+        // When
+        idempotencyService.complete(KEY, claim.token(), 201, null, null, null);
+        idempotencyService.release(KEY, claim.token());
+
+        // Then
+        assertThat(claim.token()).isEqualTo(token.getValue());
+        verify(idempotencyKeyRepository).complete(KEY, token.getValue(), 201, null, null, null);
+        verify(idempotencyKeyRepository).release(KEY, token.getValue());
+    }
+
+    /**
+     * Очистка должна удалять просроченные ключи пачками, пока пачка заполнена целиком.
+     */
+    @Test
+    public void shouldPurgeExpiredKeysInBatches() {
+        // Given
+        when(idempotencyKeyRepository.deleteExpired(2)).thenReturn(2, 2, 1);
+
+        // When
+        int purged = idempotencyService.purgeExpired();
+
+        // Then
+        assertThat(purged).isEqualTo(5);
+        verify(idempotencyKeyRepository, times(3)).deleteExpired(2);
+    }
+}
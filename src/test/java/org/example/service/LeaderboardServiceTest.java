@@ -0,0 +1,154 @@
+package org.example.service;
+
+import org.example.dto.projection.BestAttemptRow;
+import org.example.dto.projection.LeaderboardEntry;
+import org.example.exception.EntityNotFoundException;
+import org.example.repository.LeaderboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    public void setUp() {
+        // Викторины 1 и 2 в курсе 100; студенты 10, 11, 12
+        when(leaderboardRepository.findBestAttempts()).thenReturn(List.of(
+                new BestAttemptRow(1L, 100L, 10L, 80, T0),
+                new BestAttemptRow(1L, 100L, 11L, 90, T0.plusHours(1)),
+                new BestAttemptRow(1L, 100L, 12L, 80, T0.minusHours(1)),
+                new BestAttemptRow(2L, 100L, 10L, 50, T0.plusDays(1))
+        ));
+        leaderboardService = new LeaderboardService(leaderboardRepository);
+        leaderboardService.start();
+    }
+
+    /**
+     * Таблица викторины должна упорядочиваться по баллу, а при равенстве — по более ранней попытке.
+     */
+    @Test
+    public void shouldRankQuizByScoreThenTime() {
+        assertThat(leaderboardService.getQuizTop(1L, null)).containsExactly(
+                new LeaderboardEntry(1, 11L, 90, T0.plusHours(1)),
+                new LeaderboardEntry(2, 12L, 80, T0.minusHours(1)),
+                new LeaderboardEntry(3, 10L, 80, T0)
+        );
+        assertThat(leaderboardService.getQuizRank(1L, 10L).rank()).isEqualTo(3);
+        assertThat(leaderboardService.getQuizTop(1L, 1)).hasSize(1);
+    }
+
+    /**
+     * Таблица курса должна суммировать лучшие баллы студента по викторинам курса.
+     */
+    @Test
+    public void shouldSumBestScoresPerCourse() {
+        assertThat(leaderboardService.getCourseTop(100L, null))
+                .extracting(LeaderboardEntry::studentId, LeaderboardEntry::score)
+                .containsExactly(
+                        tuple(10L, 130),
+                        tuple(11L, 90),
+                        tuple(12L, 80)
+                );
+    }
+
+    /**
+     * Новая попытка должна поднимать студента только если она лучше прежней.
+     */
+    @Test
+    public void shouldKeepBestAttemptOnNewSubmission() {
+        // When
+        leaderboardService.recorded(1L, 10L, 70, T0.plusDays(2));
+        leaderboardService.recorded(1L, 12L, 95, T0.plusDays(2));
+
+        // Then
+        assertThat(leaderboardService.getQuizRank(1L, 10L).score()).isEqualTo(80);
+        assertThat(leaderboardService.getQuizRank(1L, 12L).rank()).isEqualTo(1);
+        assertThat(leaderboardService.getCourseRank(100L, 12L).score()).isEqualTo(95);
+    }
+
+    /**
+     * После удаления единственной попытки студент должен пропасть из таблиц викторины и курса.
+     */
+    @Test
+    public void shouldDropStudentWhenLastAttemptIsDeleted() {
+        // Given
+        when(leaderboardRepository.findBestAttempt(1L, 12L)).thenReturn(Optional.empty());
+
+        // When
+        leaderboardService.changed(1L, 12L);
+
+        // Then
+        assertThat(leaderboardService.getQuizTop(1L, null)).extracting(LeaderboardEntry::studentId)
+                .containsExactly(11L, 10L);
+        assertThatThrownBy(() -> leaderboardService.getCourseRank(100L, 12L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    /**
+     * Удаление викторины должно вычитать её баллы из таблицы курса.
+     */
+    @Test
+    public void shouldSubtractDeletedQuizFromCourse() {
+        // When
+        leaderboardService.quizDeleted(2L);
+
+        // Then
+        assertThat(leaderboardService.getQuizTop(2L, null)).isEmpty();
+        assertThat(leaderboardService.getCourseRank(100L, 10L).score()).isEqualTo(80);
+    }
+
+    /**
+     * Перенос викторины в модуль другого курса должен перенести её баллы в таблицу нового курса.
+     */
+    @Test
+    public void shouldMoveQuizScoresToNewCourse() {
+        // Given
+        when(leaderboardRepository.findCourseIdByQuizId(2L)).thenReturn(Optional.of(200L));
+
+        // When
+        leaderboardService.quizMoved(2L);
+
+        // Then
+        assertThat(leaderboardService.getCourseRank(100L, 10L).score()).isEqualTo(80);
+        assertThat(leaderboardService.getCourseTop(200L, null))
+                .extracting(LeaderboardEntry::studentId, LeaderboardEntry::score)
+                .containsExactly(tuple(10L, 50));
+    }
+
+    /**
+     * Перенос модуля в другой курс должен перенести баллы всех его викторин.
+     */
+    @Test
+    public void shouldMoveModuleQuizzesToNewCourse() {
+        // Given
+        when(leaderboardRepository.findQuizIdsByModuleId(5L)).thenReturn(List.of(1L, 2L));
+        when(leaderboardRepository.findCourseIdByQuizId(1L)).thenReturn(Optional.of(200L));
+        when(leaderboardRepository.findCourseIdByQuizId(2L)).thenReturn(Optional.of(200L));
+
+        // When
+        leaderboardService.moduleMoved(5L);
+
+        // Then
+        assertThat(leaderboardService.getCourseTop(100L, null)).isEmpty();
+        assertThat(leaderboardService.getCourseRank(200L, 10L).score()).isEqualTo(130);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.projection.LessonRow;
 import org.example.dto.request.LessonRequest;
 import org.example.entity.Lesson;
 import org.example.entity.Module;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -31,25 +33,25 @@ public class LessonServiceTest {
     private LessonService lessonService;
 
     /**
-     * Должен вернуть список всех уроков при вызове getAllLessons.
+     * Должен вернуть список всех уроков при вызове getLessonPage без курсора.
      */
     @Test
     public void shouldReturnAllLessonsWhenGetAllIsCalled() {
         // Given
-        List<Lesson> lessons = Arrays.asList(
-                new Lesson(),
-                new Lesson()
+        List<LessonRow> lessons = Arrays.asList(
+                new LessonRow(1L, "Lesson 1", null, 1L, "Module"),
+                new LessonRow(2L, "Lesson 2", null, 1L, "Module")
         );
-        when(lessonRepository.findAll()).thenReturn(lessons);
+        when(lessonRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(lessons);
 
         // When
-        List<Lesson> result = lessonService.getAllLessons();
+        List<LessonRow> result = lessonService.getLessonPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список уроков должен содержать 2 элемента")
                 .hasSize(2);
-        verify(lessonRepository).findAll();
+        verify(lessonRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -121,7 +123,7 @@ public class LessonServiceTest {
         when(lessonRepository.save(existing)).thenReturn(existing);
 
         // When
-        Lesson updated = lessonService.updateLesson(1L, request);
+        Lesson updated = lessonService.updateLesson(1L, request, null);
 
         // Then
         assertThat(updated.getTitle())
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.projection.ModuleRow;
 import org.example.dto.request.ModuleRequest;
 import org.example.entity.Course;
 import org.example.entity.Module;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,29 +29,32 @@ public class ModuleServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private ModuleService moduleService;
 
     /**
-     * Должен вернуть список всех модулей при вызове getAllModules.
+     * Должен вернуть список всех модулей при вызове getModulePage без курсора.
      */
     @Test
     public void shouldReturnAllModulesWhenGetAllIsCalled() {
         // Given
-        List<Module> modules = Arrays.asList(
-                new Module(),
-                new Module()
+        List<ModuleRow> modules = Arrays.asList(
+                new ModuleRow(1L, "Module 1", 1, 1L, "Java"),
+                new ModuleRow(2L, "Module 2", 2, 1L, "Java")
         );
-        when(moduleRepository.findAll()).thenReturn(modules);
+        when(moduleRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(modules);
 
         // When
-        List<Module> result = moduleService.getAllModules();
+        List<ModuleRow> result = moduleService.getModulePage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список модулей должен содержать 2 элемента")
                 .hasSize(2);
-        verify(moduleRepository).findAll();
+        verify(moduleRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -121,7 +126,7 @@ public class ModuleServiceTest {
         when(moduleRepository.save(existing)).thenReturn(existing);
 
         // When
-        Module updated = moduleService.updateModule(1L, request);
+        Module updated = moduleService.updateModule(1L, request, null);
 
         // Then
         assertThat(updated.getTitle())
@@ -0,0 +1,77 @@
+package org.example.service;
+
+import org.example.dto.response.CursorPage;
+import org.example.entity.Tag;
+import org.example.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PageCursorsTest {
+
+    /**
+     * Курсор должен раскодироваться обратно в тот же ID.
+     */
+    @Test
+    public void shouldRoundTripCursor() {
+        String cursor = PageCursors.encode(42L);
+
+        assertThat(cursor).doesNotContain("42");
+        assertThat(PageCursors.decode(cursor)).isEqualTo(42L);
+    }
+
+    /**
+     * Пустой курсор означает начало выборки.
+     */
+    @Test
+    public void shouldStartFromBeginningWhenCursorIsMissing() {
+        assertThat(PageCursors.decode(null)).isZero();
+        assertThat(PageCursors.decode("")).isZero();
+    }
+
+    /**
+     * Повреждённый курсор должен отклоняться.
+     */
+    @Test
+    public void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> PageCursors.decode("not-a-cursor!"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    /**
+     * Размер страницы ограничивается сверху и по умолчанию равен DEFAULT_LIMIT.
+     */
+    @Test
+    public void shouldClampLimit() {
+        assertThat(PageCursors.limit(null)).isEqualTo(PageCursors.DEFAULT_LIMIT);
+        assertThat(PageCursors.limit(10)).isEqualTo(10);
+        assertThat(PageCursors.limit(10_000)).isEqualTo(PageCursors.MAX_LIMIT);
+        assertThatThrownBy(() -> PageCursors.limit(0))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    /**
+     * Курсор следующей страницы выдаётся только если есть лишняя строка.
+     */
+    @Test
+    public void shouldIssueNextCursorOnlyWhenMoreRowsExist() {
+        List<Tag> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Tag tag = new Tag();
+            tag.setId(id);
+            rows.add(tag);
+        }
+
+        CursorPage<Tag> full = PageCursors.page(rows, 2, Tag::getId);
+        assertThat(full.getItems()).extracting(Tag::getId).containsExactly(1L, 2L);
+        assertThat(PageCursors.decode(full.getNextCursor())).isEqualTo(2L);
+
+        CursorPage<Tag> last = PageCursors.page(rows, 3, Tag::getId);
+        assertThat(last.getItems()).hasSize(3);
+        assertThat(last.getNextCursor()).isNull();
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,11 +28,14 @@ public class QuestionServiceTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
     @InjectMocks
     private QuestionService questionService;
 
     /**
-     * Должен вернуть список всех вопросов при вызове getAll.
+     * Должен вернуть список всех вопросов при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllQuestionsWhenGetAllIsCalled() {
@@ -40,16 +44,16 @@ public class QuestionServiceTest {
                 new Question(),
                 new Question()
         );
-        when(questionRepository.findAll()).thenReturn(questions);
+        when(questionRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(questions);
 
         // When
-        List<Question> result = questionService.getAll();
+        List<Question> result = questionService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список вопросов должен содержать 2 элемента")
                 .hasSize(2);
-        verify(questionRepository).findAll();
+        verify(questionRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -92,6 +96,7 @@ public class QuestionServiceTest {
                 .isEqualTo(1L);
         verify(quizRepository).findById(1L);
         verify(questionRepository).save(question);
+        verify(answerKeyCache).evict(1L);
     }
 
     /**
@@ -121,7 +126,7 @@ public class QuestionServiceTest {
         when(questionRepository.save(existing)).thenReturn(existing);
 
         // When
-        Question updated = questionService.updateQuestion(1L, request);
+        Question updated = questionService.updateQuestion(1L, request, null);
 
         // Then
         assertThat(updated.getText())
@@ -134,5 +139,7 @@ public class QuestionServiceTest {
                 .as("Викторина должна быть изменена")
                 .isEqualTo(2L);
         verify(questionRepository).save(existing);
+        verify(answerKeyCache).evict(1L);
+        verify(answerKeyCache).evict(2L);
     }
 }
@@ -1,21 +1,30 @@
 package org.example.service;
 
+import org.example.dto.projection.AnswerKeyRow;
 import org.example.dto.request.QuizRequest;
 import org.example.entity.Module;
 import org.example.entity.Quiz;
+import org.example.exception.EntityNotFoundException;
 import org.example.repository.ModuleRepository;
+import org.example.repository.QuestionRepository;
 import org.example.repository.QuizRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +36,23 @@ public class QuizServiceTest {
     @Mock
     private ModuleRepository moduleRepository;
 
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    @Mock
+    private QuizSubmissionQueue quizSubmissionQueue;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private QuizService quizService;
 
     /**
-     * Должен вернуть список всех викторин при вызове getAll.
+     * Должен вернуть список всех викторин при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllQuizzesWhenGetAllIsCalled() {
@@ -40,16 +61,16 @@ public class QuizServiceTest {
                 new Quiz(),
                 new Quiz()
         );
-        when(quizRepository.findAll()).thenReturn(quizzes);
+        when(quizRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(quizzes);
 
         // When
-        List<Quiz> result = quizService.getAll();
+        List<Quiz> result = quizService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список викторин должен содержать 2 элемента")
                 .hasSize(2);
-        verify(quizRepository).findAll();
+        verify(quizRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -124,7 +145,7 @@ public class QuizServiceTest {
         when(quizRepository.save(existing)).thenReturn(existing);
 
         // When
-        Quiz updated = quizService.updateQuiz(1L, request);
+        Quiz updated = quizService.updateQuiz(1L, request, null);
 
         // Then
         assertThat(updated.getTitle())
@@ -138,4 +159,100 @@ public class QuizServiceTest {
                 .isEqualTo(2L);
         verify(quizRepository).save(existing);
     }
+
+    /**
+     * Должен оценить попытку по скомпилированному ключу ответов без запросов к вариантам ответов.
+     */
+    @Test
+    public void shouldGradeQuizFromCachedAnswerKey() {
+        // Given
+        when(answerKeyCache.get(1L)).thenReturn(AnswerKey.compile(List.of(
+                new AnswerKeyRow(100L, 1000L, true),
+                new AnswerKeyRow(100L, 1001L, false),
+                new AnswerKeyRow(101L, 1010L, true)
+        )));
+        when(quizSubmissionQueue.enqueue(1L, 5L, 1)).thenReturn(new QuizSubmissionQueue.Receipt(
+                "r1", QuizSubmissionQueue.Status.QUEUED, null, null, Instant.now()));
+
+        // When
+        quizService.queueAttempt(5L, 1L, Map.of(100L, Set.of(1000L), 101L, Set.of(1011L)));
+
+        // Then
+        verify(quizSubmissionQueue).enqueue(1L, 5L, 1);
+        verify(quizRepository, never()).findById(any());
+        verifyNoInteractions(questionRepository);
+    }
+
+    /**
+     * В режиме частичного зачёта половина правильного ответа не должна превращаться в полный балл.
+     */
+    @Test
+    public void shouldNotRoundHalfCreditUpToFullPoint() {
+        // Given
+        ReflectionTestUtils.setField(quizService, "gradingMode", GradingMode.PARTIAL_CREDIT);
+        when(answerKeyCache.get(1L)).thenReturn(AnswerKey.compile(List.of(
+                new AnswerKeyRow(100L, 1000L, true),
+                new AnswerKeyRow(100L, 1001L, true),
+                new AnswerKeyRow(100L, 1002L, false)
+        )));
+        when(quizSubmissionQueue.enqueue(1L, 5L, 0)).thenReturn(new QuizSubmissionQueue.Receipt(
+                "r1", QuizSubmissionQueue.Status.QUEUED, null, null, Instant.now()));
+
+        // When
+        quizService.queueAttempt(5L, 1L, Map.of(100L, Set.of(1000L)));
+
+        // Then
+        verify(quizSubmissionQueue).enqueue(1L, 5L, 0);
+    }
+
+    /**
+     * Должен оценить попытку в памяти и поставить её в очередь записи, вернув квитанцию.
+     */
+    @Test
+    public void shouldQueueGradedAttempt() {
+        // Given
+        when(answerKeyCache.get(1L)).thenReturn(AnswerKey.compile(List.of(
+                new AnswerKeyRow(100L, 1000L, true),
+                new AnswerKeyRow(101L, 1010L, true)
+        )));
+        QuizSubmissionQueue.Receipt receipt = new QuizSubmissionQueue.Receipt(
+                "r1", QuizSubmissionQueue.Status.QUEUED, null, null, Instant.now());
+        when(quizSubmissionQueue.enqueue(1L, 5L, 2)).thenReturn(receipt);
+
+        // When
+        QuizSubmissionQueue.Receipt result = quizService.queueAttempt(5L, 1L,
+                Map.of(100L, Set.of(1000L), 101L, Set.of(1010L)));
+
+        // Then
+        assertThat(result).isSameAs(receipt);
+    }
+
+    /**
+     * Должен вернуть версию содержимого викторины для ETag.
+     */
+    @Test
+    public void shouldReturnQuizVersionWhenQuizExists() {
+        // Given
+        when(quizRepository.findContentVersion(1L)).thenReturn("abc123");
+
+        // When
+        String version = quizService.getQuizVersion(1L);
+
+        // Then
+        assertThat(version).isEqualTo("abc123");
+    }
+
+    /**
+     * Должен выбросить исключение, если викторины для вычисления версии не существует.
+     */
+    @Test
+    public void shouldThrowWhenQuizVersionRequestedForMissingQuiz() {
+        // Given
+        when(quizRepository.findContentVersion(99L)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> quizService.getQuizVersion(99L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Quiz not found: ID=99");
+    }
 }
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import org.example.entity.Quiz;
+import org.example.entity.QuizSubmission;
+import org.example.entity.User;
+import org.example.exception.ServiceOverloadedException;
+import org.example.repository.QuizRepository;
+import org.example.repository.QuizSubmissionRepository;
+import org.example.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QuizSubmissionQueueTest {
+
+    @Mock
+    private QuizSubmissionRepository quizSubmissionRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private QuizSubmissionQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new QuizSubmissionQueue(quizSubmissionRepository, quizRepository, userRepository,
+                new TransactionTemplate(transactionManager), leaderboardService, 10, 50, Duration.ofMinutes(15));
+    }
+
+    /**
+     * Пока фоновый писатель не запущен, очередь должна отклонять попытки с 503.
+     */
+    @Test
+    public void shouldRejectWhenWriterIsNotRunning() {
+        assertThatThrownBy(() -> queue.enqueue(1L, 2L, 90))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(queue.size()).isZero();
+    }
+
+    /**
+     * Пакет должен сохраняться одним saveAll, а попытки с несуществующими викториной
+     * или студентом — отклоняться с сохранением статуса в квитанции.
+     */
+    @Test
+    public void shouldWriteBatchAndRejectUnknownReferences() {
+        // Given
+        when(quizRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(2L));
+        when(quizRepository.getReferenceById(1L)).thenReturn(new Quiz());
+        when(userRepository.getReferenceById(2L)).thenReturn(new User());
+        when(quizSubmissionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<QuizSubmission> submissions = invocation.getArgument(0);
+            submissions.forEach(submission -> submission.setId(100L));
+            return submissions;
+        });
+
+        // When
+        queue.write(List.of(
+                new QuizSubmissionQueue.Pending("ok", 1L, 2L, 90, LocalDateTime.now()),
+                new QuizSubmissionQueue.Pending("no-quiz", 9L, 2L, 90, LocalDateTime.now()),
+                new QuizSubmissionQueue.Pending("no-student", 1L, 9L, 90, LocalDateTime.now())
+        ));
+
+        // Then
+        assertThat(queue.getReceipt("ok").status()).isEqualTo(QuizSubmissionQueue.Status.SAVED);
+        assertThat(queue.getReceipt("ok").submissionId()).isEqualTo(100L);
+        assertThat(queue.getReceipt("no-quiz").status()).isEqualTo(QuizSubmissionQueue.Status.REJECTED);
+        assertThat(queue.getReceipt("no-student").status()).isEqualTo(QuizSubmissionQueue.Status.REJECTED);
+        verify(quizSubmissionRepository).saveAll(argThat(submissions -> ((List<?>) submissions).size() == 1));
+        verify(quizSubmissionRepository, never()).save(any());
+        verify(leaderboardService).recorded(eq(1L), eq(2L), eq(90), any(LocalDateTime.class));
+        verify(leaderboardService, never()).recorded(eq(9L), anyLong(), anyInt(), any());
+    }
+
+    /**
+     * Если пакет не записался, его нужно разбить и повторить по частям:
+     * FAILED получает только та попытка, которая не записывается сама по себе.
+     */
+    @Test
+    public void shouldRetryFailedBatchInHalvesAndFailOnlyBadRow() {
+        // Given
+        Quiz quiz = new Quiz();
+        Quiz deletedQuiz = new Quiz();
+        when(quizRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L, 3L));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(2L));
+        when(quizRepository.getReferenceById(1L)).thenReturn(quiz);
+        when(quizRepository.getReferenceById(3L)).thenReturn(deletedQuiz);
+        when(userRepository.getReferenceById(2L)).thenReturn(new User());
+        when(quizSubmissionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<QuizSubmission> submissions = invocation.getArgument(0);
+            if (submissions.stream().anyMatch(submission -> submission.getQuiz() == deletedQuiz)) {
+                throw new IllegalStateException("foreign key violation");
+            }
+            submissions.forEach(submission -> submission.setId(100L));
+            return submissions;
+        });
+
+        // When
+        queue.write(List.of(
+                new QuizSubmissionQueue.Pending("r1", 1L, 2L, 90, LocalDateTime.now()),
+                new QuizSubmissionQueue.Pending("r2", 1L, 2L, 80, LocalDateTime.now()),
+                new QuizSubmissionQueue.Pending("bad", 3L, 2L, 70, LocalDateTime.now()),
+                new QuizSubmissionQueue.Pending("r4", 1L, 2L, 60, LocalDateTime.now())
+        ));
+
+        // Then
+        assertThat(queue.getReceipt("r1").status()).isEqualTo(QuizSubmissionQueue.Status.SAVED);
+        assertThat(queue.getReceipt("r2").status()).isEqualTo(QuizSubmissionQueue.Status.SAVED);
+        assertThat(queue.getReceipt("bad").status()).isEqualTo(QuizSubmissionQueue.Status.FAILED);
+        assertThat(queue.getReceipt("r4").status()).isEqualTo(QuizSubmissionQueue.Status.SAVED);
+        verify(leaderboardService, times(3)).recorded(eq(1L), eq(2L), anyInt(), any(LocalDateTime.class));
+        verify(leaderboardService, never()).recorded(eq(3L), anyLong(), anyInt(), any());
+    }
+
+    /**
+     * Ошибка записи единственной попытки должна переводить её квитанцию в FAILED.
+     */
+    @Test
+    public void shouldFailReceiptWhenSingleInsertFails() {
+        // Given
+        when(quizRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(2L));
+        when(quizSubmissionRepository.saveAll(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        // When
+        queue.write(List.of(new QuizSubmissionQueue.Pending("r1", 1L, 2L, 90, LocalDateTime.now())));
+
+        // Then
+        assertThat(queue.getReceipt("r1").status()).isEqualTo(QuizSubmissionQueue.Status.FAILED);
+    }
+}
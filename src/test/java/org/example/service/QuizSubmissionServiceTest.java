@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.projection.QuizSubmissionRow;
 import org.example.dto.request.QuizSubmissionRequest;
 import org.example.entity.Quiz;
 import org.example.entity.QuizSubmission;
@@ -12,7 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +36,12 @@ public class QuizSubmissionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private QuizSubmissionQueue quizSubmissionQueue;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private QuizSubmissionService quizSubmissionService;
 
@@ -42,20 +51,20 @@ public class QuizSubmissionServiceTest {
     @Test
     public void shouldReturnAllSubmissionsWhenGetAllIsCalled() {
         // Given
-        List<QuizSubmission> submissions = Arrays.asList(
-                new QuizSubmission(),
-                new QuizSubmission()
+        List<QuizSubmissionRow> submissions = Arrays.asList(
+                new QuizSubmissionRow(1L, 80, null, 1L, "Quiz", 2L, "Student"),
+                new QuizSubmissionRow(2L, 80, null, 1L, "Quiz", 2L, "Student")
         );
-        when(quizSubmissionRepository.findAll()).thenReturn(submissions);
+        when(quizSubmissionRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(submissions);
 
         // When
-        List<QuizSubmission> result = quizSubmissionService.getAll();
+        List<QuizSubmissionRow> result = quizSubmissionService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список попыток должен содержать 2 элемента")
                 .hasSize(2);
-        verify(quizSubmissionRepository).findAll();
+        verify(quizSubmissionRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -146,53 +155,6 @@ public class QuizSubmissionServiceTest {
         verify(quizSubmissionRepository).findByQuizIdIn(Arrays.asList(1L, 2L));
     }
 
-    /**
-     * Должен успешно создать попытку, если викторина и студент существуют.
-     */
-    @Test
-    public void shouldSubmitQuizSuccessfullyWhenQuizAndStudentExist() {
-        // Given
-        Quiz quiz = new Quiz();
-        quiz.setId(1L);
-        quiz.setTitle("Java Basics Quiz");
-
-        User student = new User();
-        student.setId(2L);
-        student.setName("Alice");
-
-        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(student));
-        when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
-            QuizSubmission saved = invocation.getArgument(0);
-            saved.setId(100L);
-            saved.setTakenAt(java.time.LocalDateTime.now());
-            return saved;
-        });
-
-        // When
-        QuizSubmission submission = quizSubmissionService.submitQuiz(1L, 2L, 95);
-
-        // Then
-        assertThat(submission)
-                .as("Попытка должна быть создана")
-                .isNotNull();
-        assertThat(submission.getQuiz().getId())
-                .as("Викторина должна быть привязана")
-                .isEqualTo(1L);
-        assertThat(submission.getStudent().getId())
-                .as("Студент должен быть привязан")
-                .isEqualTo(2L);
-        assertThat(submission.getScore())
-                .as("Балл должен быть 95")
-                .isEqualTo(95);
-        assertThat(submission.getTakenAt())
-                .as("Дата прохождения должна быть установлена")
-                .isNotNull();
-        verify(quizRepository).findById(1L);
-        verify(userRepository).findById(2L);
-        verify(quizSubmissionRepository).save(any(QuizSubmission.class));
-    }
-
     /**
      * Должен обновить попытку, если все данные корректны.
      */
@@ -226,7 +188,7 @@ public class QuizSubmissionServiceTest {
         when(quizSubmissionRepository.save(existing)).thenReturn(existing);
 
         // When
-        QuizSubmission updated = quizSubmissionService.updateQuizSubmission(1L, request);
+        QuizSubmission updated = quizSubmissionService.updateQuizSubmission(1L, request, null);
 
         // Then
         assertThat(updated.getScore())
@@ -240,4 +202,22 @@ public class QuizSubmissionServiceTest {
                 .isEqualTo(3L);
         verify(quizSubmissionRepository).save(existing);
     }
+
+    /**
+     * Должен поставить попытку в очередь записи вместо синхронной вставки.
+     */
+    @Test
+    public void shouldQueueSubmissionInsteadOfSavingSynchronously() {
+        // Given
+        QuizSubmissionQueue.Receipt receipt = new QuizSubmissionQueue.Receipt(
+                "r1", QuizSubmissionQueue.Status.QUEUED, null, null, Instant.now());
+        when(quizSubmissionQueue.enqueue(1L, 2L, 95)).thenReturn(receipt);
+
+        // When
+        QuizSubmissionQueue.Receipt result = quizSubmissionService.queueSubmission(1L, 2L, 95);
+
+        // Then
+        assertThat(result.id()).isEqualTo("r1");
+        verify(quizSubmissionRepository, never()).save(any());
+    }
 }
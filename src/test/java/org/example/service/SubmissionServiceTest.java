@@ -1,23 +1,33 @@
 package org.example.service;
 
+import org.example.dto.projection.SubmissionRow;
 import org.example.dto.request.SubmissionRequest;
 import org.example.entity.Assignment;
 import org.example.entity.Submission;
 import org.example.entity.User;
+import org.example.exception.EntityNotFoundException;
+import org.example.exception.ExistEntityException;
+import org.example.exception.PreconditionFailedException;
+import org.example.exception.PreconditionRequiredException;
 import org.example.repository.AssignmentRepository;
 import org.example.repository.SubmissionRepository;
+import org.example.repository.SubmissionWriteRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +42,9 @@ public class SubmissionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private SubmissionWriteRepository submissionWriteRepository;
+
     @InjectMocks
     private SubmissionService submissionService;
 
@@ -41,20 +54,20 @@ public class SubmissionServiceTest {
     @Test
     public void shouldReturnAllSubmissionsWhenGetAllIsCalled() {
         // Given
-        List<Submission> submissions = Arrays.asList(
-                new Submission(),
-                new Submission()
+        List<SubmissionRow> submissions = Arrays.asList(
+                new SubmissionRow(1L, "Answer", null, null, null, 1L, "Assignment", 2L, "Student"),
+                new SubmissionRow(2L, "Answer", null, null, null, 1L, "Assignment", 2L, "Student")
         );
-        when(submissionRepository.findAll()).thenReturn(submissions);
+        when(submissionRepository.findPageAfter(eq(0L), any(Limit.class))).thenReturn(submissions);
 
         // When
-        List<Submission> result = submissionService.getAll();
+        List<SubmissionRow> result = submissionService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список сдач должен содержать 2 элемента")
                 .hasSize(2);
-        verify(submissionRepository).findAll();
+        verify(submissionRepository).findPageAfter(eq(0L), any(Limit.class));
     }
 
     /**
@@ -102,52 +115,54 @@ public class SubmissionServiceTest {
     }
 
     /**
-     * Должен успешно сдать задание, если задание и студент существуют, и ещё не сдавались.
+     * Должен успешно сдать задание одной вставкой, если задание и студент существуют, и ещё не сдавались.
      */
     @Test
     public void shouldSubmitAssignmentSuccessfullyWhenNotAlreadySubmitted() {
         // Given
-        Assignment assignment = new Assignment();
-        assignment.setId(1L);
-        assignment.setTitle("Assignment 1: Implement Calculator");
-
-        User student = new User();
-        student.setId(2L);
-        student.setName("Alice Johnson");
-
-        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(student));
-        when(submissionRepository.existsByStudentIdAndAssignmentId(2L, 1L)).thenReturn(false);
-        when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
-            Submission saved = invocation.getArgument(0);
-            saved.setId(100L);
-            saved.setSubmittedAt(java.time.LocalDateTime.now());
-            return saved;
-        });
+        SubmissionRow row = new SubmissionRow(100L, "Submitted solution for Assignment 1", LocalDateTime.now(), null, null,
+                1L, "Assignment 1: Implement Calculator", 2L, "Alice Johnson");
+        when(submissionWriteRepository.insertIfAbsent(eq(1L), eq(2L), eq("Submitted solution for Assignment 1"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(row));
 
         // When
-        Submission submission = submissionService.submitAssignment(1L, 2L, "Submitted solution for Assignment 1");
+        SubmissionRow submission = submissionService.submitAssignment(1L, 2L, "Submitted solution for Assignment 1");
 
         // Then
         assertThat(submission)
-                .as("Сдача должна быть создана")
-                .isNotNull();
-        assertThat(submission.getAssignment().getId())
-                .as("Задание должно быть привязано")
-                .isEqualTo(1L);
-        assertThat(submission.getStudent().getId())
-                .as("Студент должен быть привязан")
-                .isEqualTo(2L);
-        assertThat(submission.getContent())
-                .as("Содержание должно совпадать")
-                .isEqualTo("Submitted solution for Assignment 1");
-        assertThat(submission.getSubmittedAt())
-                .as("Дата сдачи должна быть установлена")
-                .isNotNull();
-        verify(assignmentRepository).findById(1L);
-        verify(userRepository).findById(2L);
-        verify(submissionRepository).existsByStudentIdAndAssignmentId(2L, 1L);
-        verify(submissionRepository).save(any(Submission.class));
+                .as("Должна вернуться созданная сдача")
+                .isEqualTo(row);
+        verifyNoInteractions(assignmentRepository, userRepository);
+    }
+
+    /**
+     * Повторная сдача не должна ничего вставлять и должна отклоняться как дубликат.
+     */
+    @Test
+    public void shouldRejectRepeatedSubmission() {
+        // Given
+        when(submissionWriteRepository.insertIfAbsent(eq(1L), eq(2L), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(assignmentRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> submissionService.submitAssignment(1L, 2L, "Again"))
+                .isInstanceOf(ExistEntityException.class);
+    }
+
+    /**
+     * Если вставка не прошла из-за отсутствующего задания, должна вернуться ошибка «не найдено».
+     */
+    @Test
+    public void shouldThrowWhenSubmittingMissingAssignment() {
+        // Given
+        when(submissionWriteRepository.insertIfAbsent(eq(99L), eq(2L), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(assignmentRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> submissionService.submitAssignment(99L, 2L, "Answer"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Assignment not found: ID=99");
     }
 
     /**
@@ -187,7 +202,7 @@ public class SubmissionServiceTest {
         when(submissionRepository.save(existing)).thenReturn(existing);
 
         // When
-        Submission updated = submissionService.updateSubmission(1L, request);
+        Submission updated = submissionService.updateSubmission(1L, request, null);
 
         // Then
         assertThat(updated.getContent())
@@ -207,4 +222,85 @@ public class SubmissionServiceTest {
                 .isEqualTo(3L);
         verify(submissionRepository).save(existing);
     }
+
+    /**
+     * Должен отклонить обновление, если версия из If-Match не совпадает с текущей.
+     */
+    @Test
+    public void shouldRejectUpdateWhenVersionIsStale() {
+        // Given
+        Submission existing = new Submission();
+        existing.setId(1L);
+        existing.setVersion(3L);
+        when(submissionRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        // When & Then
+        assertThatThrownBy(() -> submissionService.updateSubmission(1L, new SubmissionRequest(), 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(submissionRepository, never()).save(any());
+    }
+
+    /**
+     * Должен обновить сдачу одним условным UPDATE и вернуть новую версию.
+     */
+    @Test
+    public void shouldPatchSubmissionWhenVersionMatches() {
+        // Given
+        SubmissionRequest request = new SubmissionRequest();
+        request.setScore(90);
+        when(submissionRepository.patchIfVersion(eq(1L), eq(4L), isNull(), eq(90), isNull(), any(Instant.class)))
+                .thenReturn(1);
+
+        // When
+        long version = submissionService.patchSubmission(1L, request, 4L);
+
+        // Then
+        assertThat(version)
+                .as("Версия должна увеличиться на единицу")
+                .isEqualTo(5L);
+        verify(submissionRepository, never()).existsById(any());
+    }
+
+    /**
+     * Должен вернуть 412, если строка существует, но версия уже изменилась.
+     */
+    @Test
+    public void shouldRejectPatchWhenVersionIsStale() {
+        // Given
+        SubmissionRequest request = new SubmissionRequest();
+        request.setFeedback("Late feedback");
+        when(submissionRepository.patchIfVersion(eq(1L), eq(4L), any(), any(), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(submissionRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> submissionService.patchSubmission(1L, request, 4L))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    /**
+     * Должен выбросить исключение, если сдача для частичного обновления не найдена.
+     */
+    @Test
+    public void shouldThrowExceptionWhenPatchingMissingSubmission() {
+        // Given
+        when(submissionRepository.patchIfVersion(eq(99L), eq(1L), any(), any(), any(), any(Instant.class)))
+                .thenReturn(0);
+        when(submissionRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> submissionService.patchSubmission(99L, new SubmissionRequest(), 1L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    /**
+     * Должен потребовать If-Match для частичного обновления.
+     */
+    @Test
+    public void shouldRequireVersionForPatch() {
+        // When & Then
+        assertThatThrownBy(() -> submissionService.patchSubmission(1L, new SubmissionRequest(), null))
+                .isInstanceOf(PreconditionRequiredException.class);
+        verifyNoInteractions(submissionRepository);
+    }
 }
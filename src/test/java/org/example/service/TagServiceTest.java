@@ -10,6 +10,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,11 +26,14 @@ public class TagServiceTest {
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private CourseTagIndex courseTagIndex;
+
     @InjectMocks
     private TagService tagService;
 
     /**
-     * Должен вернуть список всех тегов при вызове getAll.
+     * Должен вернуть список всех тегов при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllTagsWhenGetAllIsCalled() {
@@ -38,16 +42,16 @@ public class TagServiceTest {
                 new Tag(),
                 new Tag()
         );
-        when(tagRepository.findAll()).thenReturn(tags);
+        when(tagRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(tags);
 
         // When
-        List<Tag> result = tagService.getAll();
+        List<Tag> result = tagService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список тегов должен содержать 2 элемента")
                 .hasSize(2);
-        verify(tagRepository).findAll();
+        verify(tagRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -145,7 +149,7 @@ public class TagServiceTest {
         when(tagRepository.save(existing)).thenReturn(existing);
 
         // When
-        Tag updated = tagService.updateTag(1L, request);
+        Tag updated = tagService.updateTag(1L, request, null);
 
         // Then
         assertThat(updated.getName())
@@ -174,5 +178,6 @@ public class TagServiceTest {
         // Then
         verify(tagRepository).findById(1L);
         verify(tagRepository).delete(tag);
+        verify(courseTagIndex).tagDeleted(1L);
     }
 }
@@ -3,6 +3,7 @@ package org.example.service;
 import org.example.dto.request.UserRequest;
 import org.example.entity.User;
 import org.example.exception.ExistEntityException;
+import org.example.repository.CourseRatingSummaryRepository;
 import org.example.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,11 +27,17 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseRatingSummaryRepository courseRatingSummaryRepository;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
     @InjectMocks
     private UserService userService;
 
     /**
-     * Должен вернуть список всех пользователей при вызове getAll.
+     * Должен вернуть список всех пользователей при вызове getPage без курсора.
      */
     @Test
     public void shouldReturnAllUsersWhenGetAllIsCalled() {
@@ -38,16 +46,16 @@ public class UserServiceTest {
                 new User(),
                 new User()
         );
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(users);
 
         // When
-        List<User> result = userService.getAll();
+        List<User> result = userService.getPage(null, null).getItems();
 
         // Then
         assertThat(result)
                 .as("Список пользователей должен содержать 2 элемента")
                 .hasSize(2);
-        verify(userRepository).findAll();
+        verify(userRepository).findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class));
     }
 
     /**
@@ -165,7 +173,7 @@ public class UserServiceTest {
         when(userRepository.save(existing)).thenReturn(existing);
 
         // When
-        User updated = userService.updateUser(1L, request);
+        User updated = userService.updateUser(1L, request, null);
 
         // Then
         assertThat(updated.getName())
@@ -199,6 +207,7 @@ public class UserServiceTest {
 
         // Then
         verify(userRepository).findById(1L);
+        verify(courseRatingSummaryRepository).removeReviewsOfStudent(1L);
         verify(userRepository).delete(user);
     }
 }